@@ -0,0 +1,51 @@
+package net.exoego.typefind.definition;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import com.google.gson.Gson;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MethodDefBenchmark {
+    @Param({"java.lang.String", "java.util.stream.Collectors", "java.util.stream.Stream"})
+    private String className;
+    private Class<?> klass;
+    private MethodDef groupingBy;
+    private Gson gson;
+
+    @Setup
+    public void setUp() throws ClassNotFoundException, NoSuchMethodException {
+        klass = Class.forName(className);
+        final Method method = Collectors.class.getMethod("groupingBy", java.util.function.Function.class);
+        groupingBy = MethodDef.newInstance(method);
+        gson = new Gson();
+    }
+
+    @Benchmark
+    public void allMethods(final Blackhole blackhole) {
+        MethodDef.allMethods(klass).forEach(blackhole::consume);
+    }
+
+    @Benchmark
+    public String toJson() {
+        return gson.toJson(groupingBy);
+    }
+}
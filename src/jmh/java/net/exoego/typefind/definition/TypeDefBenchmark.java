@@ -0,0 +1,82 @@
+package net.exoego.typefind.definition;
+
+import java.lang.reflect.Type;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.stream.Collector;
+import java.util.stream.Collectors;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TypeDefBenchmark {
+    @Param({"CLASS", "TYPE_VARIABLE", "PARAMETERIZED_TYPE", "NESTED_PARAMETERIZED_TYPE", "FUNCTIONAL_INTERFACE"})
+    private Sample sample;
+    private Type type;
+
+    @Setup
+    public void setUp() throws NoSuchMethodException {
+        type = sample.type();
+    }
+
+    @Benchmark
+    public TypeDef newInstance() {
+        return TypeDef.newInstance(type);
+    }
+
+    public enum Sample {
+        CLASS {
+            @Override
+            Type type() {
+                return String.class;
+            }
+        },
+        TYPE_VARIABLE {
+            @Override
+            Type type() throws NoSuchMethodException {
+                return Function.class.getMethod("apply", Object.class).getGenericReturnType();
+            }
+        },
+        PARAMETERIZED_TYPE {
+            @Override
+            Type type() throws NoSuchMethodException {
+                // List<E>
+                return List.class.getMethod("subList", int.class, int.class).getGenericReturnType();
+            }
+        },
+        NESTED_PARAMETERIZED_TYPE {
+            @Override
+            Type type() throws NoSuchMethodException {
+                // Collector<T, ?, Map<K, List<T>>>
+                return Collectors.class.getMethod("groupingBy", Function.class).getGenericReturnType();
+            }
+        },
+        FUNCTIONAL_INTERFACE {
+            @Override
+            Type type() throws NoSuchMethodException {
+                // Function<? super T, ? extends K>, rendered as lambda
+                return Collectors.class.getMethod("groupingBy", Function.class).getGenericParameterTypes()[0];
+            }
+        };
+
+        abstract Type type() throws NoSuchMethodException;
+    }
+}
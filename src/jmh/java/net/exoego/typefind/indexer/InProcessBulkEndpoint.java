@@ -0,0 +1,89 @@
+package net.exoego.typefind.indexer;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Collection;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Stand-in of a bulk endpoint that discards documents after a configurable latency, and fails documents at a
+ * configurable rate. Failures are drawn from a seeded {@code Random}, so runs are reproducible.
+ */
+public class InProcessBulkEndpoint implements BulkEndpoint {
+    private final long latencyMillis;
+    private final long jitterMillis;
+    private final double failureRate;
+    private final Random random;
+    private long requests;
+    private long documents;
+    private long failures;
+    private long bytes;
+    private long nanos;
+
+    public InProcessBulkEndpoint(final long latencyMillis, final long jitterMillis, final double failureRate,
+                                 final long seed) {
+        if (failureRate < 0 || failureRate > 1) {
+            throw new IllegalArgumentException("failure rate must be between 0 and 1: " + failureRate);
+        }
+        this.latencyMillis = latencyMillis;
+        this.jitterMillis = jitterMillis;
+        this.failureRate = failureRate;
+        this.random = new Random(seed);
+    }
+
+    @Override
+    public long bulk(final String type, final List<String> documents) {
+        final long start = System.nanoTime();
+        long succeeded = 0;
+        for (final String document : documents) {
+            bytes += document.getBytes(StandardCharsets.UTF_8).length;
+            if (random.nextDouble() >= failureRate) {
+                succeeded++;
+            }
+        }
+        final long jitter = jitterMillis > 0 ? (long) (random.nextDouble() * jitterMillis) : 0;
+        try {
+            TimeUnit.MILLISECONDS.sleep(latencyMillis + jitter);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        this.requests++;
+        this.documents += documents.size();
+        this.failures += documents.size() - succeeded;
+        this.nanos += System.nanoTime() - start;
+        return succeeded;
+    }
+
+    @Override
+    public void delete(final String type, final Collection<String> classNames) {
+    }
+
+    @Override
+    public void publishGeneration(final String type) {
+    }
+
+    @Override
+    public void close() {
+    }
+
+    public long getRequests() {
+        return requests;
+    }
+
+    public long getDocuments() {
+        return documents;
+    }
+
+    public long getFailures() {
+        return failures;
+    }
+
+    public long getBytes() {
+        return bytes;
+    }
+
+    public long getNanos() {
+        return nanos;
+    }
+}
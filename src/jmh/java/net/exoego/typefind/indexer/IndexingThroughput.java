@@ -0,0 +1,134 @@
+package net.exoego.typefind.indexer;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+import net.exoego.typefind.definition.MethodDef;
+import net.exoego.typefind.definition.MethodModifier;
+import net.exoego.typefind.definition.TypeDef;
+import net.exoego.typefind.metrics.PipelineMetrics;
+import net.exoego.typefind.reader.ClassStream;
+import net.exoego.typefind.reader.RuntimeImage;
+
+/**
+ * Runs the whole indexing pipeline, that is scan of jars, extraction of methods, serialization and bulk requests,
+ * against an {@link InProcessBulkEndpoint}, and reports throughput and time spent per stage. Serialization and bulk
+ * requests overlap scan and extraction, so the stages may sum up to more than the elapsed time.
+ * <p>
+ * Configured by system properties:
+ * <ul>
+ * <li>{@code indexing.jars}: comma separated jar files or directories to scan. The Java SE API of the running JDK
+ * by default, read from the JRE lib directory or the module image.</li>
+ * <li>{@code indexing.extractors}: threads to extract methods on. The number of processors by default.</li>
+ * <li>{@code indexing.latency}: milliseconds per bulk request. 5 by default.</li>
+ * <li>{@code indexing.jitter}: maximum random milliseconds added to the latency. 0 by default.</li>
+ * <li>{@code indexing.failureRate}: ratio of documents to fail, between 0 and 1. 0 by default.</li>
+ * <li>{@code indexing.seed}: seed of the randomness of jitter and failures. 42 by default.</li>
+ * </ul>
+ * Run with: {@code mvn -P jmh -DskipTests clean test-compile exec:java@indexing-throughput}
+ */
+public final class IndexingThroughput {
+    private static final Predicate<Path> isJarFile = path -> path.toFile().getName().endsWith(".jar");
+    private static final Predicate<MethodDef> isPublicMethod = method -> method.getModifiers()
+                                                                               .contains(MethodModifier.AccessLevel.PUBLIC);
+
+    private IndexingThroughput() { }
+
+    public static void main(String[] args) {
+        final InProcessBulkEndpoint endpoint = new InProcessBulkEndpoint(
+                Long.getLong("indexing.latency", 5),
+                Long.getLong("indexing.jitter", 0),
+                Double.parseDouble(System.getProperty("indexing.failureRate", "0")),
+                Long.getLong("indexing.seed", 42));
+        final AtomicLong scanNanos = new AtomicLong();
+        final ForkJoinPool pool = new ForkJoinPool(Integer.getInteger("indexing.extractors",
+                                                                      Runtime.getRuntime().availableProcessors()));
+
+        final Stream<Class<?>> classes = timed(sources().filter(TypeDef::isPublic), scanNanos);
+        final Stream<MethodDef> methods = new MethodExtractor(pool).extract(classes, isPublicMethod);
+
+        final Indexer indexer = new ElasticSearchIndexer("benchmark", () -> endpoint);
+        indexer.addSource(methods);
+        final long start = System.nanoTime();
+        final long indexed = indexer.index();
+        final long total = System.nanoTime() - start;
+        pool.shutdown();
+        // extraction runs on the pool, so its time is summed over the threads
+        final long extractNanos = TimeUnit.MILLISECONDS.toNanos(PipelineMetrics.get().getExtractionMillis());
+
+        // serialization and bulk requests run on the sender thread of the indexer, overlapping scan and extraction
+        final long serializeNanos = TimeUnit.MILLISECONDS.toNanos(PipelineMetrics.get().getSerializationMillis());
+        final double seconds = total / 1e9;
+        System.out.printf("%n");
+        System.out.printf("methods     : %,d (indexed %,d, failed %,d)%n",
+                          endpoint.getDocuments(), indexed, endpoint.getFailures());
+        System.out.printf("requests    : %,d%n", endpoint.getRequests());
+        System.out.printf("elapsed     : %,d ms%n", TimeUnit.NANOSECONDS.toMillis(total));
+        System.out.printf("throughput  : %,.0f methods/s, %,.0f bytes/s%n",
+                          endpoint.getDocuments() / seconds, endpoint.getBytes() / seconds);
+        printStage("scan", scanNanos.get(), total);
+        printStage("extract", extractNanos, total);
+        printStage("serialize", serializeNanos, total);
+        printStage("bulk", endpoint.getNanos(), total);
+    }
+
+    private static void printStage(final String stage, final long nanos, final long total) {
+        System.out.printf("  %-10s: %,8d ms (%5.1f%%)%n",
+                          stage, TimeUnit.NANOSECONDS.toMillis(nanos), nanos * 100.0 / total);
+    }
+
+    private static Stream<Class<?>> sources() {
+        final String configured = System.getProperty("indexing.jars");
+        if (configured == null && RuntimeImage.isAvailable()) {
+            return ClassStream.fromRuntimeImage().sequential();
+        }
+        return jars(configured).flatMap(ClassStream::from);
+    }
+
+    private static Stream<Path> jars(final String configured) {
+        final Stream<Path> roots = configured == null
+                                   ? Stream.of(ClassStream.getJreLibPath())
+                                   : Stream.of(configured.split(",")).map(String::trim).map(Paths::get);
+        return roots.flatMap(root -> {
+            try {
+                return Files.walk(root);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }).filter(isJarFile);
+    }
+
+    /**
+     * Measures time spent by the given stream to produce elements, excluding time spent by downstream operations.
+     */
+    private static <T> Stream<T> timed(final Stream<T> source, final AtomicLong nanos) {
+        final Spliterator<T> upstream = source.spliterator();
+        final Spliterator<T> timed = new Spliterators.AbstractSpliterator<T>(Long.MAX_VALUE, upstream.characteristics()) {
+            private T next;
+
+            @Override
+            public boolean tryAdvance(final Consumer<? super T> action) {
+                final long start = System.nanoTime();
+                final boolean advanced = upstream.tryAdvance(t -> next = t);
+                nanos.addAndGet(System.nanoTime() - start);
+                if (advanced) {
+                    action.accept(next);
+                }
+                return advanced;
+            }
+        };
+        return StreamSupport.stream(timed, false).onClose(source::close);
+    }
+}
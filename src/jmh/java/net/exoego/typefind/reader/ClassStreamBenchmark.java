@@ -0,0 +1,55 @@
+package net.exoego.typefind.reader;
+
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Reads all classes of {@code rt.jar}. Classes are loaded only once per JVM, so later iterations measure the scan
+ * of the jar and the lookup of already loaded classes.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(1)
+public class ClassStreamBenchmark {
+    private Path rtJar;
+
+    @Setup
+    public void setUp() {
+        rtJar = ClassStream.getJreLibPath().resolve("rt.jar");
+    }
+
+    @Benchmark
+    public long readRtJar() {
+        try (ClassStream classes = ClassStream.from(rtJar)) {
+            return classes.count();
+        }
+    }
+
+    @Benchmark
+    public long readRtJarThenFilter() {
+        try (ClassStream classes = ClassStream.from(rtJar)) {
+            return classes.filter(JdkFilters::isPublicDocumentedJdkClass).count();
+        }
+    }
+
+    @Benchmark
+    public long filterRtJarBeforeLoading() {
+        try (ClassStream classes = ClassStream.from(rtJar, ClassEntryFilter.packages(JdkFilters.jdk()))) {
+            return classes.filter(JdkFilters::isPublicDocumentedJdkClass).count();
+        }
+    }
+}
@@ -0,0 +1,44 @@
+package net.exoego.typefind.reader;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JdkFiltersBenchmark {
+    @Param({
+            // documented, in a shallow package and in a deep package
+            "java.lang.String", "javax.xml.crypto.dsig.keyinfo.KeyInfo",
+            // undocumented
+            "sun.misc.Unsafe",
+            // public, but enclosed by non-public class
+            "java.util.stream.Node$OfInt"
+    })
+    private String className;
+    private Class<?> klass;
+
+    @Setup
+    public void setUp() throws ClassNotFoundException {
+        klass = Class.forName(className, false, ClassLoader.getSystemClassLoader());
+    }
+
+    @Benchmark
+    public boolean isPublicDocumentedJdkClass() {
+        return JdkFilters.isPublicDocumentedJdkClass(klass);
+    }
+}
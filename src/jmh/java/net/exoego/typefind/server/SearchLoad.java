@@ -0,0 +1,193 @@
+package net.exoego.typefind.server;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import org.HdrHistogram.Histogram;
+
+/**
+ * Replays a corpus of signature queries against {@code /api/search} of a running server (started from {@code Main}),
+ * and reports latency percentiles and throughput.
+ * <p>
+ * Requests are sent at a constant rate, and the latency of every request is measured from the time it was
+ * <em>intended</em> to be sent, not from the time it was actually sent. So a stall of the server is accounted for
+ * all requests delayed by it, not only for the one in flight (coordinated omission correction).
+ * <p>
+ * Configured by system properties:
+ * <ul>
+ * <li>{@code load.url}: base URL of the server. {@code http://localhost:8080} by default.</li>
+ * <li>{@code load.concurrency}: the number of connections. 16 by default.</li>
+ * <li>{@code load.rate}: requests per second in total. 200 by default.</li>
+ * <li>{@code load.duration}: seconds to measure. 30 by default.</li>
+ * <li>{@code load.warmup}: seconds to send requests before measuring. 5 by default.</li>
+ * <li>{@code load.corpus}: file of queries, one per line. The bundled {@code queries.txt} by default.</li>
+ * </ul>
+ * Run with: {@code mvn -P jmh -DskipTests clean test-compile exec:java@search-load -Dload.rate=500}
+ */
+public final class SearchLoad {
+    private static final long HIGHEST_TRACKABLE_NANOS = TimeUnit.MINUTES.toNanos(1);
+    private static final int SIGNIFICANT_DIGITS = 3;
+
+    private SearchLoad() { }
+
+    public static void main(String[] args) throws Exception {
+        final String url = System.getProperty("load.url", "http://localhost:8080");
+        final int concurrency = Integer.getInteger("load.concurrency", 16);
+        final int rate = Integer.getInteger("load.rate", 200);
+        final long duration = TimeUnit.SECONDS.toNanos(Integer.getInteger("load.duration", 30));
+        final long warmup = TimeUnit.SECONDS.toNanos(Integer.getInteger("load.warmup", 5));
+        final List<String> queries = corpus();
+        final long intervalNanos = TimeUnit.SECONDS.toNanos(1) * concurrency / rate;
+        System.out.printf("url:%s, queries:%s, concurrency:%s, rate:%s/s, duration:%ss (+%ss warmup)%n",
+                          url, queries.size(), concurrency, rate,
+                          TimeUnit.NANOSECONDS.toSeconds(duration), TimeUnit.NANOSECONDS.toSeconds(warmup));
+
+        final ExecutorService workers = Executors.newFixedThreadPool(concurrency);
+        final long start = System.nanoTime();
+        final List<Future<Result>> futures = new ArrayList<>();
+        for (int i = 0; i < concurrency; i++) {
+            // stagger workers so that the whole load is evenly spaced
+            final long first = start + intervalNanos * i / concurrency;
+            final int offset = i;
+            futures.add(workers.submit(() -> run(url, queries, offset, concurrency, first, intervalNanos,
+                                                 start + warmup, start + warmup + duration)));
+        }
+        final Result total = new Result();
+        for (final Future<Result> future : futures) {
+            total.add(future.get());
+        }
+        workers.shutdown();
+        report(total, duration);
+    }
+
+    private static Result run(
+            final String url,
+            final List<String> queries,
+            final int offset,
+            final int stride,
+            final long first,
+            final long intervalNanos,
+            final long measureFrom,
+            final long end) {
+        final Result result = new Result();
+        long intended = first;
+        for (int i = offset; intended < end; i += stride, intended += intervalNanos) {
+            final long now = System.nanoTime();
+            if (now < intended) {
+                sleepNanos(intended - now);
+            }
+            final long sent = System.nanoTime();
+            final boolean ok = send(url, queries.get(i % queries.size()));
+            final long done = System.nanoTime();
+            if (intended >= measureFrom) {
+                result.record(done - intended, done - sent, ok);
+            }
+        }
+        return result;
+    }
+
+    private static boolean send(final String url, final String query) {
+        try {
+            final URL target = new URL(url + "/api/search?q=" + URLEncoder.encode(query, "UTF-8"));
+            final HttpURLConnection connection = (HttpURLConnection) target.openConnection();
+            final int status = connection.getResponseCode();
+            final InputStream body = status < 400 ? connection.getInputStream() : connection.getErrorStream();
+            if (body != null) {
+                // drain, so that the connection is kept alive
+                try (InputStream in = body) {
+                    final byte[] buffer = new byte[8192];
+                    while (in.read(buffer) >= 0) {
+                        // discard
+                    }
+                }
+            }
+            return status == HttpURLConnection.HTTP_OK;
+        } catch (IOException e) {
+            return false;
+        }
+    }
+
+    private static void sleepNanos(final long nanos) {
+        try {
+            TimeUnit.NANOSECONDS.sleep(nanos);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static List<String> corpus() throws IOException {
+        final String path = System.getProperty("load.corpus");
+        final List<String> lines;
+        if (path == null) {
+            final InputStream in = SearchLoad.class.getResourceAsStream("queries.txt");
+            try (BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8))) {
+                lines = reader.lines().collect(Collectors.toList());
+            } catch (UncheckedIOException e) {
+                throw e.getCause();
+            }
+        } else {
+            lines = Files.readAllLines(Paths.get(path), StandardCharsets.UTF_8);
+        }
+        final List<String> queries = lines.stream()
+                                          .map(String::trim)
+                                          .filter(line -> !line.isEmpty() && !line.startsWith("#"))
+                                          .collect(Collectors.toList());
+        if (queries.isEmpty()) {
+            throw new IllegalArgumentException("no query in corpus");
+        }
+        return queries;
+    }
+
+    private static void report(final Result result, final long duration) {
+        final double seconds = duration / 1e9;
+        System.out.printf("%n");
+        System.out.printf("requests   : %,d (errors %,d)%n", result.count, result.errors);
+        System.out.printf("throughput : %,.1f requests/s%n", result.count / seconds);
+        System.out.printf("%-11s  %12s  %12s%n", "latency(ms)", "corrected", "uncorrected");
+        for (final double percentile : new double[]{50, 90, 99, 99.9, 100}) {
+            System.out.printf("  p%-8s : %12.3f  %12.3f%n",
+                              percentile == 100 ? "max" : String.valueOf(percentile),
+                              result.corrected.getValueAtPercentile(percentile) / 1e6,
+                              result.uncorrected.getValueAtPercentile(percentile) / 1e6);
+        }
+    }
+
+    private static final class Result {
+        private final Histogram corrected = new Histogram(HIGHEST_TRACKABLE_NANOS, SIGNIFICANT_DIGITS);
+        private final Histogram uncorrected = new Histogram(HIGHEST_TRACKABLE_NANOS, SIGNIFICANT_DIGITS);
+        private long count;
+        private long errors;
+
+        private void record(final long fromIntended, final long fromSent, final boolean ok) {
+            corrected.recordValue(Math.min(fromIntended, HIGHEST_TRACKABLE_NANOS));
+            uncorrected.recordValue(Math.min(fromSent, HIGHEST_TRACKABLE_NANOS));
+            count++;
+            if (!ok) {
+                errors++;
+            }
+        }
+
+        private void add(final Result other) {
+            corrected.add(other.corrected);
+            uncorrected.add(other.uncorrected);
+            count += other.count;
+            errors += other.errors;
+        }
+    }
+}
@@ -1,15 +1,39 @@
 import java.net.URL;
+import java.time.Duration;
+import java.util.EnumSet;
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import javax.servlet.DispatcherType;
 
+import net.exoego.typefind.indexer.Indexing;
+import net.exoego.typefind.search.CachingSearchBackend;
+import net.exoego.typefind.search.ElasticSearchBackend;
+import net.exoego.typefind.search.LambdaExpandingSearchBackend;
+import net.exoego.typefind.search.NameIndex;
+import net.exoego.typefind.search.SearchBackend;
+import net.exoego.typefind.server.AssetCachingFilter;
+import net.exoego.typefind.server.CompletionServlet;
+import net.exoego.typefind.server.MetricsServlet;
+import net.exoego.typefind.server.QueryMetrics;
+import net.exoego.typefind.server.QueryExecutors;
+import net.exoego.typefind.server.SearchServlet;
+import org.eclipse.jetty.http2.server.HTTP2CServerConnectionFactory;
 import org.eclipse.jetty.rewrite.handler.RewriteHandler;
 import org.eclipse.jetty.rewrite.handler.RewriteRegexRule;
 import org.eclipse.jetty.server.Handler;
+import org.eclipse.jetty.server.HttpConfiguration;
+import org.eclipse.jetty.server.HttpConnectionFactory;
 import org.eclipse.jetty.server.Server;
+import org.eclipse.jetty.server.ServerConnector;
 import org.eclipse.jetty.server.handler.HandlerList;
-import org.eclipse.jetty.server.handler.ResourceHandler;
+import org.eclipse.jetty.servlet.DefaultServlet;
+import org.eclipse.jetty.servlet.ServletContextHandler;
+import org.eclipse.jetty.servlet.ServletHolder;
 
 public class Main {
     public static void main(String[] args) throws Exception {
-        final Server server = new Server(Integer.valueOf(System.getenv("PORT")));
+        final Server server = new Server();
+        server.addConnector(newConnector(server, Integer.valueOf(System.getenv("PORT"))));
 
         RewriteHandler rewrite = new RewriteHandler();
         rewrite.setOriginalPathAttribute("requestedPath");
@@ -19,26 +43,103 @@ public class Main {
         reverse.setReplacement("/index.html?q=$1");
         rewrite.addRule(reverse);
 
-        final ResourceHandler resource_handler = newResourceHandler();
+        final ExecutorService queries = newQueryExecutor();
+        try (final SearchBackend backend = newSearchBackend()) {
+            final ServletContextHandler api = newApiHandler(backend, queries);
+            final ServletContextHandler resource_handler = newResourceHandler();
 
-        // Adding handlers
-        final HandlerList handlers = new HandlerList();
-        handlers.setHandlers(new Handler[]{rewrite, resource_handler});
+            // Adding handlers
+            final HandlerList handlers = new HandlerList();
+            handlers.setHandlers(new Handler[]{rewrite, api, resource_handler});
 
-        // Start server
-        server.setHandler(handlers);
-        server.start();
-        server.join();
+            // Start server
+            server.setHandler(handlers);
+            server.start();
+            server.join();
+        } finally {
+            queries.shutdownNow();
+        }
     }
 
-    private static ResourceHandler newResourceHandler() {
+    /**
+     * Accepts both HTTP/1.1 and HTTP/2 in clear text (h2c), either by upgrade or by prior knowledge.
+     */
+    private static ServerConnector newConnector(final Server server, final int port) {
+        final HttpConfiguration config = new HttpConfiguration();
+        config.setSendServerVersion(false);
+        final ServerConnector connector = new ServerConnector(server,
+                                                              new HttpConnectionFactory(config),
+                                                              new HTTP2CServerConnectionFactory(config));
+        connector.setPort(port);
+        return connector;
+    }
+
+    private static ExecutorService newQueryExecutor() {
+        final String kind = Indexing.getenv("SEARCH_EXECUTOR", "bounded");
+        final int threads = Integer.valueOf(Indexing.getenv("SEARCH_THREADS", "32"));
+        final int queue = Integer.valueOf(Indexing.getenv("SEARCH_QUEUE", "512"));
+        if (kind.equals("virtual")) {
+            // admits as many queries as the bounded executor holds, running or waiting
+            final Optional<ExecutorService> virtual = QueryExecutors.virtual(threads + queue);
+            if (virtual.isPresent()) {
+                System.out.printf("search executor:virtual threads, at most:%s%n", threads + queue);
+                return virtual.get();
+            }
+        }
+        System.out.printf("search executor:%s threads, queue:%s%n", threads, queue);
+        return QueryExecutors.bounded(threads, queue);
+    }
+
+    private static SearchBackend newSearchBackend() {
+        final String host = Indexing.getenv("ELASTICSEARCH_HOST", "localhost");
+        final int port = Integer.valueOf(Indexing.getenv("ELASTICSEARCH_PORT", "9300"));
+        final long cacheSize = Long.valueOf(Indexing.getenv("SEARCH_CACHE_SIZE", "10000"));
+        System.out.printf("search backend:%s:%s, cache size:%s%n", host, port, cacheSize);
+        return new LambdaExpandingSearchBackend(new CachingSearchBackend(new ElasticSearchBackend(host, port),
+                                                                         cacheSize,
+                                                                         Duration.ofMinutes(10),
+                                                                         Duration.ofSeconds(5)));
+    }
+
+    private static ServletContextHandler newApiHandler(final SearchBackend backend, final ExecutorService queries) {
+        final ServletContextHandler api = new ServletContextHandler(ServletContextHandler.NO_SESSIONS);
+        api.setContextPath("/api");
+        final QueryMetrics metrics = newQueryMetrics();
+        final ServletHolder search = new ServletHolder(new SearchServlet(backend, queries, Duration.ofSeconds(10),
+                                                                         metrics));
+        search.setAsyncSupported(true);
+        api.addServlet(search, "/search");
+        api.addServlet(new ServletHolder(new MetricsServlet(metrics)), "/metrics");
+        final NameIndex names = new NameIndex(backend, 10000, Duration.ofMinutes(1));
+        api.addServlet(new ServletHolder(new CompletionServlet(names)), "/complete");
+        return api;
+    }
+
+    private static QueryMetrics newQueryMetrics() {
+        final long slowQueryMillis = Long.valueOf(Indexing.getenv("SLOW_QUERY_MILLIS", "500"));
+        final double sampleRate = Double.valueOf(Indexing.getenv("SLOW_QUERY_SAMPLE_RATE", "0.1"));
+        System.out.printf("slow query:%sms, sample rate:%s%n", slowQueryMillis, sampleRate);
+        return new QueryMetrics(slowQueryMillis, sampleRate, System.err);
+    }
+
+    private static ServletContextHandler newResourceHandler() {
         final URL rootUrl = ClassLoader.getSystemClassLoader().getResource("webapp/root");
         final String staticContentRoot = rootUrl.toExternalForm();
         System.out.printf("resources:%s%n", staticContentRoot);
-        ResourceHandler resource_handler = new ResourceHandler();
-        resource_handler.setDirectoriesListed(true);
+        final ServletContextHandler resource_handler = new ServletContextHandler(ServletContextHandler.NO_SESSIONS);
+        resource_handler.setContextPath("/");
         resource_handler.setResourceBase(staticContentRoot);
         resource_handler.setWelcomeFiles(new String[]{"index.html"});
+        resource_handler.addFilter(AssetCachingFilter.class, "/*", EnumSet.of(DispatcherType.REQUEST));
+
+        // Serve *.br and *.gz made by StaticAssets at package time, with file mapped buffers and ranges.
+        final ServletHolder holder = new ServletHolder("static", DefaultServlet.class);
+        holder.setInitParameter("dirAllowed", "true");
+        holder.setInitParameter("precompressed", "br=.br,gzip=.gz");
+        holder.setInitParameter("etags", "true");
+        holder.setInitParameter("acceptRanges", "true");
+        holder.setInitParameter("useFileMappedBuffer", "true");
+        resource_handler.addServlet(holder, "/");
         return resource_handler;
     }
 }
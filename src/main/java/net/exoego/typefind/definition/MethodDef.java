@@ -2,6 +2,8 @@ package net.exoego.typefind.definition;
 
 import java.lang.reflect.Method;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
 import java.util.List;
 import java.util.Set;
 import java.util.StringJoiner;
@@ -9,6 +11,10 @@ import java.util.function.Function;
 import java.util.function.Supplier;
 import java.util.stream.Stream;
 
+import net.exoego.typefind.metrics.MethodExtractionEvent;
+import net.exoego.typefind.metrics.MethodReflectionEvent;
+import net.exoego.typefind.metrics.PipelineMetrics;
+
 import static net.exoego.util.MoreCollectors.toImmutableList;
 import static net.exoego.util.MoreCollectors.toImmutableSet;
 
@@ -23,6 +29,7 @@ public class MethodDef {
     private final String methodName;
     private final String simpleForm;
     private final String fullForm;
+    private final SignatureKey signatureKey;
     private final boolean isDeprecated;
     private final boolean isStatic;
 
@@ -46,20 +53,86 @@ public class MethodDef {
                                                                       (isStatic ? "." : "#") +
                                                                       this.getMethodName() +
                                                                       ": ");
+        this.signatureKey = SignatureKey.of(method);
+    }
+
+    /**
+     * Orders methods by name, then by the types of arguments and return, like the method descriptor.
+     */
+    static final Comparator<Method> DESCRIPTOR_ORDER = Comparator.comparing(Method::getName)
+                                                                 .thenComparing(MethodDef::descriptor);
+
+    private static String descriptor(final Method method) {
+        final StringJoiner joiner = new StringJoiner(",", "(", ")");
+        for (final Class<?> parameter : method.getParameterTypes()) {
+            joiner.add(parameter.getName());
+        }
+        return joiner.toString() + method.getReturnType().getName();
     }
 
+    /**
+     * Returns the methods declared by the given class, ordered by {@link #DESCRIPTOR_ORDER}, excluding those
+     * overriding {@code Object}.
+     */
     public static Stream<MethodDef> allMethods(Class<?> klass) {
-        return Stream.of(klass).map(t -> {
-            try {
-                return t.getDeclaredMethods();
-            } catch (NoClassDefFoundError e) {
-                return new Method[]{};
+        return Stream.of(klass).flatMap(MethodDef::extract);
+    }
+
+    private static Stream<MethodDef> extract(Class<?> klass) {
+        final MethodExtractionEvent event = new MethodExtractionEvent();
+        event.begin();
+        final long start = System.nanoTime();
+        final Method[] declared;
+        try {
+            declared = klass.getDeclaredMethods();
+        } catch (NoClassDefFoundError e) {
+            PipelineMetrics.get().classSkipped();
+            event.end();
+            if (event.shouldCommit()) {
+                event.className = klass.getName();
+                event.outcome = MethodExtractionEvent.NO_CLASS_DEF;
+                event.commit();
             }
-        }).flatMap(Stream::of).filter(MethodDef::undefinedInObject).map(MethodDef::newInstance);
+            return Stream.empty();
+        }
+        // getDeclaredMethods() returns methods in no particular order
+        Arrays.sort(declared, DESCRIPTOR_ORDER);
+        final List<MethodDef> methods = new ArrayList<>(declared.length);
+        for (final Method method : declared) {
+            if (undefinedInObject(method)) {
+                methods.add(newInstance(method));
+            }
+        }
+        final int filtered = declared.length - methods.size();
+        PipelineMetrics.get().methodsExtracted(methods.size(), filtered, System.nanoTime() - start);
+        event.end();
+        if (event.shouldCommit()) {
+            event.className = klass.getName();
+            event.methods = methods.size();
+            event.filtered = filtered;
+            event.outcome = MethodExtractionEvent.EXTRACTED;
+            event.commit();
+        }
+        return methods.stream();
     }
 
     public static MethodDef newInstance(Method method) {
-        return new MethodDef(method);
+        final MethodReflectionEvent event = new MethodReflectionEvent();
+        event.begin();
+        String outcome = MethodReflectionEvent.FAILED;
+        try {
+            final MethodDef methodDef = new MethodDef(method);
+            outcome = MethodReflectionEvent.DEFINED;
+            return methodDef;
+        } finally {
+            event.end();
+            if (event.shouldCommit()) {
+                event.className = method.getDeclaringClass().getName();
+                event.methodName = method.getName();
+                event.outcome = outcome;
+                event.commit();
+            }
+        }
     }
 
     private static String argumentsInSimpleNotation(List<TypeDef> arguments, Function<TypeDef, String> mapper) {
@@ -138,6 +211,13 @@ public class MethodDef {
         return simpleForm;
     }
 
+    /**
+     * Returns the signature of this method with type variables renamed, equal among alpha-equivalent methods.
+     */
+    public SignatureKey getSignatureKey() {
+        return signatureKey;
+    }
+
     private String methodFormat(final Function<TypeDef, String> name, final Supplier<String> begin) {
         final List<TypeDef> args = new ArrayList<>();
         if (!getModifiers().contains(MethodModifier.Other.STATIC)) {
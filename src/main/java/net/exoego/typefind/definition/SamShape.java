@@ -0,0 +1,230 @@
+package net.exoego.typefind.definition;
+
+import java.lang.reflect.GenericArrayType;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.lang.reflect.TypeVariable;
+import java.lang.reflect.WildcardType;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.StringJoiner;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * The structure of the single abstract method of a functional interface, in terms of the type parameters of the
+ * interface. For example, {@code ToIntFunction<T>} is {@code T -> int} and {@code UnaryOperator<T>}, which inherits
+ * {@code apply} from {@code Function<T, T>}, is {@code T -> T}.
+ * <p>
+ * Types are written without package and without whitespace, like {@code List<T>} or {@code Map.Entry<K,V>}.
+ * {@code ? super T} and {@code ? extends T} are written as {@code T}, as in lambda notation, and {@code void} as
+ * {@code ()}.
+ */
+public final class SamShape {
+    public static final String VOID = "()";
+    private static final ClassValue<Optional<SamShape>> SHAPES = new ClassValue<Optional<SamShape>>() {
+        @Override
+        protected Optional<SamShape> computeValue(final Class<?> type) {
+            return resolve(type);
+        }
+    };
+    private final String name;
+    private final String canonicalName;
+    private final List<String> typeParameters;
+    private final List<String> parameters;
+    private final String returnType;
+
+    SamShape(final String name,
+             final String canonicalName,
+             final List<String> typeParameters,
+             final List<String> parameters,
+             final String returnType) {
+        this.name = name;
+        this.canonicalName = canonicalName;
+        this.typeParameters = Collections.unmodifiableList(new ArrayList<>(typeParameters));
+        this.parameters = Collections.unmodifiableList(new ArrayList<>(parameters));
+        this.returnType = returnType;
+    }
+
+    /**
+     * Returns the shape of the given functional interface, or empty if it is not a functional interface.
+     * Shapes are resolved once per class.
+     */
+    public static Optional<SamShape> of(final Class<?> klass) {
+        Objects.requireNonNull(klass);
+        return SHAPES.get(klass);
+    }
+
+    /**
+     * Writes the given type without package and without whitespace, with wildcards as their bounds, like
+     * {@code ToIntFunction<String>} of {@code ToIntFunction<? super java.lang.String>}.
+     */
+    public static String typeName(final Type type) {
+        Objects.requireNonNull(type);
+        return render(type, Collections.emptyMap());
+    }
+
+    private static Optional<SamShape> resolve(final Class<?> klass) {
+        if (!TypeKind.isFunctionalInterface(klass)) {
+            return Optional.empty();
+        }
+        final Optional<Method> sam = findSam(klass);
+        if (!sam.isPresent()) {
+            return Optional.empty();
+        }
+        final Map<TypeVariable<?>, Type> actual = new HashMap<>();
+        collectActualTypeArguments(klass, actual);
+        final List<String> parameters = Stream.of(sam.get().getGenericParameterTypes())
+                                              .map(type -> render(type, actual))
+                                              .collect(Collectors.toList());
+        final List<String> typeParameters = Stream.of(klass.getTypeParameters())
+                                                  .map(TypeVariable::getName)
+                                                  .collect(Collectors.toList());
+        return Optional.of(new SamShape(className(klass),
+                                        klass.getName().replace('$', '.'),
+                                        typeParameters,
+                                        parameters,
+                                        render(sam.get().getGenericReturnType(), actual)));
+    }
+
+    /**
+     * Finds the abstract method, preferring the one declared by the interface itself if it overrides an inherited
+     * one, like {@code Comparator} redeclaring {@code equals} or a sub-interface narrowing the return type.
+     */
+    private static Optional<Method> findSam(final Class<?> klass) {
+        final List<Method> abstractMethods = Stream.of(klass.getMethods())
+                                                   .filter(method -> !Modifier.isStatic(method.getModifiers()))
+                                                   .filter(MethodDef::isAbstract)
+                                                   .filter(MethodDef::undefinedInObject)
+                                                   .collect(Collectors.toList());
+        if (abstractMethods.isEmpty()) {
+            return Optional.empty();
+        }
+        final Method first = abstractMethods.get(0);
+        for (final Method method : abstractMethods) {
+            if (!method.getName().equals(first.getName()) ||
+                method.getParameterCount() != first.getParameterCount()) {
+                return Optional.empty();
+            }
+        }
+        return Optional.of(abstractMethods.stream()
+                                          .filter(method -> method.getDeclaringClass() == klass)
+                                          .findFirst()
+                                          .orElse(first));
+    }
+
+    private static void collectActualTypeArguments(final Class<?> klass, final Map<TypeVariable<?>, Type> actual) {
+        for (final Type superInterface : klass.getGenericInterfaces()) {
+            if (superInterface instanceof ParameterizedType) {
+                final ParameterizedType parameterized = (ParameterizedType) superInterface;
+                final Class<?> raw = (Class<?>) parameterized.getRawType();
+                final TypeVariable<?>[] variables = raw.getTypeParameters();
+                final Type[] arguments = parameterized.getActualTypeArguments();
+                for (int i = 0; i < variables.length && i < arguments.length; i++) {
+                    actual.putIfAbsent(variables[i], arguments[i]);
+                }
+                collectActualTypeArguments(raw, actual);
+            } else if (superInterface instanceof Class) {
+                collectActualTypeArguments((Class<?>) superInterface, actual);
+            }
+        }
+    }
+
+    private static String render(final Type type, final Map<TypeVariable<?>, Type> actual) {
+        if (type instanceof Class) {
+            final Class<?> klass = (Class<?>) type;
+            if (klass.isArray()) {
+                return render(klass.getComponentType(), actual) + "[]";
+            }
+            return klass == void.class ? VOID : className(klass);
+        } else if (type instanceof ParameterizedType) {
+            final ParameterizedType parameterized = (ParameterizedType) type;
+            final StringJoiner joiner = new StringJoiner(",", render(parameterized.getRawType(), actual) + "<", ">");
+            for (final Type argument : parameterized.getActualTypeArguments()) {
+                joiner.add(render(argument, actual));
+            }
+            return joiner.toString();
+        } else if (type instanceof GenericArrayType) {
+            return render(((GenericArrayType) type).getGenericComponentType(), actual) + "[]";
+        } else if (type instanceof TypeVariable) {
+            final Type resolved = actual.get(type);
+            return resolved == null ? ((TypeVariable<?>) type).getName() : render(resolved, actual);
+        } else if (type instanceof WildcardType) {
+            final WildcardType wildcard = (WildcardType) type;
+            if (wildcard.getLowerBounds().length > 0) {
+                return render(wildcard.getLowerBounds()[0], actual);
+            }
+            final Type[] upper = wildcard.getUpperBounds();
+            return upper.length == 0 || upper[0] == Object.class ? "?" : render(upper[0], actual);
+        }
+        throw new IllegalArgumentException("unknown subtype of Type: " + type.getClass());
+    }
+
+    private static String className(final Class<?> klass) {
+        final Class<?> enclosing = klass.getDeclaringClass();
+        return enclosing == null ? klass.getSimpleName() : className(enclosing) + "." + klass.getSimpleName();
+    }
+
+    /**
+     * Returns the name of the interface, like {@code ToIntFunction}.
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Returns the fully qualified name of the interface, like {@code java.util.function.ToIntFunction}.
+     */
+    public String getCanonicalName() {
+        return canonicalName;
+    }
+
+    public List<String> getTypeParameters() {
+        return typeParameters;
+    }
+
+    public List<String> getParameters() {
+        return parameters;
+    }
+
+    public String getReturnType() {
+        return returnType;
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(canonicalName, typeParameters, parameters, returnType);
+    }
+
+    @Override
+    public boolean equals(final Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        final SamShape that = (SamShape) o;
+        return canonicalName.equals(that.canonicalName) &&
+               typeParameters.equals(that.typeParameters) &&
+               parameters.equals(that.parameters) &&
+               returnType.equals(that.returnType);
+    }
+
+    @Override
+    public String toString() {
+        return "SamShape{" +
+               "canonicalName='" + canonicalName + '\'' +
+               ", typeParameters=" + typeParameters +
+               ", parameters=" + parameters +
+               ", returnType='" + returnType + '\'' +
+               '}';
+    }
+}
@@ -0,0 +1,335 @@
+package net.exoego.typefind.definition;
+
+import java.lang.reflect.GenericArrayType;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.lang.reflect.TypeVariable;
+import java.lang.reflect.WildcardType;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+import static net.exoego.typefind.definition.SignatureTokens.ARROW;
+import static net.exoego.typefind.definition.SignatureTokens.closing;
+import static net.exoego.typefind.definition.SignatureTokens.isTypeVariable;
+import static net.exoego.typefind.definition.SignatureTokens.render;
+import static net.exoego.typefind.definition.SignatureTokens.simpleName;
+import static net.exoego.typefind.definition.SignatureTokens.split;
+
+/**
+ * A canonical form of a method signature, under which signatures that differ only in the names of type variables
+ * are equal, like {@code <T> List<T> -> T} and {@code <E> List<E> -> E}.
+ * <ul>
+ * <li>Type names are written without package, and nested types are joined by {@code .}.</li>
+ * <li>Type variables are renamed to {@code T1}, {@code T2}, ... in order of their first occurrence.</li>
+ * <li>Bounds of type variables are kept, declared in front like {@code <T1 extends Comparable<?super T1>>}.
+ * Variables bounded by {@code Object} only are not declared.</li>
+ * <li>{@code ? extends Object} is written as {@code ?}.</li>
+ * <li>Whitespace is removed around symbols and a single space is kept between words, as
+ * {@link net.exoego.typefind.search.QueryNormalizer} does.</li>
+ * </ul>
+ * Arguments are kept in their order, with the receiver of an instance method first, as in
+ * {@link MethodDef#getSimpleForm()}. The canonical string comes with a 64-bit fingerprint, so that a signature can be
+ * looked up by a single term.
+ */
+public final class SignatureKey {
+    private static final String OBJECT = "Object";
+    /**
+     * Marks tokens that are type variables until they are renamed; never appears in a type name.
+     */
+    private static final char VARIABLE = '\u0000';
+    private static final long FNV_OFFSET_BASIS = 0xcbf29ce484222325L;
+    private static final long FNV_PRIME = 0x100000001b3L;
+    private final String canonical;
+    private final long fingerprint;
+
+    private SignatureKey(final String canonical) {
+        this.canonical = canonical;
+        this.fingerprint = fingerprint(canonical);
+    }
+
+    /**
+     * Returns the key of the given method, from the generic types of its declaring class, arguments and return.
+     */
+    public static SignatureKey of(final Method method) {
+        Objects.requireNonNull(method);
+        final Builder builder = new Builder();
+        final List<Type> arguments = new ArrayList<>();
+        if (!Modifier.isStatic(method.getModifiers())) {
+            arguments.add(receiver(method.getDeclaringClass()));
+        }
+        for (final Type argument : method.getGenericParameterTypes()) {
+            arguments.add(argument);
+        }
+        final List<String> body = new ArrayList<>();
+        if (arguments.size() == 1) {
+            builder.type(arguments.get(0), body);
+        } else {
+            body.add("(");
+            for (int i = 0; i < arguments.size(); i++) {
+                if (i > 0) {
+                    body.add(",");
+                }
+                builder.type(arguments.get(i), body);
+            }
+            body.add(")");
+        }
+        body.add(ARROW);
+        builder.type(method.getGenericReturnType(), body);
+        return canonicalize(body, builder.bounds);
+    }
+
+    /**
+     * Returns the key of a signature written in a query, like {@code <T extends Number> (List<T>, T) -> T}.
+     * As in queries, a capital letter optionally followed by digits is a type variable. Packages are dropped from
+     * qualified names, and parentheses around a single argument are ignored.
+     * A malformed query results in a key that no method has, never in an exception.
+     */
+    public static SignatureKey parse(final String signature) {
+        Objects.requireNonNull(signature);
+        List<String> tokens = new ArrayList<>();
+        for (final String token : SignatureTokens.tokenize(signature)) {
+            tokens.add(isTypeVariable(token) ? VARIABLE + token : simpleName(token));
+        }
+        final Map<String, List<String>> bounds = new HashMap<>();
+        if (!tokens.isEmpty() && tokens.get(0).equals("<")) {
+            final int end = closing(tokens, 0);
+            if (end > 0) {
+                declarations(tokens.subList(1, end), bounds);
+                tokens = tokens.subList(end + 1, tokens.size());
+            }
+        }
+        return canonicalize(unwrapSingleArgument(normalizeWildcards(tokens)), bounds);
+    }
+
+    public String getCanonical() {
+        return canonical;
+    }
+
+    /**
+     * Returns the 64-bit FNV-1a hash of the UTF-16 code units of the canonical string, which is stable across
+     * processes, unlike {@link #hashCode()}.
+     */
+    public long getFingerprint() {
+        return fingerprint;
+    }
+
+    static long fingerprint(final String canonical) {
+        long hash = FNV_OFFSET_BASIS;
+        for (int i = 0; i < canonical.length(); i++) {
+            final char c = canonical.charAt(i);
+            hash = (hash ^ (c & 0xff)) * FNV_PRIME;
+            hash = (hash ^ (c >>> 8)) * FNV_PRIME;
+        }
+        return hash;
+    }
+
+    private static Type receiver(final Class<?> klass) {
+        final TypeVariable<?>[] parameters = klass.getTypeParameters();
+        if (parameters.length == 0) {
+            return klass;
+        }
+        return new ParameterizedType() {
+            @Override
+            public Type[] getActualTypeArguments() {
+                return parameters.clone();
+            }
+
+            @Override
+            public Type getRawType() {
+                return klass;
+            }
+
+            @Override
+            public Type getOwnerType() {
+                return klass.getDeclaringClass();
+            }
+        };
+    }
+
+    private static SignatureKey canonicalize(final List<String> body, final Map<String, List<String>> bounds) {
+        final Map<String, String> renamed = new LinkedHashMap<>();
+        final List<String> renamedBody = SignatureTokens.rename(body, SignatureKey::isVariable, renamed);
+        final List<String> declarations = new ArrayList<>();
+        // renaming a bound may find more variables, which are appended to the order
+        List<String> order = new ArrayList<>(renamed.keySet());
+        for (int i = 0; i < order.size(); i++) {
+            final List<String> bound = bounds.get(order.get(i));
+            if (bound == null || bound.isEmpty()) {
+                continue;
+            }
+            declarations.add(declarations.isEmpty() ? "<" : ",");
+            declarations.add(renamed.get(order.get(i)));
+            declarations.add("extends");
+            declarations.addAll(SignatureTokens.rename(bound, SignatureKey::isVariable, renamed));
+            order = new ArrayList<>(renamed.keySet());
+        }
+        if (!declarations.isEmpty()) {
+            declarations.add(">");
+        }
+        declarations.addAll(renamedBody);
+        return new SignatureKey(render(declarations));
+    }
+
+    private static boolean isVariable(final String token) {
+        return token.charAt(0) == VARIABLE;
+    }
+
+    private static void declarations(final List<String> tokens, final Map<String, List<String>> bounds) {
+        for (final List<String> declaration : split(tokens)) {
+            declaration(declaration, bounds);
+        }
+    }
+
+    private static void declaration(final List<String> tokens, final Map<String, List<String>> bounds) {
+        if (tokens.size() < 3 || !isVariable(tokens.get(0)) || !tokens.get(1).equals("extends")) {
+            return;
+        }
+        final List<String> bound = normalizeWildcards(tokens.subList(2, tokens.size()));
+        if (!(bound.size() == 1 && bound.get(0).equals(OBJECT))) {
+            bounds.put(tokens.get(0), bound);
+        }
+    }
+
+    private static List<String> normalizeWildcards(final List<String> tokens) {
+        final List<String> result = new ArrayList<>(tokens.size());
+        for (int i = 0; i < tokens.size(); i++) {
+            result.add(tokens.get(i));
+            if (tokens.get(i).equals("?") && i + 2 < tokens.size() &&
+                tokens.get(i + 1).equals("extends") && tokens.get(i + 2).equals(OBJECT)) {
+                i += 2;
+            }
+        }
+        return result;
+    }
+
+    private static List<String> unwrapSingleArgument(final List<String> tokens) {
+        if (tokens.isEmpty() || !tokens.get(0).equals("(")) {
+            return tokens;
+        }
+        final int end = closing(tokens, 0);
+        if (end <= 1 || end + 1 >= tokens.size() || !tokens.get(end + 1).equals(ARROW)) {
+            return tokens;
+        }
+        if (split(tokens.subList(1, end)).size() > 1) {
+            return tokens;
+        }
+        final List<String> unwrapped = new ArrayList<>(tokens.subList(1, end));
+        unwrapped.addAll(tokens.subList(end + 1, tokens.size()));
+        return unwrapped;
+    }
+
+    /**
+     * Writes types into tokens, collecting the bounds of type variables on the way.
+     */
+    private static final class Builder {
+        private final Map<String, List<String>> bounds = new HashMap<>();
+
+        private void type(final Type type, final List<String> tokens) {
+            if (type instanceof Class) {
+                final Class<?> klass = (Class<?>) type;
+                if (klass.isArray()) {
+                    type(klass.getComponentType(), tokens);
+                    tokens.add("[");
+                    tokens.add("]");
+                } else if (klass == void.class) {
+                    tokens.add("(");
+                    tokens.add(")");
+                } else {
+                    tokens.add(className(klass));
+                }
+            } else if (type instanceof ParameterizedType) {
+                final ParameterizedType parameterized = (ParameterizedType) type;
+                type(parameterized.getRawType(), tokens);
+                tokens.add("<");
+                final Type[] arguments = parameterized.getActualTypeArguments();
+                for (int i = 0; i < arguments.length; i++) {
+                    if (i > 0) {
+                        tokens.add(",");
+                    }
+                    type(arguments[i], tokens);
+                }
+                tokens.add(">");
+            } else if (type instanceof GenericArrayType) {
+                type(((GenericArrayType) type).getGenericComponentType(), tokens);
+                tokens.add("[");
+                tokens.add("]");
+            } else if (type instanceof TypeVariable) {
+                variable((TypeVariable<?>) type, tokens);
+            } else if (type instanceof WildcardType) {
+                wildcard((WildcardType) type, tokens);
+            } else {
+                throw new IllegalArgumentException("unknown subtype of Type: " + type.getClass());
+            }
+        }
+
+        private void variable(final TypeVariable<?> variable, final List<String> tokens) {
+            final String name = VARIABLE + variable.getName();
+            tokens.add(name);
+            if (bounds.containsKey(name)) {
+                return;
+            }
+            // registered before its bound is written, which may refer to the variable itself like Enum<E>
+            final List<String> bound = new ArrayList<>();
+            bounds.put(name, bound);
+            final Type[] upper = variable.getBounds();
+            if (upper.length == 1 && upper[0] == Object.class) {
+                return;
+            }
+            for (int i = 0; i < upper.length; i++) {
+                if (i > 0) {
+                    bound.add("&");
+                }
+                type(upper[i], bound);
+            }
+        }
+
+        private void wildcard(final WildcardType wildcard, final List<String> tokens) {
+            tokens.add("?");
+            final Type[] lower = wildcard.getLowerBounds();
+            final Type[] upper = wildcard.getUpperBounds();
+            if (lower.length > 0) {
+                tokens.add("super");
+                type(lower[0], tokens);
+            } else if (upper.length > 0 && upper[0] != Object.class) {
+                tokens.add("extends");
+                type(upper[0], tokens);
+            }
+        }
+
+        private static String className(final Class<?> klass) {
+            final Class<?> enclosing = klass.getDeclaringClass();
+            return enclosing == null ? klass.getSimpleName() : className(enclosing) + "." + klass.getSimpleName();
+        }
+    }
+
+    @Override
+    public int hashCode() {
+        return canonical.hashCode();
+    }
+
+    @Override
+    public boolean equals(final Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        final SignatureKey that = (SignatureKey) o;
+        return canonical.equals(that.canonical);
+    }
+
+    @Override
+    public String toString() {
+        return "SignatureKey{" +
+               "canonical='" + canonical + '\'' +
+               ", fingerprint=" + fingerprint +
+               '}';
+    }
+}
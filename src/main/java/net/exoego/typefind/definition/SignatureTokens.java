@@ -0,0 +1,162 @@
+package net.exoego.typefind.definition;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Predicate;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Tokens of signatures written like {@code <T> (List<T>, T -> int) -> T}, shared by the forms which read or write
+ * them: {@link SignatureKey}, {@link net.exoego.typefind.search.QueryNormalizer} and
+ * {@link net.exoego.typefind.search.SamIndex}.
+ * <p>
+ * A token is either {@code ->}, a possibly qualified name, or a single symbol; whitespace is dropped.
+ */
+public final class SignatureTokens {
+    public static final String ARROW = "->";
+    private static final Pattern TOKEN = Pattern.compile("->|[\\w$.]+|\\S");
+    private static final Pattern TYPE_VARIABLE = Pattern.compile("[A-Z][0-9]*");
+
+    private SignatureTokens() { }
+
+    public static List<String> tokenize(final String signature) {
+        final List<String> tokens = new ArrayList<>();
+        final Matcher matcher = TOKEN.matcher(signature);
+        while (matcher.find()) {
+            tokens.add(matcher.group());
+        }
+        return tokens;
+    }
+
+    /**
+     * Returns whether the token is a type variable as written in queries: a capital letter optionally followed by
+     * digits, like {@code T} or {@code K2}.
+     */
+    public static boolean isTypeVariable(final String token) {
+        return TYPE_VARIABLE.matcher(token).matches();
+    }
+
+    public static boolean isWord(final String token) {
+        final char c = token.charAt(0);
+        return Character.isLetterOrDigit(c) || c == '_' || c == '$';
+    }
+
+    /**
+     * Returns {@code 1} for an opening bracket, {@code -1} for a closing one, and {@code 0} otherwise.
+     */
+    public static int depthDelta(final String token) {
+        switch (token) {
+            case "(":
+            case "<":
+            case "[":
+                return 1;
+            case ")":
+            case ">":
+            case "]":
+                return -1;
+            default:
+                return 0;
+        }
+    }
+
+    /**
+     * Returns the index of the bracket closing the one at {@code open}, or {@code -1} if it is not closed.
+     */
+    public static int closing(final List<String> tokens, final int open) {
+        int depth = 0;
+        for (int i = open; i < tokens.size(); i++) {
+            depth += depthDelta(tokens.get(i));
+            if (depth == 0) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Returns the index of the first occurrence of the symbol outside brackets, or {@code -1} if there is none.
+     */
+    public static int topLevel(final List<String> tokens, final String symbol) {
+        int depth = 0;
+        for (int i = 0; i < tokens.size(); i++) {
+            depth += depthDelta(tokens.get(i));
+            if (depth == 0 && tokens.get(i).equals(symbol)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Splits tokens at commas outside brackets, like the arguments of a tuple. Empty tokens result in a single empty
+     * part.
+     */
+    public static List<List<String>> split(final List<String> tokens) {
+        final List<List<String>> parts = new ArrayList<>();
+        int start = 0;
+        int depth = 0;
+        for (int i = 0; i < tokens.size(); i++) {
+            depth += depthDelta(tokens.get(i));
+            if (depth == 0 && tokens.get(i).equals(",")) {
+                parts.add(tokens.subList(start, i));
+                start = i + 1;
+            }
+        }
+        parts.add(tokens.subList(start, tokens.size()));
+        return parts;
+    }
+
+    /**
+     * Joins tokens without whitespace, except a single space between words like {@code T extends Number}.
+     */
+    public static String render(final List<String> tokens) {
+        final StringBuilder builder = new StringBuilder();
+        String last = null;
+        for (final String token : tokens) {
+            if (last != null && isWord(last) && isWord(token)) {
+                builder.append(' ');
+            }
+            builder.append(token);
+            last = token;
+        }
+        return builder.toString();
+    }
+
+    /**
+     * Drops the package from a qualified name, like {@code Map.Entry} of {@code java.util.Map.Entry}. A package is
+     * the qualifier in lower case. Symbols are returned as they are.
+     */
+    public static String simpleName(final String token) {
+        if (!isWord(token)) {
+            return token;
+        }
+        int start = 0;
+        int dot;
+        while ((dot = token.indexOf('.', start)) >= 0 && Character.isLowerCase(token.charAt(start))) {
+            start = dot + 1;
+        }
+        return start < token.length() ? token.substring(start) : token;
+    }
+
+    /**
+     * Renames type variables to {@code T1}, {@code T2}, ... in order of their first occurrence.
+     *
+     * @param renamed names given so far, which are kept across calls so that bounds can be renamed consistently
+     *                with the signature; new variables are added in order of their first occurrence.
+     */
+    public static List<String> rename(final List<String> tokens,
+                                      final Predicate<String> isVariable,
+                                      final Map<String, String> renamed) {
+        final List<String> result = new ArrayList<>(tokens.size());
+        for (final String token : tokens) {
+            if (isVariable.test(token)) {
+                result.add(renamed.computeIfAbsent(token, t -> "T" + (renamed.size() + 1)));
+            } else {
+                result.add(token);
+            }
+        }
+        return result;
+    }
+}
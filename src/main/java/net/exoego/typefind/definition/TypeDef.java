@@ -15,6 +15,8 @@ import java.util.function.Function;
 import java.util.regex.Pattern;
 import java.util.stream.Stream;
 
+import net.exoego.typefind.metrics.SamResolutionEvent;
+
 public class TypeDef {
     private static final Pattern EXCEPT_MODIFIERS = Pattern.compile(
             "\\b(?:public|protected|private|class|interface|enum|abstract|native|static|strictfp|final|synchronized) \\b");
@@ -23,6 +25,8 @@ public class TypeDef {
     private final String canonicalName;
     private final String simpleForm;
     private final TypeKind kind;
+    private final SamShape samShape;
+    private final String samTypeName;
     private final boolean isDeprecated;
 
     private TypeDef(Type type) {
@@ -57,9 +61,16 @@ public class TypeDef {
             final String s = packageDef.toString();
             this.canonicalName = s.isEmpty() ? typeName : s + "." + typeName;
         }
+        this.samShape = kind == TypeKind.FUNCTIONAL_INTERFACE ? samShape(type).orElse(null) : null;
+        this.samTypeName = samShape == null ? null : SamShape.typeName(type);
         isDeprecated = isDeprecated(type);
     }
 
+    private static Optional<SamShape> samShape(Type type) {
+        final Type rawType = type instanceof ParameterizedType ? ((ParameterizedType) type).getRawType() : type;
+        return rawType instanceof Class ? SamShape.of((Class<?>) rawType) : Optional.empty();
+    }
+
     private static boolean isDeprecated(Type type) {
         if (type instanceof Class) {
             return ((Class) type).getAnnotation(Deprecated.class) != null;
@@ -241,6 +252,25 @@ public class TypeDef {
         return canonicalName;
     }
 
+    /**
+     * Returns the shape of the single abstract method if this type is functional interface.
+     *
+     * @return the shape declared by the interface, not by the type arguments of this type.
+     */
+    public Optional<SamShape> getSamShape() {
+        return Optional.ofNullable(samShape);
+    }
+
+    /**
+     * Returns the name of this functional interface with its type arguments, written as {@link SamShape} writes
+     * types, like {@code ToIntFunction<String>} of {@code ToIntFunction<? super java.lang.String>}.
+     *
+     * @return the name, or empty if this type is not functional interface.
+     */
+    public Optional<String> getSamTypeName() {
+        return Optional.ofNullable(samTypeName);
+    }
+
     /**
      * Returns lambda-expression if this type is functional interface, otherwise just type name.
      *
@@ -254,12 +284,23 @@ public class TypeDef {
         if (kind != TypeKind.FUNCTIONAL_INTERFACE) {
             return Optional.empty();
         }
+        final SamResolutionEvent event = new SamResolutionEvent();
+        event.begin();
+        final Optional<String> lambda;
         if (type instanceof ParameterizedType) {
             final ParameterizedType parameterized = (ParameterizedType) type;
-            return chooseDeclaredSamOrInheritedSam((Class) parameterized.getRawType(),
-                                                   parameterized.getActualTypeArguments());
+            lambda = chooseDeclaredSamOrInheritedSam((Class) parameterized.getRawType(),
+                                                     parameterized.getActualTypeArguments());
+        } else {
+            lambda = chooseDeclaredSamOrInheritedSam((Class) type, new Type[]{});
+        }
+        event.end();
+        if (event.shouldCommit()) {
+            event.typeName = type.getTypeName();
+            event.outcome = lambda.isPresent() ? SamResolutionEvent.LAMBDA : SamResolutionEvent.NOT_FOUND;
+            event.commit();
         }
-        return chooseDeclaredSamOrInheritedSam((Class) type, new Type[]{});
+        return lambda;
     }
 
     @Override
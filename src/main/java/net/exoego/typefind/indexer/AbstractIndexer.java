@@ -0,0 +1,54 @@
+package net.exoego.typefind.indexer;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.stream.Stream;
+
+import net.exoego.typefind.definition.MethodDef;
+
+/**
+ * Implements the pull-based methods of {@link Indexer} by pushing the methods of the sources to a sink that
+ * {@link #open} returns.
+ */
+public abstract class AbstractIndexer implements Indexer {
+    private final List<Stream<MethodDef>> sources = new ArrayList<>();
+    private final Set<String> deletes = new LinkedHashSet<>();
+
+    /**
+     * Indexes the methods of the sources added so far, after the deletes. Every source is closed, even if indexing
+     * fails, and forgotten, so this indexer can be reused for other sources.
+     */
+    @Override
+    public long index() {
+        final List<Stream<MethodDef>> taken = new ArrayList<>(sources);
+        sources.clear();
+        try (final IndexSink sink = open(ProgressListener.CONSOLE)) {
+            sink.delete(deletes);
+            deletes.clear();
+            for (final Stream<MethodDef> source : taken) {
+                try (final Stream<MethodDef> methods = source) {
+                    methods.forEachOrdered(sink::accept);
+                }
+            }
+            sink.flush();
+            return sink.getIndexed();
+        } finally {
+            taken.forEach(Stream::close);
+        }
+    }
+
+    @Override
+    public void addSource(final Stream<MethodDef> source) {
+        Objects.requireNonNull(source);
+        sources.add(source);
+    }
+
+    @Override
+    public void delete(final Collection<String> classNames) {
+        deletes.addAll(classNames);
+    }
+}
@@ -0,0 +1,36 @@
+package net.exoego.typefind.indexer;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Destination of documents serialized by {@link ElasticSearchIndexer}, sent in bulk.
+ */
+public interface BulkEndpoint extends AutoCloseable {
+    /**
+     * Sends the given JSON documents in one bulk request.
+     *
+     * @param type      the type of the documents, that is the name of artifact.
+     * @param documents JSON documents to be indexed.
+     * @return the number of documents indexed successfully.
+     */
+    long bulk(String type, List<String> documents);
+
+    /**
+     * Deletes the documents of the methods declared by the given classes.
+     *
+     * @param type       the type of the documents, that is the name of artifact.
+     * @param classNames the binary names of classes, like "java.util.Map$Entry".
+     */
+    void delete(String type, Collection<String> classNames);
+
+    /**
+     * Tells that indexing of the given artifact has completed, so that a new generation of the index begins.
+     *
+     * @param type the name of artifact indexed.
+     */
+    void publishGeneration(String type);
+
+    @Override
+    void close();
+}
@@ -0,0 +1,80 @@
+package net.exoego.typefind.indexer;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.StreamSupport;
+
+import org.elasticsearch.action.bulk.BulkRequestBuilder;
+import org.elasticsearch.action.bulk.BulkResponse;
+import org.elasticsearch.client.Client;
+import org.elasticsearch.client.transport.TransportClient;
+import org.elasticsearch.common.transport.InetSocketTransportAddress;
+import org.elasticsearch.index.query.BoolQueryBuilder;
+import org.elasticsearch.index.query.QueryBuilders;
+
+import static net.exoego.typefind.indexer.ElasticSearchIndexer.GENERATION_ID;
+import static net.exoego.typefind.indexer.ElasticSearchIndexer.GENERATION_INDEX_NAME;
+import static net.exoego.typefind.indexer.ElasticSearchIndexer.GENERATION_TYPE;
+import static net.exoego.typefind.indexer.ElasticSearchIndexer.INDEX_NAME;
+
+/**
+ * Sends documents to Elasticsearch through a transport client.
+ */
+public class ElasticSearchBulkEndpoint implements BulkEndpoint {
+    /**
+     * Less than the default limit of clauses in a boolean query, 1024.
+     */
+    private static final int DELETE_BATCH_SIZE = 500;
+    private final Client client;
+
+    private ElasticSearchBulkEndpoint(final Client client) {
+        this.client = client;
+    }
+
+    public static ElasticSearchBulkEndpoint connect(final String host, final int port) {
+        return new ElasticSearchBulkEndpoint(new TransportClient().addTransportAddress(new InetSocketTransportAddress(
+                host,
+                port)));
+    }
+
+    @Override
+    public long bulk(final String type, final List<String> documents) {
+        final BulkRequestBuilder bulkRequest = client.prepareBulk();
+        for (final String json : documents) {
+            bulkRequest.add(client.prepareIndex(INDEX_NAME, type).setSource(json));
+        }
+        final BulkResponse response = bulkRequest.execute().actionGet();
+        if (response.hasFailures()) {
+            return documents.size() -
+                   StreamSupport.stream(response.spliterator(), false).filter(res -> res.isFailed()).count();
+        }
+        return documents.size();
+    }
+
+    @Override
+    public void delete(final String type, final Collection<String> classNames) {
+        final List<String> names = new ArrayList<>(classNames);
+        for (int from = 0; from < names.size(); from += DELETE_BATCH_SIZE) {
+            final BoolQueryBuilder query = QueryBuilders.boolQuery();
+            for (final String name : names.subList(from, Math.min(from + DELETE_BATCH_SIZE, names.size()))) {
+                // documents have canonical names like "java.util.Map.Entry"
+                query.should(QueryBuilders.matchPhraseQuery("declaringClass.canonicalName", name.replace('$', '.')));
+            }
+            client.prepareDeleteByQuery(INDEX_NAME).setTypes(type).setQuery(query).execute().actionGet();
+        }
+    }
+
+    @Override
+    public void publishGeneration(final String type) {
+        client.prepareIndex(GENERATION_INDEX_NAME, GENERATION_TYPE, GENERATION_ID)
+              .setSource("artifact", type, "completedAt", System.currentTimeMillis())
+              .execute()
+              .actionGet();
+    }
+
+    @Override
+    public void close() {
+        client.close();
+    }
+}
@@ -1,75 +1,46 @@
 package net.exoego.typefind.indexer;
 
-import java.util.ArrayList;
-import java.util.Iterator;
-import java.util.List;
 import java.util.Objects;
-import java.util.function.Function;
-import java.util.stream.Stream;
-import java.util.stream.StreamSupport;
+import java.util.function.Supplier;
 
-import com.google.gson.Gson;
-import net.exoego.typefind.definition.MethodDef;
-import org.elasticsearch.action.bulk.BulkRequestBuilder;
-import org.elasticsearch.action.bulk.BulkResponse;
-import org.elasticsearch.action.index.IndexRequestBuilder;
-import org.elasticsearch.client.Client;
-import org.elasticsearch.client.transport.TransportClient;
-import org.elasticsearch.common.transport.InetSocketTransportAddress;
-
-public class ElasticSearchIndexer implements Indexer {
+/**
+ * Indexes methods to Elasticsearch, under the name of artifact as the type of documents.
+ * <p>
+ * Methods are pushed to an {@link IndexSink} that {@link #open} returns, or pulled from the sources added to this
+ * indexer on {@link #index()}. Either way, serialization and bulk requests run on a thread of their own while methods
+ * are extracted, with at most {@value #MAX_PENDING_BULKS} bulks waiting to be sent.
+ */
+public class ElasticSearchIndexer extends AbstractIndexer {
+    public static final String INDEX_NAME = "typefind";
+    /**
+     * The document in this index is re-written every time indexing completes, so its version tells the generation of
+     * {@link #INDEX_NAME}.
+     */
+    public static final String GENERATION_INDEX_NAME = "typefind-meta";
+    public static final String GENERATION_TYPE = "generation";
+    public static final String GENERATION_ID = "current";
     private static final int BUFFER_SIZE = 1000;
-    private final List<Stream<MethodDef>> sources = new ArrayList<>();
+    private static final int MAX_PENDING_BULKS = 2;
     private final String artifactName;
+    private final Supplier<? extends BulkEndpoint> endpoint;
 
     public ElasticSearchIndexer(final String artifactName) {
-        Objects.requireNonNull(artifactName);
-        this.artifactName = artifactName;
+        this(artifactName, () -> ElasticSearchBulkEndpoint.connect("localhost", 9300));
     }
 
-    @Override
-    public long index() {
-        final InetSocketTransportAddress localhost = new InetSocketTransportAddress("localhost", 9300);
-        long successCount = 0;
-        try (final Client client = new TransportClient().addTransportAddress(localhost);) {
-            final Gson gson = new Gson();
-            final Stream<MethodDef> flatten = sources.stream().flatMap(Function.identity());
-            final Iterator<MethodDef> iterator = flatten.iterator();
-            final List<MethodDef> buffer = new ArrayList<>(BUFFER_SIZE);
-            while (iterator.hasNext()) {
-                buffer.add(iterator.next());
-                if (buffer.size() == BUFFER_SIZE) {
-                    successCount += request(client, gson, buffer);
-                    buffer.clear();
-                }
-            }
-            successCount += request(client, gson, buffer);
-        }
-        return successCount;
+    /**
+     * @param artifactName the name of artifact, used as type of the indexed documents.
+     * @param endpoint     opens the endpoint to send documents on every {@link #index()} and {@link #open}.
+     */
+    public ElasticSearchIndexer(final String artifactName, final Supplier<? extends BulkEndpoint> endpoint) {
+        Objects.requireNonNull(artifactName);
+        Objects.requireNonNull(endpoint);
+        this.artifactName = artifactName;
+        this.endpoint = endpoint;
     }
 
     @Override
-    public void addSource(final Stream<MethodDef> source) {
-        Objects.requireNonNull(source);
-        sources.add(source);
-    }
-
-    private long request(final Client client, final Gson gson, final List<MethodDef> buffer) {
-        long successCount = 0;
-        final BulkRequestBuilder bulkRequest = client.prepareBulk();
-        for (final MethodDef methodDef : buffer) {
-            final String json = gson.toJson(methodDef);
-            final IndexRequestBuilder indexBuilder = client.prepareIndex("typefind", artifactName);
-            bulkRequest.add(indexBuilder.setSource(json));
-        }
-        final BulkResponse response = bulkRequest.execute().actionGet();
-        if (response.hasFailures()) {
-            successCount += buffer.size() -
-                            StreamSupport.stream(response.spliterator(), false).filter(res -> res.isFailed()).count();
-        } else {
-            successCount += buffer.size();
-        }
-        System.out.printf("source:%s,  success:%s  %n", buffer.size(), successCount);
-        return successCount;
+    public IndexSink open(final ProgressListener listener) {
+        return new ElasticSearchSink(artifactName, endpoint.get(), listener, BUFFER_SIZE, MAX_PENDING_BULKS);
     }
 }
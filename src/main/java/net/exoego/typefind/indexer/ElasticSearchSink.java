@@ -0,0 +1,285 @@
+package net.exoego.typefind.indexer;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.google.gson.Gson;
+import net.exoego.typefind.definition.MethodDef;
+import net.exoego.typefind.metrics.BulkFlushEvent;
+import net.exoego.typefind.metrics.PipelineMetrics;
+
+/**
+ * Serializes methods and sends them in bulk on a thread of its own, while the producer goes on extracting.
+ * At most the given number of bulks wait to be sent; then {@link #accept} blocks until one is sent.
+ * <p>
+ * A failure of sending fails the next call of the producer, and the methods after it are not sent.
+ * {@link #flush()} publishes a new generation of the index once the methods are sent.
+ * <p>
+ * The progress and the summary of the artifact are counted by the sink itself and reported to the
+ * {@link ProgressListener}, so that they are not mixed up with other artifacts indexed at the same time.
+ * The process-wide {@link PipelineMetrics} are recorded as well, for the totals.
+ */
+final class ElasticSearchSink implements IndexSink {
+    private static final long PROGRESS_INTERVAL_NANOS = TimeUnit.SECONDS.toNanos(5);
+    private final String artifactName;
+    private final BulkEndpoint client;
+    private final ProgressListener listener;
+    private final int bufferSize;
+    private final Semaphore pending;
+    private final ExecutorService sender;
+    private final Gson gson = new Gson();
+    private final PipelineMetrics metrics = PipelineMetrics.get();
+    private final long start;
+    private final AtomicLong sent = new AtomicLong();
+    private final AtomicLong indexed = new AtomicLong();
+    private final AtomicLong bulkRequests = new AtomicLong();
+    private final AtomicLong bulkNanos = new AtomicLong();
+    private final AtomicLong bytesSerialized = new AtomicLong();
+    private final AtomicLong serializationNanos = new AtomicLong();
+    private List<MethodDef> buffer;
+    private volatile Throwable failure;
+    private boolean failureThrown;
+    private boolean unflushed;
+    private long lastProgress;
+    private boolean closed;
+
+    /**
+     * @param artifactName the name of artifact, used as type of the indexed documents.
+     * @param client       the endpoint to send documents, closed on {@link #close()}.
+     * @param listener     notified after each bulk request, of the progress, and of the summary on close.
+     * @param bufferSize   the number of methods sent in a bulk request.
+     * @param maxPending   the number of bulks that may wait to be sent.
+     */
+    ElasticSearchSink(final String artifactName,
+                      final BulkEndpoint client,
+                      final ProgressListener listener,
+                      final int bufferSize,
+                      final int maxPending) {
+        Objects.requireNonNull(artifactName);
+        Objects.requireNonNull(client);
+        Objects.requireNonNull(listener);
+        this.artifactName = artifactName;
+        this.client = client;
+        this.listener = listener;
+        this.bufferSize = bufferSize;
+        this.pending = new Semaphore(maxPending);
+        this.buffer = new ArrayList<>(bufferSize);
+        this.sender = Executors.newSingleThreadExecutor(task -> {
+            final Thread thread = new Thread(task, "bulk-" + artifactName);
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.start = System.nanoTime();
+        this.lastProgress = start;
+    }
+
+    @Override
+    public void accept(final MethodDef method) {
+        Objects.requireNonNull(method);
+        buffer.add(method);
+        if (buffer.size() == bufferSize) {
+            sendBuffer();
+        }
+    }
+
+    @Override
+    public void delete(final Collection<String> classNames) {
+        if (classNames.isEmpty()) {
+            return;
+        }
+        final List<String> names = new ArrayList<>(classNames);
+        sendBuffer();
+        unflushed = true;
+        submit(() -> client.delete(artifactName, names));
+    }
+
+    @Override
+    public void flush() {
+        sendBuffer();
+        if (!unflushed) {
+            rethrowFailure();
+            return;
+        }
+        unflushed = false;
+        submit(() -> client.publishGeneration(artifactName));
+        try {
+            sender.submit(() -> { }).get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("interrupted while flushing " + artifactName, e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException(e.getCause());
+        }
+        rethrowFailure();
+    }
+
+    @Override
+    public long getIndexed() {
+        return indexed.get();
+    }
+
+    @Override
+    public void close() {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        try {
+            if (failure == null) {
+                flush();
+            }
+            if (!failureThrown) {
+                // not to throw the same failure again, which try-with-resources cannot suppress
+                rethrowFailure();
+            }
+        } finally {
+            sender.shutdownNow();
+            try {
+                client.close();
+            } finally {
+                listener.onCompleted(artifactName, summary());
+            }
+        }
+    }
+
+    private void sendBuffer() {
+        if (buffer.isEmpty()) {
+            return;
+        }
+        final List<MethodDef> methods = buffer;
+        buffer = new ArrayList<>(bufferSize);
+        unflushed = true;
+        submit(() -> request(methods));
+    }
+
+    /**
+     * Runs the given task on the sender, in order, waiting while too many tasks are pending.
+     */
+    private void submit(final Runnable task) {
+        rethrowFailure();
+        try {
+            pending.acquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("interrupted while indexing " + artifactName, e);
+        }
+        sender.execute(() -> {
+            try {
+                if (failure == null) {
+                    task.run();
+                }
+            } catch (RuntimeException | Error e) {
+                failure = e;
+            } finally {
+                pending.release();
+            }
+        });
+    }
+
+    private void rethrowFailure() {
+        final Throwable cause = failure;
+        if (cause != null) {
+            failureThrown = true;
+        }
+        if (cause instanceof RuntimeException) {
+            throw (RuntimeException) cause;
+        }
+        if (cause instanceof Error) {
+            throw (Error) cause;
+        }
+    }
+
+    private void request(final List<MethodDef> buffer) {
+        final BulkFlushEvent event = new BulkFlushEvent();
+        event.begin();
+        final long serializeStart = System.nanoTime();
+        final List<String> documents = new ArrayList<>(buffer.size());
+        long bytes = 0;
+        for (final MethodDef methodDef : buffer) {
+            final String json = gson.toJson(methodDef);
+            bytes += utf8Length(json);
+            documents.add(json);
+        }
+        final long bulkStart = System.nanoTime();
+        metrics.serialized(bytes, bulkStart - serializeStart);
+        bytesSerialized.addAndGet(bytes);
+        serializationNanos.addAndGet(bulkStart - serializeStart);
+        long successCount = 0;
+        boolean completed = false;
+        try {
+            successCount = client.bulk(artifactName, documents);
+            completed = true;
+        } finally {
+            final long now = System.nanoTime();
+            metrics.bulk(artifactName, documents.size(), successCount, now - bulkStart);
+            bulkRequests.incrementAndGet();
+            bulkNanos.addAndGet(now - bulkStart);
+            sent.addAndGet(documents.size());
+            indexed.addAndGet(successCount);
+            event.end();
+            if (event.shouldCommit()) {
+                event.artifact = artifactName;
+                event.documents = documents.size();
+                event.succeeded = successCount;
+                event.bytes = bytes;
+                event.serializationNanos = bulkStart - serializeStart;
+                event.outcome = !completed ? BulkFlushEvent.FAILED
+                                           : successCount < documents.size() ? BulkFlushEvent.PARTIAL
+                                                                             : BulkFlushEvent.SUCCEEDED;
+                event.commit();
+            }
+            if (now - lastProgress >= PROGRESS_INTERVAL_NANOS) {
+                lastProgress = now;
+                listener.onProgress(artifactName, progress(now));
+            }
+        }
+        listener.onBulk(artifactName, sent.get(), indexed.get());
+    }
+
+    private String progress(final long now) {
+        final double seconds = Math.max(now - start, 1) / 1e9;
+        final long documents = indexed.get();
+        return String.format("indexed:%,d (%,.0f/s), failed:%,d, elapsed:%,.1fs",
+                             documents, documents / seconds, sent.get() - documents, seconds);
+    }
+
+    private String summary() {
+        final double seconds = Math.max(System.nanoTime() - start, 1) / 1e9;
+        final long requests = bulkRequests.get();
+        final long documents = indexed.get();
+        return String.format("bytes serialized  : %,d (%,d ms)%n" +
+                             "bulk requests     : %,d (%,.1f ms mean round trip)%n" +
+                             "documents indexed : %,d (%,d failed)%n" +
+                             "elapsed           : %,.1f s (%,.0f documents/s)",
+                             bytesSerialized.get(), TimeUnit.NANOSECONDS.toMillis(serializationNanos.get()),
+                             requests, requests == 0 ? 0 : bulkNanos.get() / 1e6 / requests,
+                             documents, sent.get() - documents,
+                             seconds, documents / seconds);
+    }
+
+    private static long utf8Length(final CharSequence chars) {
+        long length = 0;
+        for (int i = 0; i < chars.length(); i++) {
+            final char c = chars.charAt(i);
+            if (c < 0x80) {
+                length += 1;
+            } else if (c < 0x800) {
+                length += 2;
+            } else if (Character.isHighSurrogate(c)) {
+                length += 4;
+                i++;
+            } else {
+                length += 3;
+            }
+        }
+        return length;
+    }
+}
@@ -0,0 +1,265 @@
+package net.exoego.typefind.indexer;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import net.exoego.typefind.definition.MethodDef;
+
+/**
+ * Indexes the methods of one extraction pass to several indexers, like Elasticsearch and an offline snapshot.
+ * <p>
+ * Each indexer is fed on a thread of its own from a queue of its own, up to the given number of methods. So a slow
+ * indexer holds back the producer only when its queue is full, and the other indexers go on meanwhile.
+ * An indexer that fails is detached and reported, and the others go on; indexing fails only if all of them fail.
+ */
+public class FanOutIndexer extends AbstractIndexer {
+    private final Map<String, Indexer> indexers;
+    private final int bufferSize;
+
+    /**
+     * @param indexers   the indexers to write to, by names used in reports.
+     * @param bufferSize the number of methods that may wait for each indexer.
+     */
+    public FanOutIndexer(final Map<String, ? extends Indexer> indexers, final int bufferSize) {
+        Objects.requireNonNull(indexers);
+        if (indexers.isEmpty()) {
+            throw new IllegalArgumentException("no indexer to write to");
+        }
+        if (bufferSize < 1) {
+            throw new IllegalArgumentException("buffer size must be positive: " + bufferSize);
+        }
+        this.indexers = Collections.unmodifiableMap(new LinkedHashMap<>(indexers));
+        this.bufferSize = bufferSize;
+    }
+
+    @Override
+    public IndexSink open(final ProgressListener listener) {
+        final List<Branch> branches = new ArrayList<>(indexers.size());
+        try {
+            for (final Map.Entry<String, Indexer> entry : indexers.entrySet()) {
+                branches.add(new Branch(entry.getKey(), entry.getValue().open(listener), bufferSize));
+            }
+        } catch (RuntimeException e) {
+            branches.forEach(Branch::close);
+            throw e;
+        }
+        return new FanOutSink(branches);
+    }
+
+    private static final class FanOutSink implements IndexSink {
+        private final List<Branch> branches;
+        private boolean closed;
+
+        private FanOutSink(final List<Branch> branches) {
+            this.branches = branches;
+        }
+
+        @Override
+        public void accept(final MethodDef method) {
+            Objects.requireNonNull(method);
+            for (final Branch branch : branches) {
+                branch.put(method);
+            }
+        }
+
+        @Override
+        public void delete(final Collection<String> classNames) {
+            if (classNames.isEmpty()) {
+                return;
+            }
+            final Delete delete = new Delete(new ArrayList<>(classNames));
+            for (final Branch branch : branches) {
+                branch.put(delete);
+            }
+        }
+
+        @Override
+        public void flush() {
+            final List<CountDownLatch> flushed = new ArrayList<>(branches.size());
+            for (final Branch branch : branches) {
+                final CountDownLatch latch = new CountDownLatch(1);
+                branch.put(latch);
+                flushed.add(latch);
+            }
+            for (int i = 0; i < branches.size(); i++) {
+                branches.get(i).await(flushed.get(i));
+            }
+            requireAnyAlive();
+        }
+
+        /**
+         * Returns the number of methods indexed by every indexer still alive, that is the least of them.
+         */
+        @Override
+        public long getIndexed() {
+            return branches.stream()
+                           .filter(Branch::isAlive)
+                           .mapToLong(branch -> branch.sink.getIndexed())
+                           .min()
+                           .orElse(0);
+        }
+
+        @Override
+        public void close() {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            branches.forEach(Branch::close);
+            for (final Branch branch : branches) {
+                if (branch.failure != null) {
+                    System.err.printf("failed to index to %s: %s%n", branch.name, branch.failure);
+                }
+            }
+            requireAnyAlive();
+        }
+
+        private void requireAnyAlive() {
+            if (branches.stream().anyMatch(Branch::isAlive)) {
+                return;
+            }
+            final IllegalStateException e = new IllegalStateException("failed to index to all of " +
+                                                                      branches.size() + " indexers");
+            branches.forEach(branch -> e.addSuppressed(branch.failure));
+            throw e;
+        }
+    }
+
+    private static final class Delete {
+        private final List<String> classNames;
+
+        private Delete(final List<String> classNames) {
+            this.classNames = classNames;
+        }
+    }
+
+    /**
+     * Feeds a sink on a thread of its own. After a failure, it goes on taking from the queue, without feeding the
+     * sink, so that the producer is never blocked by a detached sink. Should the thread die anyway, the producer
+     * stops waiting for it within {@link #LIVENESS_CHECK_MILLIS}.
+     */
+    private static final class Branch implements Runnable {
+        private static final Object CLOSE = new Object();
+        private static final long LIVENESS_CHECK_MILLIS = 100;
+        private final String name;
+        private final IndexSink sink;
+        private final BlockingQueue<Object> queue;
+        private final Thread thread;
+        private volatile Throwable failure;
+
+        private Branch(final String name, final IndexSink sink, final int bufferSize) {
+            this.name = name;
+            this.sink = sink;
+            this.queue = new ArrayBlockingQueue<>(bufferSize);
+            this.thread = new Thread(this, "fan-out-" + name);
+            this.thread.setDaemon(true);
+            this.thread.start();
+        }
+
+        private boolean isAlive() {
+            return failure == null;
+        }
+
+        private void put(final Object operation) {
+            if (failure != null && (operation instanceof MethodDef || operation instanceof Delete)) {
+                return;
+            }
+            try {
+                while (!queue.offer(operation, LIVENESS_CHECK_MILLIS, TimeUnit.MILLISECONDS)) {
+                    if (!thread.isAlive()) {
+                        stopped();
+                        return;
+                    }
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("interrupted while indexing to " + name, e);
+            }
+        }
+
+        /**
+         * Waits for the given latch put to the queue, or for the thread to die.
+         */
+        private void await(final CountDownLatch latch) {
+            try {
+                while (!latch.await(LIVENESS_CHECK_MILLIS, TimeUnit.MILLISECONDS)) {
+                    if (!thread.isAlive()) {
+                        stopped();
+                        return;
+                    }
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("interrupted while indexing to " + name, e);
+            }
+        }
+
+        private void stopped() {
+            if (failure == null) {
+                failure = new IllegalStateException("indexing to " + name + " stopped");
+            }
+        }
+
+        private void close() {
+            put(CLOSE);
+            try {
+                thread.join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("interrupted while closing " + name, e);
+            }
+        }
+
+        @Override
+        public void run() {
+            try {
+                while (true) {
+                    final Object operation = queue.take();
+                    if (operation == CLOSE) {
+                        break;
+                    }
+                    try {
+                        if (failure == null) {
+                            apply(operation);
+                        }
+                    } catch (Throwable e) {
+                        failure = e;
+                    } finally {
+                        if (operation instanceof CountDownLatch) {
+                            ((CountDownLatch) operation).countDown();
+                        }
+                    }
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } finally {
+                try {
+                    sink.close();
+                } catch (Throwable e) {
+                    if (failure == null) {
+                        failure = e;
+                    }
+                }
+            }
+        }
+
+        private void apply(final Object operation) {
+            if (operation instanceof MethodDef) {
+                sink.accept((MethodDef) operation);
+            } else if (operation instanceof Delete) {
+                sink.delete(((Delete) operation).classNames);
+            } else if (operation instanceof CountDownLatch) {
+                sink.flush();
+            }
+        }
+    }
+}
@@ -0,0 +1,47 @@
+package net.exoego.typefind.indexer;
+
+import java.util.Collection;
+
+import net.exoego.typefind.definition.MethodDef;
+
+/**
+ * Receives methods to be indexed one by one, as soon as they are extracted, so that extraction and indexing run
+ * concurrently. A sink may block {@link #accept} while it is behind, which slows down the producer instead of
+ * buffering without bound.
+ * <p>
+ * Deletes and methods are applied in the order they are given. A sink must be closed, which flushes it and releases
+ * its connections and threads.
+ */
+public interface IndexSink extends AutoCloseable {
+    /**
+     * Adds the given method to the index, possibly after buffering it.
+     *
+     * @param method the method to be indexed.
+     */
+    void accept(MethodDef method);
+
+    /**
+     * Removes the methods declared by the given classes from the index, after the methods accepted so far.
+     *
+     * @param classNames the binary names of classes, like "java.util.Map$Entry".
+     */
+    void delete(Collection<String> classNames);
+
+    /**
+     * Sends the buffered methods and waits for them to be indexed, so that they are visible to searches.
+     */
+    void flush();
+
+    /**
+     * Returns the number of methods indexed successfully so far. Exact after {@link #flush()}.
+     *
+     * @return the number of methods indexed successfully.
+     */
+    long getIndexed();
+
+    /**
+     * Flushes this sink and releases its resources.
+     */
+    @Override
+    void close();
+}
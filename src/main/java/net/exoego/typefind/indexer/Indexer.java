@@ -1,5 +1,6 @@
 package net.exoego.typefind.indexer;
 
+import java.util.Collection;
 import java.util.stream.Stream;
 
 import net.exoego.typefind.definition.MethodDef;
@@ -8,4 +9,20 @@ public interface Indexer {
     long index();
 
     void addSource(Stream<MethodDef> from);
+
+    /**
+     * Removes the methods declared by the given classes from the index on the next {@link #index()}, before the
+     * methods of the sources are added. So the classes changed since the last indexing can be replaced.
+     *
+     * @param classNames the binary names of classes, like "java.util.Map$Entry".
+     */
+    void delete(Collection<String> classNames);
+
+    /**
+     * Opens a sink to push methods to, independently of the sources added to this indexer.
+     *
+     * @param listener notified of the progress of the sink.
+     * @return a new sink, which must be closed.
+     */
+    IndexSink open(ProgressListener listener);
 }
@@ -0,0 +1,40 @@
+package net.exoego.typefind.indexer;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Predicate;
+import java.util.stream.Stream;
+
+import net.exoego.typefind.definition.MethodDef;
+import net.exoego.typefind.definition.MethodModifier;
+import net.exoego.typefind.definition.TypeDef;
+
+/**
+ * Shared by the indexers and the command line entry points: which methods are indexed, the {@link MethodExtractor}
+ * that extracts them, and how settings are read from environment variables.
+ */
+public final class Indexing {
+    static final Predicate<MethodDef> IS_PUBLIC_METHOD = method -> method.getModifiers()
+                                                                         .contains(MethodModifier.AccessLevel.PUBLIC);
+    /**
+     * Extracts methods on the common pool, shared by all indexers of the process so that they do not compete with
+     * pools of their own.
+     */
+    static final MethodExtractor EXTRACTOR = new MethodExtractor(ForkJoinPool.commonPool());
+
+    private Indexing() { }
+
+    /**
+     * Returns the public methods of the public classes, in the order of {@link MethodExtractor}.
+     */
+    static Stream<MethodDef> publicMethods(final Stream<? extends Class<?>> classes) {
+        return EXTRACTOR.extract(classes.filter(TypeDef::isPublic), IS_PUBLIC_METHOD);
+    }
+
+    /**
+     * Returns the value of the environment variable, or the default value if it is not set or empty.
+     */
+    public static String getenv(final String name, final String defaultValue) {
+        final String value = System.getenv(name);
+        return value == null || value.isEmpty() ? defaultValue : value;
+    }
+}
@@ -0,0 +1,117 @@
+package net.exoego.typefind.indexer;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+import net.exoego.typefind.definition.MethodDef;
+
+/**
+ * Extracts the methods of classes on a fork-join pool, using every core for reflection, and emits them in a
+ * deterministic order: classes by name, then methods of each class as {@link MethodDef#allMethods} orders them.
+ * So the same classes are always indexed in the same order, whatever the order of the source and the timing of
+ * threads.
+ * <p>
+ * Classes are extracted in batches, and only a few batches per thread of the pool run ahead of the consumer, so a
+ * slow consumer does not make the extracted methods pile up.
+ */
+public final class MethodExtractor {
+    private static final int BATCH_SIZE = 16;
+    private static final int BATCHES_AHEAD_PER_THREAD = 2;
+    private final ForkJoinPool pool;
+
+    /**
+     * @param pool the pool to extract methods on.
+     */
+    public MethodExtractor(final ForkJoinPool pool) {
+        Objects.requireNonNull(pool);
+        this.pool = pool;
+    }
+
+    /**
+     * Returns the methods of the given classes that match the given filter. The classes are read, and sorted by name,
+     * when the first method is requested. The returned stream closes the given classes.
+     *
+     * @param classes the classes to extract methods from.
+     * @param filter  selects the methods, tested on the pool.
+     * @return the methods in the order of classes by name.
+     */
+    public Stream<MethodDef> extract(final Stream<? extends Class<?>> classes,
+                                     final Predicate<? super MethodDef> filter) {
+        Objects.requireNonNull(classes);
+        Objects.requireNonNull(filter);
+        final Deque<ForkJoinTask<List<MethodDef>>> running = new ArrayDeque<>();
+        final Stream<List<MethodDef>> batches = Stream.generate(() -> sortedBatches(classes))
+                                                      .limit(1)
+                                                      .flatMap(sorted -> StreamSupport.stream(
+                                                              Spliterators.spliteratorUnknownSize(
+                                                                      new InOrder(sorted, filter, running),
+                                                                      Spliterator.ORDERED | Spliterator.NONNULL),
+                                                              false));
+        return batches.flatMap(List::stream).onClose(() -> {
+            running.forEach(task -> task.cancel(false));
+            classes.close();
+        });
+    }
+
+    private static List<List<Class<?>>> sortedBatches(final Stream<? extends Class<?>> classes) {
+        final List<Class<?>> sorted = classes.sorted(Comparator.comparing(Class::getName))
+                                             .collect(Collectors.toList());
+        final List<List<Class<?>>> batches = new ArrayList<>(sorted.size() / BATCH_SIZE + 1);
+        for (int from = 0; from < sorted.size(); from += BATCH_SIZE) {
+            batches.add(sorted.subList(from, Math.min(from + BATCH_SIZE, sorted.size())));
+        }
+        return batches;
+    }
+
+    /**
+     * Returns the methods of batches in order, while the following batches are extracted on the pool.
+     */
+    private final class InOrder implements Iterator<List<MethodDef>> {
+        private final Iterator<List<Class<?>>> pending;
+        private final Predicate<? super MethodDef> filter;
+        private final Deque<ForkJoinTask<List<MethodDef>>> running;
+        private final int ahead = pool.getParallelism() * BATCHES_AHEAD_PER_THREAD;
+
+        private InOrder(final List<List<Class<?>>> batches,
+                        final Predicate<? super MethodDef> filter,
+                        final Deque<ForkJoinTask<List<MethodDef>>> running) {
+            this.pending = batches.iterator();
+            this.filter = filter;
+            this.running = running;
+        }
+
+        @Override
+        public boolean hasNext() {
+            while (running.size() < ahead && pending.hasNext()) {
+                final List<Class<?>> batch = pending.next();
+                running.addLast(pool.submit(() -> batch.stream()
+                                                      .flatMap(MethodDef::allMethods)
+                                                      .filter(filter)
+                                                      .collect(Collectors.toList())));
+            }
+            return !running.isEmpty();
+        }
+
+        @Override
+        public List<MethodDef> next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            return running.removeFirst().join();
+        }
+    }
+}
@@ -0,0 +1,58 @@
+package net.exoego.typefind.indexer;
+
+/**
+ * Notified of the progress of an {@link IndexSink}, on the thread sending requests, except
+ * {@link #onCompleted} which is called on the thread closing the sink. Must not block.
+ */
+@FunctionalInterface
+public interface ProgressListener {
+    /**
+     * Ignores progress.
+     */
+    ProgressListener NONE = (artifact, sent, indexed) -> { };
+    /**
+     * Prints the periodic progress and the summary of each artifact to the standard output.
+     */
+    ProgressListener CONSOLE = new ProgressListener() {
+        @Override
+        public void onBulk(final String artifact, final long sent, final long indexed) {
+        }
+
+        @Override
+        public void onProgress(final String artifact, final String progress) {
+            System.out.printf("artifact:%s, %s%n", artifact, progress);
+        }
+
+        @Override
+        public void onCompleted(final String artifact, final String summary) {
+            System.out.printf("artifact:%s%n%s%n", artifact, summary);
+        }
+    };
+
+    /**
+     * Called after each bulk request.
+     *
+     * @param artifact the name of artifact being indexed.
+     * @param sent     the number of methods sent so far.
+     * @param indexed  the number of methods indexed successfully so far.
+     */
+    void onBulk(String artifact, long sent, long indexed);
+
+    /**
+     * Called every few seconds while the artifact is being indexed.
+     *
+     * @param artifact the name of artifact being indexed.
+     * @param progress one line of what the sink of the artifact has done so far.
+     */
+    default void onProgress(String artifact, String progress) {
+    }
+
+    /**
+     * Called once the sink of the artifact is closed, whether it succeeded or not.
+     *
+     * @param artifact the name of artifact indexed.
+     * @param summary  a multi-line summary of what the sink of the artifact has done.
+     */
+    default void onCompleted(String artifact, String summary) {
+    }
+}
@@ -0,0 +1,143 @@
+package net.exoego.typefind.indexer;
+
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeMap;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import net.exoego.typefind.definition.MethodDef;
+import net.exoego.typefind.metrics.PipelineMetrics;
+import net.exoego.typefind.reader.ClassEntryFilter;
+import net.exoego.typefind.reader.ClassStream;
+import net.exoego.typefind.reader.maven.Gav;
+import net.exoego.typefind.reader.maven.MavenArtifact;
+import net.exoego.typefind.reader.maven.MavenRepository;
+
+/**
+ * Indexes all artifacts of a {@link MavenRepository} concurrently, one task per artifact on a work-stealing pool.
+ * Each artifact is loaded through its own class loader over its locally resolved dependencies, and indexed under its
+ * groupId:artifactId:version. Methods are extracted by a {@link MethodExtractor} on the common pool.
+ * A failure of an artifact is reported and does not stop the others.
+ */
+public class RepositoryIndexer {
+    private final MavenRepository repository;
+    private final Predicate<? super Gav> artifacts;
+    private final ClassEntryFilter filter;
+    private final Function<String, ? extends Indexer> indexers;
+    private final int parallelism;
+
+    /**
+     * @param repository  the repository to crawl.
+     * @param artifacts   selects the artifacts to be indexed.
+     * @param filter      selects the classes to be indexed in each artifact.
+     * @param indexers    creates an indexer for the given label, groupId:artifactId:version.
+     * @param parallelism the number of artifacts indexed at the same time.
+     */
+    public RepositoryIndexer(final MavenRepository repository,
+                             final Predicate<? super Gav> artifacts,
+                             final ClassEntryFilter filter,
+                             final Function<String, ? extends Indexer> indexers,
+                             final int parallelism) {
+        Objects.requireNonNull(repository);
+        Objects.requireNonNull(artifacts);
+        Objects.requireNonNull(filter);
+        Objects.requireNonNull(indexers);
+        if (parallelism < 1) {
+            throw new IllegalArgumentException("parallelism must be positive: " + parallelism);
+        }
+        this.repository = repository;
+        this.artifacts = artifacts;
+        this.filter = filter;
+        this.indexers = indexers;
+        this.parallelism = parallelism;
+    }
+
+    /**
+     * Indexes the selected artifacts, and waits for all of them.
+     *
+     * @return the number of indexed methods per artifact, excluding the failed artifacts.
+     */
+    public Map<Gav, Long> index() {
+        final List<MavenArtifact> found = repository.artifacts()
+                                                    .filter(a -> artifacts.test(a.getGav()))
+                                                    .collect(Collectors.toList());
+        final List<Callable<Long>> tasks = new ArrayList<>(found.size());
+        for (final MavenArtifact artifact : found) {
+            tasks.add(() -> index(artifact));
+        }
+        final ExecutorService pool = Executors.newWorkStealingPool(parallelism);
+        try {
+            final List<Future<Long>> results = pool.invokeAll(tasks);
+            final Map<Gav, Long> indexed = new TreeMap<>();
+            for (int i = 0; i < results.size(); i++) {
+                final Gav gav = found.get(i).getGav();
+                try {
+                    indexed.put(gav, results.get(i).get());
+                } catch (ExecutionException e) {
+                    System.err.printf("failed to index %s: %s%n", gav, e.getCause());
+                }
+            }
+            return Collections.unmodifiableMap(indexed);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("interrupted while indexing " + repository, e);
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    private long index(final MavenArtifact artifact) {
+        final Indexer indexer = indexers.apply(artifact.getGav().toString());
+        try (final IndexSink sink = indexer.open(ProgressListener.CONSOLE);
+             final Stream<MethodDef> methods = Indexing.publicMethods(ClassStream.isolated(
+                     Collections.singletonList(artifact.getJar()), artifact.classpath(), filter))) {
+            methods.forEachOrdered(sink::accept);
+            sink.flush();
+            return sink.getIndexed();
+        }
+    }
+
+    /**
+     * Indexes a local Maven repository to Elasticsearch.
+     * The arguments are the repository directory, {@code ~/.m2/repository} by default, and optionally prefixes of
+     * groupIds to be indexed.
+     */
+    public static void main(String[] args) {
+        final MavenRepository repository = args.length > 0 ? new MavenRepository(Paths.get(args[0]))
+                                                           : MavenRepository.local();
+        final List<String> groups = args.length > 1
+                                    ? Arrays.asList(args).subList(1, args.length)
+                                    : Collections.<String>emptyList();
+        final Predicate<Gav> selected = gav -> groups.isEmpty() ||
+                                               groups.stream().anyMatch(g -> gav.getGroupId().startsWith(g));
+        final String host = Indexing.getenv("ELASTICSEARCH_HOST", "localhost");
+        final int port = Integer.valueOf(Indexing.getenv("ELASTICSEARCH_PORT", "9300"));
+        final String processors = String.valueOf(Runtime.getRuntime().availableProcessors());
+        final int parallelism = Integer.valueOf(Indexing.getenv("INDEXING_PARALLELISM", processors));
+        final PipelineMetrics.Snapshot start = PipelineMetrics.get().snapshot();
+        try (final BulkEndpoint endpoint = ElasticSearchBulkEndpoint.connect(host, port)) {
+            final RepositoryIndexer indexer = new RepositoryIndexer(
+                    repository, selected, ClassEntryFilter.ALL,
+                    label -> new ElasticSearchIndexer(label, () -> new SharedEndpoint(endpoint)),
+                    parallelism);
+            final Map<Gav, Long> indexed = indexer.index();
+            indexed.forEach((gav, count) -> System.out.printf("%s: %,d%n", gav, count));
+            System.out.printf("artifacts:%,d, methods:%,d%n",
+                              indexed.size(), indexed.values().stream().mapToLong(Long::longValue).sum());
+            System.out.printf("total%n%s%n", PipelineMetrics.get().snapshot().since(start));
+        }
+    }
+}
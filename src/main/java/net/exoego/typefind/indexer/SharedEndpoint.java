@@ -0,0 +1,34 @@
+package net.exoego.typefind.indexer;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Shares one connection among many indexers, closed only after all of them.
+ */
+final class SharedEndpoint implements BulkEndpoint {
+    private final BulkEndpoint delegate;
+
+    SharedEndpoint(final BulkEndpoint delegate) {
+        this.delegate = delegate;
+    }
+
+    @Override
+    public long bulk(final String type, final List<String> documents) {
+        return delegate.bulk(type, documents);
+    }
+
+    @Override
+    public void delete(final String type, final Collection<String> classNames) {
+        delegate.delete(type, classNames);
+    }
+
+    @Override
+    public void publishGeneration(final String type) {
+        delegate.publishGeneration(type);
+    }
+
+    @Override
+    public void close() {
+    }
+}
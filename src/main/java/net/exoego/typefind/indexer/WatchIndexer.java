@@ -0,0 +1,385 @@
+package net.exoego.typefind.indexer;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.jar.JarEntry;
+import java.util.jar.JarFile;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import net.exoego.typefind.definition.MethodDef;
+import net.exoego.typefind.reader.ClassEntryFilter;
+import net.exoego.typefind.reader.ClassStream;
+
+/**
+ * Keeps the index up to date with directories of jars and directories of class files, like {@code target/classes},
+ * watching them with a {@link WatchService}.
+ * <p>
+ * Changes are collected until no change happens for the debounce interval, so a build writing many files is indexed
+ * once it finishes. Then only the changed jars and the changed class files are extracted again, and sent to a new
+ * indexer per jar or class directory as a small batch: the methods of the changed classes are deleted, and the
+ * methods of the classes still present are added. If the watch service loses events, all the files are indexed again.
+ * <p>
+ * The first indexing replaces the classes of the files as they are, so methods indexed by a previous run are not
+ * duplicated on restart. Classes removed while not watching remain in the index.
+ * <p>
+ * A jar is indexed under its file name without ".jar", and a class directory under its path as given.
+ */
+public class WatchIndexer implements AutoCloseable {
+    private static final String JAR_EXTENSION = ".jar";
+    private static final String CLASS_EXTENSION = ".class";
+    private final List<Path> jarDirectories;
+    private final Map<Path, String> classDirectories = new LinkedHashMap<>();
+    private final List<Path> classpath;
+    private final ClassEntryFilter filter;
+    private final Function<String, ? extends Indexer> indexers;
+    private final long debounceMillis;
+    private final WatchService watcher;
+    private final Map<WatchKey, Path> keys = new HashMap<>();
+    /**
+     * The binary names of the classes indexed per jar, to be deleted when the jar changes.
+     */
+    private final Map<Path, Set<String>> jarClasses = new HashMap<>();
+
+    /**
+     * @param jarDirectories   the directories of jars to be watched, including their subdirectories.
+     * @param classDirectories the directories of class files to be watched.
+     * @param classpath        the jar files or directories the watched classes depend on, whose classes are not
+     *                         indexed.
+     * @param filter           selects the classes to be indexed.
+     * @param indexers         creates an indexer for the given label, for each batch of changes.
+     * @param debounceMillis   how long no change must happen before the collected changes are indexed.
+     */
+    public WatchIndexer(final Collection<Path> jarDirectories,
+                        final Collection<Path> classDirectories,
+                        final Collection<Path> classpath,
+                        final ClassEntryFilter filter,
+                        final Function<String, ? extends Indexer> indexers,
+                        final long debounceMillis) {
+        Objects.requireNonNull(filter);
+        Objects.requireNonNull(indexers);
+        if (debounceMillis < 0) {
+            throw new IllegalArgumentException("debounce must not be negative: " + debounceMillis);
+        }
+        this.jarDirectories = jarDirectories.stream().map(WatchIndexer::normalize).collect(Collectors.toList());
+        for (final Path directory : classDirectories) {
+            this.classDirectories.put(normalize(directory), directory.toString());
+        }
+        this.classpath = new ArrayList<>(classpath);
+        this.filter = filter;
+        this.indexers = indexers;
+        this.debounceMillis = debounceMillis;
+        try {
+            this.watcher = FileSystems.getDefault().newWatchService();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static Path normalize(final Path path) {
+        return path.toAbsolutePath().normalize();
+    }
+
+    /**
+     * Indexes all the files in the watched directories, then indexes changes until {@link #close()}.
+     *
+     * @throws InterruptedException if interrupted while waiting for changes.
+     */
+    public void run() throws InterruptedException {
+        try {
+            for (final Path root : roots()) {
+                register(root);
+            }
+            indexAll();
+            while (true) {
+                final Set<Path> changed = new TreeSet<>();
+                boolean overflow = collect(watcher.take(), changed);
+                for (WatchKey key = watcher.poll(debounceMillis, TimeUnit.MILLISECONDS);
+                     key != null;
+                     key = watcher.poll(debounceMillis, TimeUnit.MILLISECONDS)) {
+                    overflow |= collect(key, changed);
+                }
+                if (overflow) {
+                    indexAll();
+                } else {
+                    index(changed);
+                }
+            }
+        } catch (ClosedWatchServiceException e) {
+            // closed
+        }
+    }
+
+    @Override
+    public void close() {
+        try {
+            watcher.close();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private List<Path> roots() {
+        final List<Path> roots = new ArrayList<>(jarDirectories);
+        roots.addAll(classDirectories.keySet());
+        return roots;
+    }
+
+    private void register(final Path root) {
+        try {
+            Files.walkFileTree(root, new SimpleFileVisitor<Path>() {
+                @Override
+                public FileVisitResult preVisitDirectory(final Path dir, final BasicFileAttributes attrs)
+                        throws IOException {
+                    keys.put(dir.register(watcher,
+                                          StandardWatchEventKinds.ENTRY_CREATE,
+                                          StandardWatchEventKinds.ENTRY_DELETE,
+                                          StandardWatchEventKinds.ENTRY_MODIFY), dir);
+                    return FileVisitResult.CONTINUE;
+                }
+            });
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Adds the paths changed in the directory of the given key.
+     *
+     * @return {@code true} if events have been lost.
+     */
+    private boolean collect(final WatchKey key, final Set<Path> changed) {
+        final Path directory = keys.get(key);
+        boolean overflow = false;
+        for (final WatchEvent<?> event : key.pollEvents()) {
+            if (event.kind() == StandardWatchEventKinds.OVERFLOW || directory == null) {
+                overflow = true;
+                continue;
+            }
+            final Path path = directory.resolve((Path) event.context());
+            if (event.kind() == StandardWatchEventKinds.ENTRY_CREATE && Files.isDirectory(path)) {
+                // files may be created in the directory before it is registered
+                register(path);
+                changed.addAll(files(path));
+            } else {
+                changed.add(path);
+            }
+        }
+        if (!key.reset()) {
+            keys.remove(key);
+        }
+        return overflow;
+    }
+
+    private void indexAll() {
+        final Set<Path> jars = new TreeSet<>(jarClasses.keySet());
+        for (final Path directory : jarDirectories) {
+            jars.addAll(files(directory));
+        }
+        final Set<Path> all = new TreeSet<>(jars);
+        for (final Path directory : classDirectories.keySet()) {
+            all.addAll(files(directory));
+        }
+        index(all);
+    }
+
+    private void index(final Set<Path> changed) {
+        final Set<Path> jars = new TreeSet<>();
+        final Map<Path, Set<String>> classes = new TreeMap<>();
+        for (final Path path : changed) {
+            final String fileName = path.getFileName().toString();
+            if (fileName.endsWith(JAR_EXTENSION) && rootOf(jarDirectories, path) != null) {
+                jars.add(path);
+            } else if (fileName.endsWith(CLASS_EXTENSION)) {
+                final Path root = rootOf(classDirectories.keySet(), path);
+                if (root != null) {
+                    classes.computeIfAbsent(root, r -> new TreeSet<>()).add(toEntryName(root.relativize(path)));
+                }
+            }
+        }
+        for (final Path jar : jars) {
+            try {
+                indexJar(jar);
+            } catch (RuntimeException | LinkageError e) {
+                System.err.printf("failed to index %s: %s%n", jar, e);
+            }
+        }
+        classes.forEach((root, entries) -> {
+            try {
+                indexClasses(root, entries);
+            } catch (RuntimeException | LinkageError e) {
+                System.err.printf("failed to index %s: %s%n", root, e);
+            }
+        });
+    }
+
+    private void indexJar(final Path jar) {
+        final String fileName = jar.getFileName().toString();
+        final Indexer indexer = indexers.apply(fileName.substring(0, fileName.length() - JAR_EXTENSION.length()));
+        // a jar not indexed yet by this instance may have been indexed by a previous run
+        final Set<String> previous = jarClasses.containsKey(jar) ? jarClasses.get(jar) : classNames(jar);
+        final Set<String> current = new HashSet<>();
+        boolean indexed = false;
+        try {
+            indexer.delete(previous);
+            if (Files.isRegularFile(jar)) {
+                final List<Path> dependencies = jarDirectories.stream()
+                                                              .flatMap(d -> files(d).stream())
+                                                              .filter(p -> p.toString().endsWith(JAR_EXTENSION))
+                                                              .filter(p -> !p.equals(jar))
+                                                              .collect(Collectors.toList());
+                dependencies.addAll(classDirectories.keySet());
+                dependencies.addAll(classpath);
+                try (final ClassStream classes = ClassStream.isolated(Collections.singletonList(jar),
+                                                                      dependencies,
+                                                                      filter)) {
+                    indexer.addSource(methods(classes.peek(k -> current.add(k.getName()))));
+                    indexer.index();
+                }
+            } else {
+                indexer.index();
+            }
+            indexed = true;
+        } finally {
+            if (!indexed) {
+                // the previous classes may be still in the index
+                current.addAll(previous);
+            }
+            if (current.isEmpty()) {
+                jarClasses.remove(jar);
+            } else {
+                jarClasses.put(jar, current);
+            }
+        }
+    }
+
+    private static Set<String> classNames(final Path jar) {
+        if (!Files.isRegularFile(jar)) {
+            return Collections.emptySet();
+        }
+        try (final JarFile file = new JarFile(jar.toFile())) {
+            return file.stream()
+                       .map(JarEntry::getName)
+                       .filter(name -> name.endsWith(CLASS_EXTENSION) && !name.startsWith("META-INF/"))
+                       .map(WatchIndexer::toClassName)
+                       .collect(Collectors.toCollection(HashSet::new));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private void indexClasses(final Path root, final Set<String> entries) {
+        final Indexer indexer = indexers.apply(classDirectories.get(root));
+        indexer.delete(entries.stream().map(WatchIndexer::toClassName).collect(Collectors.toList()));
+        final List<String> present = entries.stream()
+                                            .filter(entry -> Files.isRegularFile(root.resolve(entry)))
+                                            .collect(Collectors.toList());
+        if (present.isEmpty()) {
+            indexer.index();
+            return;
+        }
+        final List<Path> dependencies = new ArrayList<>(classDirectories.keySet());
+        dependencies.remove(root);
+        for (final Path directory : jarDirectories) {
+            files(directory).stream().filter(p -> p.toString().endsWith(JAR_EXTENSION)).forEach(dependencies::add);
+        }
+        dependencies.addAll(classpath);
+        try (final ClassStream classes = ClassStream.fromDirectory(root, dependencies, filter.andEntries(present))) {
+            indexer.addSource(methods(classes));
+            indexer.index();
+        }
+    }
+
+    private static Stream<MethodDef> methods(final Stream<Class<?>> classes) {
+        return Indexing.publicMethods(classes);
+    }
+
+    private static Path rootOf(final Collection<Path> roots, final Path path) {
+        for (final Path root : roots) {
+            if (path.startsWith(root)) {
+                return root;
+            }
+        }
+        return null;
+    }
+
+    private static List<Path> files(final Path directory) {
+        if (!Files.isDirectory(directory)) {
+            return Collections.emptyList();
+        }
+        try (final Stream<Path> walk = Files.walk(directory)) {
+            return walk.filter(Files::isRegularFile).collect(Collectors.toList());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static String toEntryName(final Path relative) {
+        final StringBuilder name = new StringBuilder();
+        for (final Path element : relative) {
+            if (name.length() > 0) {
+                name.append('/');
+            }
+            name.append(element);
+        }
+        return name.toString();
+    }
+
+    private static String toClassName(final String entryName) {
+        // path/to/Hoge.class -> path.to.Hoge
+        return entryName.substring(0, entryName.length() - CLASS_EXTENSION.length()).replace('/', '.');
+    }
+
+    /**
+     * Watches directories and keeps Elasticsearch up to date with them.
+     * The arguments are directories of jars, or directories of class files prefixed with "classes:", like
+     * {@code classes:target/classes}.
+     */
+    public static void main(String[] args) throws InterruptedException {
+        final List<Path> jarDirectories = new ArrayList<>();
+        final List<Path> classDirectories = new ArrayList<>();
+        for (final String arg : args) {
+            if (arg.startsWith("classes:")) {
+                classDirectories.add(Paths.get(arg.substring("classes:".length())));
+            } else {
+                jarDirectories.add(Paths.get(arg));
+            }
+        }
+        final String host = Indexing.getenv("ELASTICSEARCH_HOST", "localhost");
+        final int port = Integer.valueOf(Indexing.getenv("ELASTICSEARCH_PORT", "9300"));
+        final long debounceMillis = Long.valueOf(Indexing.getenv("WATCH_DEBOUNCE_MILLIS", "1000"));
+        try (final BulkEndpoint endpoint = ElasticSearchBulkEndpoint.connect(host, port);
+             final WatchIndexer indexer = new WatchIndexer(
+                     jarDirectories, classDirectories, Collections.<Path>emptyList(), ClassEntryFilter.ALL,
+                     label -> new ElasticSearchIndexer(label, () -> new SharedEndpoint(endpoint)),
+                     debounceMillis)) {
+            indexer.run();
+        }
+    }
+}
@@ -0,0 +1,44 @@
+package net.exoego.typefind.metrics;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+/**
+ * Serializing a buffer of methods and sending it to the search engine in bulk.
+ * The duration covers both; {@link #serializationNanos} tells the share of serialization.
+ */
+@Name("net.exoego.typefind.BulkFlush")
+@Label("Bulk Flush")
+@Category({"FindByType", "Indexer"})
+@Description("Serializing and sending a bulk request of methods")
+@StackTrace(false)
+public final class BulkFlushEvent extends jdk.jfr.Event {
+    public static final String SUCCEEDED = "succeeded";
+    public static final String PARTIAL = "partial";
+    public static final String FAILED = "failed";
+
+    @Label("Artifact")
+    public String artifact;
+
+    @Label("Documents")
+    public int documents;
+
+    @Label("Succeeded Documents")
+    public long succeeded;
+
+    @Label("Serialized Bytes")
+    @DataAmount
+    public long bytes;
+
+    @Label("Serialization Time")
+    @Timespan(Timespan.NANOSECONDS)
+    public long serializationNanos;
+
+    @Label("Outcome")
+    public String outcome;
+}
@@ -0,0 +1,29 @@
+package net.exoego.typefind.metrics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Threshold;
+
+/**
+ * Loading a class found in an artifact, without initializing it.
+ */
+@Name("net.exoego.typefind.ClassLoad")
+@Label("Class Load")
+@Category({"FindByType", "Reader"})
+@Description("Loading a class of an artifact to be indexed")
+@StackTrace(false)
+@Threshold("1 ms")
+public final class ClassLoadEvent extends jdk.jfr.Event {
+    public static final String LOADED = "loaded";
+    public static final String NOT_FOUND = "not found";
+    public static final String NO_CLASS_DEF = "no class def";
+
+    @Label("Class Name")
+    public String className;
+
+    @Label("Outcome")
+    public String outcome;
+}
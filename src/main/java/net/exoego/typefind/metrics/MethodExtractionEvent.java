@@ -0,0 +1,34 @@
+package net.exoego.typefind.metrics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Threshold;
+
+/**
+ * Extracting all indexable methods of a class.
+ */
+@Name("net.exoego.typefind.MethodExtraction")
+@Label("Method Extraction")
+@Category({"FindByType", "Definition"})
+@Description("Reflecting on the declared methods of a class")
+@StackTrace(false)
+@Threshold("1 ms")
+public final class MethodExtractionEvent extends jdk.jfr.Event {
+    public static final String EXTRACTED = "extracted";
+    public static final String NO_CLASS_DEF = "no class def";
+
+    @Label("Class Name")
+    public String className;
+
+    @Label("Methods")
+    public int methods;
+
+    @Label("Filtered Methods")
+    public int filtered;
+
+    @Label("Outcome")
+    public String outcome;
+}
@@ -0,0 +1,31 @@
+package net.exoego.typefind.metrics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Threshold;
+
+/**
+ * Building the definition of a single method from its generic signature.
+ */
+@Name("net.exoego.typefind.MethodReflection")
+@Label("Method Reflection")
+@Category({"FindByType", "Definition"})
+@Description("Resolving generic parameter, return and exception types of a method")
+@StackTrace(false)
+@Threshold("1 ms")
+public final class MethodReflectionEvent extends jdk.jfr.Event {
+    public static final String DEFINED = "defined";
+    public static final String FAILED = "failed";
+
+    @Label("Class Name")
+    public String className;
+
+    @Label("Method Name")
+    public String methodName;
+
+    @Label("Outcome")
+    public String outcome;
+}
@@ -0,0 +1,295 @@
+package net.exoego.typefind.metrics;
+
+import java.lang.management.ManagementFactory;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+import javax.management.JMException;
+import javax.management.ObjectName;
+
+/**
+ * Records what the indexing pipeline does, stage by stage: reading classes, extracting methods, serializing them and
+ * sending them in bulk. Recording costs a few uncontended additions, so it is always on.
+ */
+public final class PipelineMetrics implements PipelineMetricsMXBean {
+    public static final String OBJECT_NAME = "net.exoego.typefind:type=PipelineMetrics";
+    private static final PipelineMetrics INSTANCE = register(new PipelineMetrics());
+    private final LongAdder classesRead = new LongAdder();
+    private final LongAdder classesSkipped = new LongAdder();
+    private final LongAdder classLoadingNanos = new LongAdder();
+    private final LongAdder methodsExtracted = new LongAdder();
+    private final LongAdder methodsFiltered = new LongAdder();
+    private final LongAdder extractionNanos = new LongAdder();
+    private final LongAdder bytesSerialized = new LongAdder();
+    private final LongAdder serializationNanos = new LongAdder();
+    private final LongAdder bulkRequests = new LongAdder();
+    private final LongAdder bulkNanos = new LongAdder();
+    private final LongAccumulator bulkMaxNanos = new LongAccumulator(Math::max, 0L);
+    private final LongAdder documentsIndexed = new LongAdder();
+    private final Map<String, LongAdder> failures = new ConcurrentHashMap<>();
+
+    PipelineMetrics() { }
+
+    public static PipelineMetrics get() {
+        return INSTANCE;
+    }
+
+    private static PipelineMetrics register(final PipelineMetrics metrics) {
+        try {
+            ManagementFactory.getPlatformMBeanServer().registerMBean(metrics, new ObjectName(OBJECT_NAME));
+        } catch (JMException e) {
+            System.err.printf("failed to register %s: %s%n", OBJECT_NAME, e);
+        }
+        return metrics;
+    }
+
+    private static long toMillis(final LongAdder nanos) {
+        return TimeUnit.NANOSECONDS.toMillis(nanos.sum());
+    }
+
+    public void classRead(final long nanos) {
+        classesRead.increment();
+        classLoadingNanos.add(nanos);
+    }
+
+    /**
+     * Records a class which could not be read or reflected on, typically because of {@code NoClassDefFoundError}.
+     */
+    public void classSkipped() {
+        classesSkipped.increment();
+    }
+
+    public void methodsExtracted(final int extracted, final int filtered, final long nanos) {
+        methodsExtracted.add(extracted);
+        methodsFiltered.add(filtered);
+        extractionNanos.add(nanos);
+    }
+
+    public void serialized(final long bytes, final long nanos) {
+        bytesSerialized.add(bytes);
+        serializationNanos.add(nanos);
+    }
+
+    public void bulk(final String artifact, final int documents, final long succeeded, final long nanos) {
+        bulkRequests.increment();
+        bulkNanos.add(nanos);
+        bulkMaxNanos.accumulate(nanos);
+        documentsIndexed.add(succeeded);
+        if (succeeded < documents) {
+            failures.computeIfAbsent(artifact, a -> new LongAdder()).add(documents - succeeded);
+        }
+    }
+
+    public Snapshot snapshot() {
+        return new Snapshot(this);
+    }
+
+    @Override
+    public long getClassesRead() {
+        return classesRead.sum();
+    }
+
+    @Override
+    public long getClassesSkipped() {
+        return classesSkipped.sum();
+    }
+
+    @Override
+    public long getClassLoadingMillis() {
+        return toMillis(classLoadingNanos);
+    }
+
+    @Override
+    public long getMethodsExtracted() {
+        return methodsExtracted.sum();
+    }
+
+    @Override
+    public long getMethodsFiltered() {
+        return methodsFiltered.sum();
+    }
+
+    @Override
+    public long getExtractionMillis() {
+        return toMillis(extractionNanos);
+    }
+
+    @Override
+    public long getBytesSerialized() {
+        return bytesSerialized.sum();
+    }
+
+    @Override
+    public long getSerializationMillis() {
+        return toMillis(serializationNanos);
+    }
+
+    @Override
+    public long getBulkRequests() {
+        return bulkRequests.sum();
+    }
+
+    @Override
+    public double getBulkLatencyMeanMillis() {
+        final long requests = bulkRequests.sum();
+        return requests == 0 ? 0 : bulkNanos.sum() / 1e6 / requests;
+    }
+
+    @Override
+    public double getBulkLatencyMaxMillis() {
+        return bulkMaxNanos.get() / 1e6;
+    }
+
+    @Override
+    public long getDocumentsIndexed() {
+        return documentsIndexed.sum();
+    }
+
+    @Override
+    public long getDocumentsFailed() {
+        return failures.values().stream().mapToLong(LongAdder::sum).sum();
+    }
+
+    @Override
+    public Map<String, Long> getFailuresPerArtifact() {
+        final Map<String, Long> copy = new ConcurrentHashMap<>();
+        failures.forEach((artifact, count) -> copy.put(artifact, count.sum()));
+        return copy;
+    }
+
+    /**
+     * Values of {@link PipelineMetrics} at a moment. The difference of two snapshots tells what a run did.
+     */
+    public static final class Snapshot {
+        private final long classesRead;
+        private final long classesSkipped;
+        private final long classLoadingNanos;
+        private final long methodsExtracted;
+        private final long methodsFiltered;
+        private final long extractionNanos;
+        private final long bytesSerialized;
+        private final long serializationNanos;
+        private final long bulkRequests;
+        private final long bulkNanos;
+        private final long documentsIndexed;
+        private final long documentsFailed;
+        private final long takenAt;
+
+        private Snapshot(final PipelineMetrics metrics) {
+            this(metrics.classesRead.sum(), metrics.classesSkipped.sum(), metrics.classLoadingNanos.sum(),
+                 metrics.methodsExtracted.sum(), metrics.methodsFiltered.sum(), metrics.extractionNanos.sum(),
+                 metrics.bytesSerialized.sum(), metrics.serializationNanos.sum(), metrics.bulkRequests.sum(),
+                 metrics.bulkNanos.sum(), metrics.documentsIndexed.sum(), metrics.getDocumentsFailed(),
+                 System.nanoTime());
+        }
+
+        private Snapshot(
+                final long classesRead,
+                final long classesSkipped,
+                final long classLoadingNanos,
+                final long methodsExtracted,
+                final long methodsFiltered,
+                final long extractionNanos,
+                final long bytesSerialized,
+                final long serializationNanos,
+                final long bulkRequests,
+                final long bulkNanos,
+                final long documentsIndexed,
+                final long documentsFailed,
+                final long takenAt) {
+            this.classesRead = classesRead;
+            this.classesSkipped = classesSkipped;
+            this.classLoadingNanos = classLoadingNanos;
+            this.methodsExtracted = methodsExtracted;
+            this.methodsFiltered = methodsFiltered;
+            this.extractionNanos = extractionNanos;
+            this.bytesSerialized = bytesSerialized;
+            this.serializationNanos = serializationNanos;
+            this.bulkRequests = bulkRequests;
+            this.bulkNanos = bulkNanos;
+            this.documentsIndexed = documentsIndexed;
+            this.documentsFailed = documentsFailed;
+            this.takenAt = takenAt;
+        }
+
+        /**
+         * Returns what happened between the given earlier snapshot and this.
+         *
+         * @param earlier the snapshot taken before this.
+         * @return the difference of counters and timers.
+         */
+        public Snapshot since(final Snapshot earlier) {
+            return new Snapshot(classesRead - earlier.classesRead,
+                                classesSkipped - earlier.classesSkipped,
+                                classLoadingNanos - earlier.classLoadingNanos,
+                                methodsExtracted - earlier.methodsExtracted,
+                                methodsFiltered - earlier.methodsFiltered,
+                                extractionNanos - earlier.extractionNanos,
+                                bytesSerialized - earlier.bytesSerialized,
+                                serializationNanos - earlier.serializationNanos,
+                                bulkRequests - earlier.bulkRequests,
+                                bulkNanos - earlier.bulkNanos,
+                                documentsIndexed - earlier.documentsIndexed,
+                                documentsFailed - earlier.documentsFailed,
+                                takenAt - earlier.takenAt);
+        }
+
+        public long getClassesRead() {
+            return classesRead;
+        }
+
+        public long getClassesSkipped() {
+            return classesSkipped;
+        }
+
+        public long getMethodsExtracted() {
+            return methodsExtracted;
+        }
+
+        public long getMethodsFiltered() {
+            return methodsFiltered;
+        }
+
+        public long getBytesSerialized() {
+            return bytesSerialized;
+        }
+
+        public long getBulkRequests() {
+            return bulkRequests;
+        }
+
+        public long getDocumentsIndexed() {
+            return documentsIndexed;
+        }
+
+        public long getDocumentsFailed() {
+            return documentsFailed;
+        }
+
+        /**
+         * Returns the summary of a run, assuming this is the difference since the start of the run.
+         *
+         * @return multi-line summary in human readable form.
+         */
+        @Override
+        public String toString() {
+            final double seconds = Math.max(takenAt, 1) / 1e9;
+            return String.format("classes read      : %,d (%,d ms loading)%n" +
+                                 "classes skipped   : %,d%n" +
+                                 "methods extracted : %,d (%,d filtered, %,d ms)%n" +
+                                 "bytes serialized  : %,d (%,d ms)%n" +
+                                 "bulk requests     : %,d (%,.1f ms mean round trip)%n" +
+                                 "documents indexed : %,d (%,d failed)%n" +
+                                 "elapsed           : %,.1f s (%,.0f documents/s)",
+                                 classesRead, TimeUnit.NANOSECONDS.toMillis(classLoadingNanos),
+                                 classesSkipped,
+                                 methodsExtracted, methodsFiltered, TimeUnit.NANOSECONDS.toMillis(extractionNanos),
+                                 bytesSerialized, TimeUnit.NANOSECONDS.toMillis(serializationNanos),
+                                 bulkRequests, bulkRequests == 0 ? 0 : bulkNanos / 1e6 / bulkRequests,
+                                 documentsIndexed, documentsFailed,
+                                 seconds, documentsIndexed / seconds);
+        }
+    }
+}
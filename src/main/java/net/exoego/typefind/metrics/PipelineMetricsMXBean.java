@@ -0,0 +1,37 @@
+package net.exoego.typefind.metrics;
+
+import java.util.Map;
+
+/**
+ * Counters and timers of the indexing pipeline, exposed through JMX as
+ * {@code net.exoego.typefind:type=PipelineMetrics}. All values are cumulative since the JVM started.
+ */
+public interface PipelineMetricsMXBean {
+    long getClassesRead();
+
+    long getClassesSkipped();
+
+    long getClassLoadingMillis();
+
+    long getMethodsExtracted();
+
+    long getMethodsFiltered();
+
+    long getExtractionMillis();
+
+    long getBytesSerialized();
+
+    long getSerializationMillis();
+
+    long getBulkRequests();
+
+    double getBulkLatencyMeanMillis();
+
+    double getBulkLatencyMaxMillis();
+
+    long getDocumentsIndexed();
+
+    long getDocumentsFailed();
+
+    Map<String, Long> getFailuresPerArtifact();
+}
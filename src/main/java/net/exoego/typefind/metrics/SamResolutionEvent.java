@@ -0,0 +1,28 @@
+package net.exoego.typefind.metrics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Threshold;
+
+/**
+ * Resolving the single abstract method of a functional interface to write it as lambda.
+ */
+@Name("net.exoego.typefind.SamResolution")
+@Label("SAM Resolution")
+@Category({"FindByType", "Definition"})
+@Description("Finding the single abstract method of a functional interface")
+@StackTrace(false)
+@Threshold("1 ms")
+public final class SamResolutionEvent extends jdk.jfr.Event {
+    public static final String LAMBDA = "lambda";
+    public static final String NOT_FOUND = "not found";
+
+    @Label("Type Name")
+    public String typeName;
+
+    @Label("Outcome")
+    public String outcome;
+}
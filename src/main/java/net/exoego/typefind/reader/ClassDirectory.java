@@ -0,0 +1,71 @@
+package net.exoego.typefind.reader;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Walks a directory of class files, like {@code target/classes}.
+ */
+final class ClassDirectory {
+    private static final String CLASS_EXTENSION = ".class";
+
+    private ClassDirectory() { }
+
+    /**
+     * Returns the paths of class files in the given directory, relative to it and separated by '/' like
+     * "com/example/Foo.class", as entry names of a jar.
+     * <p>
+     * The returned stream is parallel. Directories are listed first, then the class files of each directory, that
+     * is each package, are listed and consumed independently.
+     */
+    static Stream<String> walk(final Path root) {
+        return directories(root).parallelStream()
+                                .flatMap(ClassDirectory::list)
+                                .map(path -> toEntryName(root.relativize(path)));
+    }
+
+    private static List<Path> directories(final Path root) {
+        final List<Path> directories = new ArrayList<>();
+        try {
+            Files.walkFileTree(root, new SimpleFileVisitor<Path>() {
+                @Override
+                public FileVisitResult preVisitDirectory(final Path dir, final BasicFileAttributes attrs) {
+                    directories.add(dir);
+                    return FileVisitResult.CONTINUE;
+                }
+            });
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return directories;
+    }
+
+    private static Stream<Path> list(final Path directory) {
+        try {
+            return Files.list(directory)
+                        .filter(path -> path.getFileName().toString().endsWith(CLASS_EXTENSION))
+                        .filter(Files::isRegularFile);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static String toEntryName(final Path relative) {
+        final StringBuilder name = new StringBuilder();
+        for (final Path element : relative) {
+            if (name.length() > 0) {
+                name.append('/');
+            }
+            name.append(element);
+        }
+        return name.toString();
+    }
+}
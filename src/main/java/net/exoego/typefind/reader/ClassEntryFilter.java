@@ -0,0 +1,94 @@
+package net.exoego.typefind.reader;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Predicate;
+
+/**
+ * Selects the class files of a jar by their entry names like "java/util/Map$Entry.class", before the classes are
+ * loaded. Rejecting an entry costs only string checks, without loading or parsing the class.
+ */
+public final class ClassEntryFilter {
+    /**
+     * Accepts all class files.
+     */
+    public static final ClassEntryFilter ALL = new ClassEntryFilter(null, null, null);
+    private static final String CLASS_EXTENSION = ".class";
+    private final PackageMatcher packages;
+    private final Predicate<? super String> names;
+    private final Set<String> entries;
+
+    private ClassEntryFilter(final PackageMatcher packages,
+                             final Predicate<? super String> names,
+                             final Set<String> entries) {
+        this.packages = packages;
+        this.names = names;
+        this.entries = entries;
+    }
+
+    /**
+     * Accepts class files in the packages of the given matcher.
+     *
+     * @param packages the matcher of packages, like {@link JdkFilters#jdk()}.
+     * @return a filter of class files in the packages.
+     */
+    public static ClassEntryFilter packages(final PackageMatcher packages) {
+        Objects.requireNonNull(packages);
+        return new ClassEntryFilter(packages, null, null);
+    }
+
+    /**
+     * Returns a filter that also requires the simple binary name of the class, like "Map$Entry", to match the given
+     * predicate. The predicate is tested only for the classes in the accepted packages.
+     *
+     * @param names the predicate of simple binary names.
+     * @return a new filter.
+     */
+    public ClassEntryFilter andNames(final Predicate<? super String> names) {
+        Objects.requireNonNull(names);
+        if (this.names == null) {
+            return new ClassEntryFilter(packages, names, entries);
+        }
+        final Predicate<? super String> current = this.names;
+        return new ClassEntryFilter(packages, name -> current.test(name) && names.test(name), entries);
+    }
+
+    /**
+     * Returns a filter that also requires the entry to be one of the given entries, like "java/util/Map.class".
+     * Useful to reload only the class files changed since the last scan.
+     *
+     * @param entryNames the names of entries, separated by '/'.
+     * @return a new filter.
+     */
+    public ClassEntryFilter andEntries(final Collection<String> entryNames) {
+        final Set<String> selected = new HashSet<>(entryNames);
+        if (this.entries != null) {
+            selected.retainAll(this.entries);
+        }
+        return new ClassEntryFilter(packages, names, Collections.unmodifiableSet(selected));
+    }
+
+    /**
+     * Tests if the jar entry of the given name is a class file to be loaded.
+     *
+     * @param entryName the name of a jar entry, separated by '/'.
+     * @return {@code true} if the entry is to be loaded.
+     */
+    public boolean accept(final String entryName) {
+        if (!entryName.endsWith(CLASS_EXTENSION)) {
+            return false;
+        }
+        if (entries != null && !entries.contains(entryName)) {
+            return false;
+        }
+        final int slash = entryName.lastIndexOf('/');
+        if (packages != null && !packages.matches(entryName, Math.max(slash, 0), '/')) {
+            return false;
+        }
+        return names == null ||
+               names.test(entryName.substring(slash + 1, entryName.length() - CLASS_EXTENSION.length()));
+    }
+}
@@ -2,12 +2,24 @@ package net.exoego.typefind.reader;
 
 import java.io.File;
 import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.MalformedURLException;
+import java.net.URL;
+import java.net.URLClassLoader;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.Comparator;
 import java.util.Iterator;
+import java.util.List;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
 import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.BiConsumer;
 import java.util.function.BiFunction;
 import java.util.function.BinaryOperator;
@@ -21,12 +33,16 @@ import java.util.function.ToIntFunction;
 import java.util.function.ToLongFunction;
 import java.util.jar.JarEntry;
 import java.util.jar.JarFile;
+import java.util.jar.JarInputStream;
 import java.util.stream.Collector;
 import java.util.stream.DoubleStream;
 import java.util.stream.IntStream;
 import java.util.stream.LongStream;
 import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
+import net.exoego.typefind.metrics.ClassLoadEvent;
+import net.exoego.typefind.metrics.PipelineMetrics;
 import net.exoego.util.MoreCollectors;
 
 /**
@@ -38,8 +54,14 @@ public class ClassStream implements Stream<Class<?>> {
     static {
         final String value = System.getProperty("sun.boot.class.path");
         if (value == null) {
-            throw new IllegalStateException("JRE lib directory not found");
+            // JDK 9+ has no rt.jar, see fromRuntimeImage()
+            JRE_LIB = Paths.get(System.getProperty("java.home"), "lib");
+        } else {
+            JRE_LIB = jreLibPath(value);
         }
+    }
+
+    private static Path jreLibPath(final String value) {
         final String jar = value.split(System.getProperty("path.separator"))[0];
         final String fileSeparator = System.getProperty("file.separator");
         // Fxxk windows
@@ -49,7 +71,7 @@ public class ClassStream implements Stream<Class<?>> {
         if (lib == null || lib.isEmpty()) {
             throw new IllegalStateException("failed to get JRE lib path");
         }
-        JRE_LIB = Paths.get(lib);
+        return Paths.get(lib);
     }
 
     private static final boolean CLASS_INITIALIZATION_NOT_REQUIRED = false;
@@ -73,6 +95,17 @@ public class ClassStream implements Stream<Class<?>> {
         return from(path.toFile());
     }
 
+    /**
+     * Shortcut to <code>ClassStream.from(path.toFile(), filter)</code>.
+     *
+     * @param path   the path represents a file as sources of {@code Class}es.
+     * @param filter selects the classes to be loaded.
+     * @return {@code ClassStream} instance to load {@code Class}es from the given {@code JarFile}.
+     */
+    public static ClassStream from(final Path path, final ClassEntryFilter filter) {
+        return from(path.toFile(), filter);
+    }
+
     /**
      * Shortcut to <code>ClassStream.from(new JarFile(file))</code>.
      *
@@ -80,17 +113,64 @@ public class ClassStream implements Stream<Class<?>> {
      * @return {@code ClassStream} instance to load {@code Class}es from the given {@code JarFile}.
      */
     public static ClassStream from(final File file) {
+        return from(file, ClassEntryFilter.ALL);
+    }
+
+    /**
+     * Shortcut to <code>ClassStream.from(new JarFile(file), filter)</code>.
+     *
+     * @param file   the file as sources of {@code Class}es.
+     * @param filter selects the classes to be loaded.
+     * @return {@code ClassStream} instance to load {@code Class}es from the given {@code JarFile}.
+     */
+    public static ClassStream from(final File file, final ClassEntryFilter filter) {
         try {
-            return from(new JarFile(file));
+            return from(new JarFile(file), filter);
         } catch (IOException e) {
             throw new RuntimeException(e);
         }
     }
 
+    /**
+     * Returns the lib directory of the running JRE. Only JDK 8 and older have jars of the Java SE API in it.
+     *
+     * @return the lib directory of the running JRE.
+     */
     public static Path getJreLibPath() {
         return JRE_LIB;
     }
 
+    /**
+     * Create an instance that loads the classes in exported packages of {@code java.*} modules of the running
+     * JDK 9+, read from its {@code jrt:/} file system.
+     *
+     * @return {@code ClassStream} instance to load {@code Class}es of the Java SE API.
+     * @see #fromRuntimeImage(ClassEntryFilter)
+     */
+    public static ClassStream fromRuntimeImage() {
+        return fromRuntimeImage(ClassEntryFilter.packages(RuntimeImage.javaExports()));
+    }
+
+    /**
+     * Create an instance that loads the classes of the running JDK 9+, read from its {@code jrt:/} file system.
+     * The returned instance is parallel, each module scanned and loaded independently; use {@link #sequential()} to
+     * consume classes one by one.
+     *
+     * @param filter selects the classes to be loaded by their paths in the modules, like "java/util/Map.class".
+     * @return {@code ClassStream} instance to load {@code Class}es of the running JDK.
+     * @throws IllegalStateException if the running JDK has no {@code jrt:/} file system, that is JDK 8 and older.
+     */
+    public static ClassStream fromRuntimeImage(final ClassEntryFilter filter) {
+        Objects.requireNonNull(filter);
+        final Stream<Class<?>> classes = RuntimeImage.modules()
+                                                     .parallel()
+                                                     .flatMap(RuntimeImage::classFiles)
+                                                     .filter(filter::accept)
+                                                     .map(name -> entryNameAsClass(name, ClassLoader.getSystemClassLoader()))
+                                                     .flatMap(MoreCollectors::optionalToStream);
+        return new ClassStream(classes);
+    }
+
     /**
      * Create an instance from {@code JarFile} instance.
      * The returned instance closes the given {@code JarFile} on {@link java.util.stream.Stream#close()}.
@@ -99,8 +179,207 @@ public class ClassStream implements Stream<Class<?>> {
      * @return {@code ClassStream} instance to load {@code Class}es from the given {@code JarFile}.
      */
     public static ClassStream from(final JarFile jar) {
-        final Supplier<Stream<Class<?>>> lazyLoad = () -> jar.stream()
-                                                             .map(ClassStream::jarEntryAsClass)
+        return from(jar, ClassEntryFilter.ALL);
+    }
+
+    /**
+     * Create an instance from {@code JarFile} instance, which loads only the classes accepted by the given filter.
+     * Entries rejected by the filter are never loaded.
+     * The returned instance closes the given {@code JarFile} on {@link java.util.stream.Stream#close()}.
+     *
+     * @param jar    the jar file as sources of {@code Class}es.
+     * @param filter selects the classes to be loaded by their entry names.
+     * @return {@code ClassStream} instance to load {@code Class}es from the given {@code JarFile}.
+     */
+    public static ClassStream from(final JarFile jar, final ClassEntryFilter filter) {
+        return from(jar, filter, ClassLoader.getSystemClassLoader());
+    }
+
+    /**
+     * Create an instance that loads the classes of the given jars through a new class loader of its own, instead of
+     * the system class loader. So the jars need not be in the classpath of this JVM, and their classes can be unloaded
+     * after the returned instance is closed and the classes are no longer referenced.
+     * <p>
+     * The class loader sees the given jars, the given classpath and the Java SE API only. It is closed, as well as
+     * the jars, on {@link java.util.stream.Stream#close()}.
+     *
+     * @param jars      the jar files as sources of {@code Class}es.
+     * @param classpath the jar files or directories the given jars depend on, whose classes are not streamed.
+     * @param filter    selects the classes to be loaded by their entry names.
+     * @return {@code ClassStream} instance to load {@code Class}es from the given jars.
+     */
+    public static ClassStream isolated(final Collection<Path> jars,
+                                       final Collection<Path> classpath,
+                                       final ClassEntryFilter filter) {
+        Objects.requireNonNull(filter);
+        final URLClassLoader loader = newIsolatedLoader(jars, classpath);
+        final Stream<Class<?>> classes = jars.stream()
+                                             .flatMap(jar -> {
+                                                 try {
+                                                     return from(new JarFile(jar.toFile()), filter, loader);
+                                                 } catch (IOException e) {
+                                                     throw new UncheckedIOException(e);
+                                                 }
+                                             })
+                                             .onClose(() -> {
+                                                 try {
+                                                     loader.close();
+                                                 } catch (IOException e) {
+                                                     throw new UncheckedIOException(e);
+                                                 }
+                                             });
+        return new ClassStream(classes);
+    }
+
+    /**
+     * Create an instance that loads the classes in a directory of class files, like {@code target/classes}, so that
+     * classes can be indexed during a build without packaging a jar first.
+     * <p>
+     * The directory is scanned in parallel, each subdirectory of it walked independently, and the returned instance
+     * is parallel; use {@link #sequential()} to consume classes one by one. The classes are loaded through a new class
+     * loader of their own, as {@link #isolated} does, so classes changed since the last scan are loaded anew.
+     * The class loader is closed on {@link java.util.stream.Stream#close()}.
+     *
+     * @param directory the root directory of class files, that is the directory of the default package.
+     * @param classpath the jar files or directories the classes depend on, whose classes are not streamed.
+     * @param filter    selects the classes to be loaded by their paths relative to the directory, separated by '/'.
+     * @return {@code ClassStream} instance to load {@code Class}es from the given directory.
+     */
+    public static ClassStream fromDirectory(final Path directory,
+                                            final Collection<Path> classpath,
+                                            final ClassEntryFilter filter) {
+        Objects.requireNonNull(filter);
+        final URLClassLoader loader = newIsolatedLoader(Collections.singletonList(directory), classpath);
+        final Stream<Class<?>> classes = ClassDirectory.walk(directory)
+                                                       .filter(filter::accept)
+                                                       .map(name -> entryNameAsClass(name, loader))
+                                                       .flatMap(MoreCollectors::optionalToStream)
+                                                       .onClose(() -> {
+                                                           try {
+                                                               loader.close();
+                                                           } catch (IOException e) {
+                                                               throw new UncheckedIOException(e);
+                                                           }
+                                                       });
+        return new ClassStream(classes);
+    }
+
+    private static URLClassLoader newIsolatedLoader(final Collection<Path> sources, final Collection<Path> classpath) {
+        final List<URL> urls = new ArrayList<>();
+        try {
+            for (final Path path : sources) {
+                urls.add(path.toUri().toURL());
+            }
+            for (final Path path : classpath) {
+                urls.add(path.toUri().toURL());
+            }
+        } catch (MalformedURLException e) {
+            throw new IllegalArgumentException(e);
+        }
+        // the parent of the system class loader sees the Java SE API, but not the classpath of this JVM
+        return new URLClassLoader(urls.toArray(new URL[urls.size()]), ClassLoader.getSystemClassLoader().getParent());
+    }
+
+    /**
+     * Create an instance that loads the classes of a fat jar, such as an executable Spring Boot jar or a war: classes
+     * in the jar, including those under {@code BOOT-INF/classes/} and {@code WEB-INF/classes/}, and classes in the
+     * jars nested in it, such as {@code BOOT-INF/lib/*.jar}.
+     * <p>
+     * Nested jars are read as streams without being extracted, and their classes are loaded by a class loader of
+     * their own as {@link #isolated} does. A class both in the jar and in a nested jar, or in several nested jars, is
+     * streamed once, from the first of them like a classpath. The class loader is closed, as well as the jar, on
+     * {@link java.util.stream.Stream#close()}.
+     *
+     * @param path   the fat jar.
+     * @param filter selects the classes to be loaded by their entry names, relative to the class root or the
+     *               nested jar, like "com/example/Foo.class".
+     * @return {@code ClassStream} instance to load {@code Class}es from the given fat jar.
+     */
+    public static ClassStream fromFatJar(final Path path, final ClassEntryFilter filter) {
+        Objects.requireNonNull(filter);
+        final JarFile outer;
+        try {
+            outer = new JarFile(path.toFile());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        final NestedJarClassLoader loader = new NestedJarClassLoader(outer,
+                                                                     ClassLoader.getSystemClassLoader().getParent());
+        // entry names relative to the class roots, to stream each binary name once
+        final Set<String> seen = ConcurrentHashMap.newKeySet();
+        final Stream<Class<?>> own = outer.stream()
+                                          .filter(entry -> !entry.isDirectory())
+                                          .map(entry -> NestedJarClassLoader.stripClassRoot(entry.getName()))
+                                          .filter(filter::accept)
+                                          .filter(seen::add)
+                                          .map(name -> entryNameAsClass(name, loader))
+                                          .flatMap(MoreCollectors::optionalToStream);
+        final Stream<Class<?>> nested = Stream.generate(loader::nestedJars)
+                                              .limit(1)
+                                              .flatMap(List::stream)
+                                              .flatMap(entry -> fromNestedJar(loader, entry, filter, seen));
+        return new ClassStream(Stream.concat(own, nested).onClose(() -> {
+            try {
+                loader.close();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }));
+    }
+
+    private static Stream<Class<?>> fromNestedJar(final NestedJarClassLoader loader,
+                                                  final JarEntry nested,
+                                                  final ClassEntryFilter filter,
+                                                  final Set<String> seen) {
+        final JarInputStream in;
+        try {
+            in = loader.openNestedJar(nested);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        final Spliterator<Class<?>> classes = new Spliterators.AbstractSpliterator<Class<?>>(
+                Long.MAX_VALUE, Spliterator.NONNULL) {
+            @Override
+            public boolean tryAdvance(final Consumer<? super Class<?>> action) {
+                try {
+                    for (JarEntry entry = in.getNextJarEntry(); entry != null; entry = in.getNextJarEntry()) {
+                        final String name = entry.getName();
+                        if (!filter.accept(name) || !seen.add(name)) {
+                            continue;
+                        }
+                        // hand the bytes at hand to the loader, not to read the nested jar again
+                        final String className = pathToCanonicalName(name);
+                        loader.offer(className, NestedJarClassLoader.readAll(in));
+                        try {
+                            final Optional<Class<?>> loaded = entryNameAsClass(name, loader);
+                            if (loaded.isPresent()) {
+                                action.accept(loaded.get());
+                                return true;
+                            }
+                        } finally {
+                            loader.withdraw(className);
+                        }
+                    }
+                    return false;
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            }
+        };
+        return StreamSupport.stream(classes, false).onClose(() -> {
+            try {
+                in.close();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+    }
+
+    private static ClassStream from(final JarFile jar, final ClassEntryFilter filter, final ClassLoader loader) {
+        Objects.requireNonNull(filter);
+        final Supplier<Stream<Class<?>>> lazyLoad = () -> entryNames(jar)
+                                                             .filter(filter::accept)
+                                                             .map(name -> entryNameAsClass(name, loader))
                                                              .flatMap(MoreCollectors::optionalToStream)
                                                              .onClose(() -> {
                                                                  try {
@@ -115,22 +394,51 @@ public class ClassStream implements Stream<Class<?>> {
         return new ClassStream(generateOnceAndFlat);
     }
 
-    private static Optional<Class<?>> jarEntryAsClass(final JarEntry entry) {
-        if (entry.getName().endsWith(".class")) {
+    /**
+     * Returns the entry names of the given jar. The versioned entries of a multi-release jar are named as the base
+     * entries, so that the class loader, which picks the variant for the running JDK by itself, loads each class once.
+     */
+    private static Stream<String> entryNames(final JarFile jar) {
+        if (MultiRelease.isMultiRelease(jar)) {
+            return MultiRelease.entryNames(jar, MultiRelease.runtime()).stream();
+        }
+        return jar.stream().map(JarEntry::getName);
+    }
+
+    private static Optional<Class<?>> entryNameAsClass(final String entryName, final ClassLoader loader) {
+        if (entryName.endsWith(".class")) {
+            final String className = pathToCanonicalName(entryName);
+            final ClassLoadEvent event = new ClassLoadEvent();
+            event.begin();
+            final long start = System.nanoTime();
             try {
-                final Class<?> aClass = Class.forName(pathToCanonicalName(entry),
+                final Class<?> aClass = Class.forName(className,
                                                       CLASS_INITIALIZATION_NOT_REQUIRED,
-                                                      ClassLoader.getSystemClassLoader());
+                                                      loader);
+                PipelineMetrics.get().classRead(System.nanoTime() - start);
+                commit(event, className, ClassLoadEvent.LOADED);
                 return Optional.of(aClass);
-            } catch (ClassNotFoundException | NoClassDefFoundError e) {
-                // do nothing
+            } catch (ClassNotFoundException e) {
+                PipelineMetrics.get().classSkipped();
+                commit(event, className, ClassLoadEvent.NOT_FOUND);
+            } catch (NoClassDefFoundError e) {
+                PipelineMetrics.get().classSkipped();
+                commit(event, className, ClassLoadEvent.NO_CLASS_DEF);
             }
         }
         return Optional.empty();
     }
 
-    private static String pathToCanonicalName(final JarEntry entry) {
-        final String directoryPath = entry.getName();
+    private static void commit(final ClassLoadEvent event, final String className, final String outcome) {
+        event.end();
+        if (event.shouldCommit()) {
+            event.className = className;
+            event.outcome = outcome;
+            event.commit();
+        }
+    }
+
+    private static String pathToCanonicalName(final String directoryPath) {
         // path/to/Hoge.class -> path.to.Hoge
         return directoryPath.substring(0, directoryPath.length() - 6)
                             .replace('/', '.');
@@ -1,18 +1,20 @@
 package net.exoego.typefind.reader;
 
 import java.util.Arrays;
+import java.util.EnumMap;
 import java.util.List;
-import java.util.function.BinaryOperator;
+import java.util.Map;
+import java.util.function.Predicate;
 import java.util.regex.Pattern;
-import java.util.stream.IntStream;
-import java.util.stream.Stream;
+import java.util.stream.Collectors;
 
 import net.exoego.typefind.definition.TypeDef;
 
 /**
- * Provides utility methods that returns {@code Pattern} instance to filter JDK public packages.
+ * Provides utility methods that returns {@code PackageMatcher} instance to filter JDK public packages.
  */
 public final class JdkFilters {
+    private static final Map<JdkProfile, PackageMatcher> PROFILES = new EnumMap<>(JdkProfile.class);
     private static final Pattern WHITE_PACKAGES;
 
     private JdkFilters() { }
@@ -28,6 +30,46 @@ public final class JdkFilters {
         return WHITE_PACKAGES;
     }
 
+    /**
+     * Returns a {@code PackageMatcher} that test if given package is one of existing public JDK packages.
+     * Unlike {@link #jdkAll()}, the cost of a test does not grow with the number of packages.
+     * Use {@link PackageMatcher#toBuilder()} to include or exclude more packages.
+     *
+     * @return a {@code PackageMatcher} of public JDK packages.
+     */
+    public static PackageMatcher jdk() {
+        return PROFILES.get(JdkProfile.FULL);
+    }
+
+    /**
+     * Returns a {@code PackageMatcher} that test if given package belongs to any of the given profiles.
+     * Matchers are built once for each profile, and since profiles are nested, a union of profiles is the matcher of
+     * the largest one.
+     *
+     * @param profile the profile to be included.
+     * @param more    more profiles to be included.
+     * @return a {@code PackageMatcher} of public JDK packages in the given profiles.
+     */
+    public static PackageMatcher profile(final JdkProfile profile, final JdkProfile... more) {
+        JdkProfile largest = profile;
+        for (final JdkProfile p : more) {
+            if (p.contains(largest)) {
+                largest = p;
+            }
+        }
+        return PROFILES.get(largest);
+    }
+
+    /**
+     * Returns a predicate that test if the given class is public and belongs to one of packages of the given matcher.
+     *
+     * @param packages the matcher of packages, like {@link #profile(JdkProfile, JdkProfile...)}.
+     * @return a predicate of public classes in the packages.
+     */
+    public static Predicate<Class<?>> publicClassesIn(final PackageMatcher packages) {
+        return k -> isPublicClassIn(k, packages);
+    }
+
     /**
      * Test if the given {@code CharSequence} is public and belongs to one of public documented JDK packages.
      *
@@ -35,9 +77,13 @@ public final class JdkFilters {
      * packages.
      */
     public static boolean isPublicDocumentedJdkClass(Class<?> k) {
+        return isPublicClassIn(k, jdk());
+    }
+
+    private static boolean isPublicClassIn(final Class<?> k, final PackageMatcher packages) {
         if (TypeDef.isPublic(k)) {
-            final String packageName = k.getPackage().getName();
-            return packageName != null && WHITE_PACKAGES.matcher(packageName).matches();
+            final Package p = k.getPackage();
+            return p != null && packages.test(p.getName());
         }
         return false;
     }
@@ -136,31 +182,15 @@ public final class JdkFilters {
                 "org.xml.sax", "org.xml.sax.ext", "org.xml.sax.helpers"
         });
 
-        final Stream<String> pkgs = fullSE8API.stream();
-        // Java8u20 final Stream<String> pkgs = compact1.stream();
-        final BinaryOperator<PackageNode> NO_COMBINER = (p1, p2) -> {
-            throw new IllegalStateException();
-        };
-        final String ROOT_INDICATOR = "/";
-        final PackageNode root = pkgs.map(r -> {
-            final String[] split = r.split("\\.");
-            // The sentinel value is to indicate that the "middle" package is also one to be included in Pattern.
-            // Example is "java.awt" which has sub package "java.awt.color" and etc.
-            // On the other hand, middle packages like "java" and "org" is not to be included in Pattern.
-            return Stream.concat(IntStream.range(0, split.length)
-                                          .mapToObj(depth -> PackageNode.newInstance(split[depth], depth)),
-                                 Stream.of(PackageNode.sentinel(split.length)));
-        }).reduce(PackageNode.newInstance(ROOT_INDICATOR, 0), (root_, stream) -> {
-            stream.reduce(root_, (last, current) -> {
-                if (last.containsKey(current)) {
-                    return last.get(current);
-                }
-                last.add(current);
-                return current;
-            }, NO_COMBINER);
-            return root_;
-        }, NO_COMBINER);
-        WHITE_PACKAGES = Pattern.compile(String.format("^%s$",
-                                                       root.toPatternGroup().replaceFirst("^" + ROOT_INDICATOR, "")));
+        final PackageMatcher compact1Matcher = PackageMatcher.builder().include(compact1).build();
+        final PackageMatcher compact2Matcher = compact1Matcher.toBuilder().include(compact2_addition).build();
+        final PackageMatcher compact3Matcher = compact2Matcher.toBuilder().include(compact3_addition).build();
+        PROFILES.put(JdkProfile.COMPACT1, compact1Matcher);
+        PROFILES.put(JdkProfile.COMPACT2, compact2Matcher);
+        PROFILES.put(JdkProfile.COMPACT3, compact3Matcher);
+        PROFILES.put(JdkProfile.FULL, PackageMatcher.builder().include(fullSE8API).build());
+        WHITE_PACKAGES = Pattern.compile(fullSE8API.stream()
+                                                   .map(Pattern::quote)
+                                                   .collect(Collectors.joining("|", "^(?:", ")$")));
     }
 }
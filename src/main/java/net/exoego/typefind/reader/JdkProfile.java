@@ -0,0 +1,20 @@
+package net.exoego.typefind.reader;
+
+/**
+ * Subsets of the Java SE 8 API, as defined by JEP 161. Each compact profile contains the smaller profiles.
+ *
+ * @see JdkFilters#profile(JdkProfile, JdkProfile...)
+ */
+public enum JdkProfile {
+    COMPACT1, COMPACT2, COMPACT3, FULL;
+
+    /**
+     * Tests if all packages of the given profile are also in this profile.
+     *
+     * @param other the profile to be compared.
+     * @return {@code true} if this profile contains the other.
+     */
+    public boolean contains(final JdkProfile other) {
+        return compareTo(other) >= 0;
+    }
+}
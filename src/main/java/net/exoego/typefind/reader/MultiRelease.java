@@ -0,0 +1,83 @@
+package net.exoego.typefind.reader;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.LinkedHashSet;
+import java.util.Set;
+import java.util.jar.Attributes;
+import java.util.jar.JarEntry;
+import java.util.jar.JarFile;
+import java.util.jar.Manifest;
+
+/**
+ * Selects the entries of a multi-release jar for a Java release, that is the variant under the greatest
+ * {@code META-INF/versions/N/} not greater than the release, or the base entry if there is none.
+ * <p>
+ * This is compiled for Java 8, whose {@code JarFile} knows nothing about versioned entries.
+ */
+final class MultiRelease {
+    private static final String VERSIONS = "META-INF/versions/";
+    private static final Attributes.Name MULTI_RELEASE = new Attributes.Name("Multi-Release");
+    private static final int RUNTIME = parseRelease(System.getProperty("java.specification.version"));
+
+    private MultiRelease() { }
+
+    /**
+     * Returns the feature release of the running JDK, like 8 or 17. Versioned entries newer than it cannot be loaded
+     * by the class loaders of this JVM.
+     */
+    static int runtime() {
+        return RUNTIME;
+    }
+
+    static int parseRelease(final String specificationVersion) {
+        // "1.8" for JDK 8 and older, "9", "17" and so on for later
+        final String feature = specificationVersion.startsWith("1.")
+                               ? specificationVersion.substring(2)
+                               : specificationVersion;
+        final int dot = feature.indexOf('.');
+        return Integer.parseInt(dot < 0 ? feature : feature.substring(0, dot));
+    }
+
+    static boolean isMultiRelease(final JarFile jar) {
+        try {
+            final Manifest manifest = jar.getManifest();
+            return manifest != null && "true".equalsIgnoreCase(manifest.getMainAttributes().getValue(MULTI_RELEASE));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Returns the names of the entries visible to the given release, relative to the root of the jar, like
+     * "com/example/Foo.class" for "META-INF/versions/11/com/example/Foo.class". Each name appears once, even if it
+     * has several variants.
+     */
+    static Set<String> entryNames(final JarFile jar, final int release) {
+        final Set<String> names = new LinkedHashSet<>();
+        for (final JarEntry entry : (Iterable<JarEntry>) jar.stream()::iterator) {
+            if (entry.isDirectory()) {
+                continue;
+            }
+            final String name = entry.getName();
+            if (!name.startsWith(VERSIONS)) {
+                names.add(name);
+                continue;
+            }
+            final int slash = name.indexOf('/', VERSIONS.length());
+            if (slash < 0) {
+                continue;
+            }
+            final int version;
+            try {
+                version = Integer.parseInt(name.substring(VERSIONS.length(), slash));
+            } catch (NumberFormatException e) {
+                continue;
+            }
+            if (version <= release) {
+                names.add(name.substring(slash + 1));
+            }
+        }
+        return names;
+    }
+}
@@ -0,0 +1,185 @@
+package net.exoego.typefind.reader;
+
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.jar.JarEntry;
+import java.util.jar.JarFile;
+import java.util.jar.JarInputStream;
+import java.util.stream.Collectors;
+
+/**
+ * Loads classes of a fat jar, that is classes under a class root like {@code BOOT-INF/classes/} and classes in nested
+ * jars like {@code BOOT-INF/lib/*.jar}, without extracting the nested jars to files.
+ * <p>
+ * Nested jars are read as streams, decompressing entries on demand. While {@link ClassStream} streams a nested jar,
+ * it {@link #offer offers} the bytes at hand, so that the class is defined without reading the nested jar again.
+ * Only classes needed before they are streamed, such as super classes, are looked up by reading the nested jar from
+ * its beginning, with an index of class names built at the first lookup.
+ */
+final class NestedJarClassLoader extends ClassLoader implements Closeable {
+    /**
+     * Directories of classes in fat jars, and the root of the jar itself, in the order of lookup.
+     */
+    private static final String[] CLASS_ROOTS = {"BOOT-INF/classes/", "WEB-INF/classes/", ""};
+    private static final String CLASS_EXTENSION = ".class";
+    private final JarFile outer;
+    private final Map<String, byte[]> offered = new ConcurrentHashMap<>();
+    /**
+     * Packages defined by this loader, kept here instead of asking the deprecated {@code getPackage}.
+     */
+    private final Map<String, Boolean> definedPackages = new ConcurrentHashMap<>();
+    private volatile Map<String, String> index;
+
+    NestedJarClassLoader(final JarFile outer, final ClassLoader parent) {
+        super(parent);
+        this.outer = outer;
+    }
+
+    static boolean isNestedJar(final JarEntry entry) {
+        return !entry.isDirectory() && entry.getName().endsWith(".jar");
+    }
+
+    /**
+     * Returns the entry name relative to its class root, like "com/example/Foo.class" of
+     * "BOOT-INF/classes/com/example/Foo.class".
+     */
+    static String stripClassRoot(final String entryName) {
+        for (final String root : CLASS_ROOTS) {
+            if (entryName.startsWith(root)) {
+                return entryName.substring(root.length());
+            }
+        }
+        return entryName;
+    }
+
+    List<JarEntry> nestedJars() {
+        return outer.stream().filter(NestedJarClassLoader::isNestedJar).collect(Collectors.toList());
+    }
+
+    JarInputStream openNestedJar(final JarEntry entry) throws IOException {
+        return new JarInputStream(outer.getInputStream(entry), false);
+    }
+
+    static byte[] readAll(final InputStream in) throws IOException {
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        final byte[] buffer = new byte[8192];
+        int read;
+        while ((read = in.read(buffer)) != -1) {
+            out.write(buffer, 0, read);
+        }
+        return out.toByteArray();
+    }
+
+    /**
+     * Makes the bytes of the given class available until {@link #withdraw} is called.
+     */
+    void offer(final String className, final byte[] bytes) {
+        offered.put(className, bytes);
+    }
+
+    void withdraw(final String className) {
+        offered.remove(className);
+    }
+
+    @Override
+    protected Class<?> findClass(final String name) throws ClassNotFoundException {
+        byte[] bytes = offered.remove(name);
+        if (bytes == null) {
+            try {
+                bytes = lookup(name);
+            } catch (IOException e) {
+                throw new ClassNotFoundException(name, e);
+            }
+        }
+        if (bytes == null) {
+            throw new ClassNotFoundException(name);
+        }
+        definePackageOf(name);
+        return defineClass(name, bytes, 0, bytes.length);
+    }
+
+    private void definePackageOf(final String className) {
+        final int dot = className.lastIndexOf('.');
+        if (dot < 0) {
+            return;
+        }
+        final String packageName = className.substring(0, dot);
+        // other threads defining a class of the same package wait until the package is defined
+        definedPackages.computeIfAbsent(packageName, name -> {
+            try {
+                definePackage(name, null, null, null, null, null, null, null);
+            } catch (IllegalArgumentException e) {
+                // already defined by a parent, which Java 8 checks as well
+            }
+            return Boolean.TRUE;
+        });
+    }
+
+    private byte[] lookup(final String className) throws IOException {
+        final String path = className.replace('.', '/') + CLASS_EXTENSION;
+        for (final String root : CLASS_ROOTS) {
+            final JarEntry entry = outer.getJarEntry(root + path);
+            if (entry != null) {
+                try (final InputStream in = outer.getInputStream(entry)) {
+                    return readAll(in);
+                }
+            }
+        }
+        final String nested = index().get(path);
+        if (nested == null) {
+            return null;
+        }
+        try (final JarInputStream in = openNestedJar(outer.getJarEntry(nested))) {
+            for (JarEntry entry = in.getNextJarEntry(); entry != null; entry = in.getNextJarEntry()) {
+                if (entry.getName().equals(path)) {
+                    return readAll(in);
+                }
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Returns the names of nested jars by class file paths. The first nested jar wins, like a classpath.
+     */
+    private Map<String, String> index() throws IOException {
+        Map<String, String> current = index;
+        if (current == null) {
+            synchronized (this) {
+                current = index;
+                if (current == null) {
+                    current = new HashMap<>();
+                    for (final JarEntry nested : nestedJars()) {
+                        try (final JarInputStream in = openNestedJar(nested)) {
+                            for (JarEntry e = in.getNextJarEntry(); e != null; e = in.getNextJarEntry()) {
+                                if (e.getName().endsWith(CLASS_EXTENSION)) {
+                                    current.putIfAbsent(e.getName(), nested.getName());
+                                }
+                            }
+                        }
+                    }
+                    index = Collections.unmodifiableMap(current);
+                }
+            }
+        }
+        return current;
+    }
+
+    /**
+     * Closes the fat jar, and drops the bytes offered and the index of nested jars. Classes already defined remain
+     * usable, but no more classes can be loaded.
+     */
+    @Override
+    public void close() throws IOException {
+        offered.clear();
+        index = Collections.emptyMap();
+        outer.close();
+    }
+}
@@ -0,0 +1,155 @@
+package net.exoego.typefind.reader;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.Set;
+import java.util.function.Predicate;
+
+import static net.exoego.util.MoreCollectors.toImmutableSet;
+
+/**
+ * Tests if a package is included, by looking up the package name segment by segment in a tree of packages.
+ * The cost depends only on the depth of the package, not on how many packages are included.
+ * <p>
+ * Packages are given as rules. A rule like {@code "java.util"} matches the package itself only, and a rule like
+ * {@code "java.util.*"} matches the package and all of its sub packages. The most specific rule wins, so that
+ * {@code include("com.example.*")} and {@code exclude("com.example.internal.*")} can be combined. If no package is
+ * included explicitly, all packages but the excluded ones are included.
+ */
+public final class PackageMatcher implements Predicate<String> {
+    private static final String SUBPACKAGES = ".*";
+    private final PackageNode root;
+    private final boolean includedByDefault;
+    private final Set<String> includes;
+    private final Set<String> excludes;
+
+    private PackageMatcher(final Set<String> includes, final Set<String> excludes) {
+        this.includes = includes.stream().collect(toImmutableSet());
+        this.excludes = excludes.stream().collect(toImmutableSet());
+        this.includedByDefault = includes.isEmpty();
+        final PackageNode tree = PackageNode.root();
+        includes.forEach(rule -> add(tree, rule, PackageNode.INCLUDE));
+        excludes.forEach(rule -> add(tree, rule, PackageNode.EXCLUDE));
+        this.root = tree.freeze();
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    private static void add(final PackageNode root, final String rule, final byte decision) {
+        final boolean subpackages = rule.endsWith(SUBPACKAGES);
+        final String packageName = subpackages ? rule.substring(0, rule.length() - SUBPACKAGES.length()) : rule;
+        if (packageName.isEmpty()) {
+            throw new IllegalArgumentException("package must not be empty: " + rule);
+        }
+        PackageNode node = root;
+        for (final String segment : packageName.split("\\.", -1)) {
+            if (segment.isEmpty()) {
+                throw new IllegalArgumentException("malformed package: " + rule);
+            }
+            node = node.child(segment);
+        }
+        if (subpackages) {
+            node.setSubpackages(decision);
+        } else {
+            node.setSelf(decision);
+        }
+    }
+
+    /**
+     * Tests if the given package, like "java.util", is included.
+     *
+     * @param packageName the package name separated by dot.
+     * @return {@code true} if the package is included.
+     */
+    @Override
+    public boolean test(final String packageName) {
+        return packageName != null && matches(packageName, packageName.length(), '.');
+    }
+
+    /**
+     * Tests if the package in the first {@code length} characters of the given name is included.
+     *
+     * @param name      a name starting with a package name, like "java.util.Map" or "java/util/Map.class".
+     * @param length    the length of the package name part.
+     * @param separator the character separating the segments of the package name, '.' or '/'.
+     * @return {@code true} if the package is included.
+     */
+    public boolean matches(final CharSequence name, final int length, final char separator) {
+        byte inherited = PackageNode.NONE;
+        PackageNode node = root;
+        int start = 0;
+        while (start <= length) {
+            int end = start;
+            while (end < length && name.charAt(end) != separator) {
+                end++;
+            }
+            node = node.find(name, start, end);
+            if (node == null) {
+                return decide(inherited);
+            }
+            if (node.getSubpackages() != PackageNode.NONE) {
+                inherited = node.getSubpackages();
+            }
+            start = end + 1;
+        }
+        return decide(node.getSelf() != PackageNode.NONE ? node.getSelf() : inherited);
+    }
+
+    private boolean decide(final byte decision) {
+        return decision == PackageNode.NONE ? includedByDefault : decision == PackageNode.INCLUDE;
+    }
+
+    /**
+     * Returns a builder starting with the rules of this matcher, to add more rules.
+     *
+     * @return a new builder.
+     */
+    public Builder toBuilder() {
+        return builder().include(includes).exclude(excludes);
+    }
+
+    public Set<String> getIncludes() {
+        return includes;
+    }
+
+    public Set<String> getExcludes() {
+        return excludes;
+    }
+
+    @Override
+    public String toString() {
+        return "PackageMatcher{includes=" + includes + ", excludes=" + excludes + '}';
+    }
+
+    public static final class Builder {
+        private final Set<String> includes = new LinkedHashSet<>();
+        private final Set<String> excludes = new LinkedHashSet<>();
+
+        private Builder() { }
+
+        public Builder include(final String... rules) {
+            return include(Arrays.asList(rules));
+        }
+
+        public Builder include(final Collection<String> rules) {
+            includes.addAll(rules);
+            return this;
+        }
+
+        public Builder exclude(final String... rules) {
+            return exclude(Arrays.asList(rules));
+        }
+
+        public Builder exclude(final Collection<String> rules) {
+            excludes.addAll(rules);
+            return this;
+        }
+
+        public PackageMatcher build() {
+            return new PackageMatcher(includes, excludes);
+        }
+    }
+}
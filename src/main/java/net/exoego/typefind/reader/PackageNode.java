@@ -1,84 +1,114 @@
 package net.exoego.typefind.reader;
 
-import java.util.AbstractMap;
-import java.util.Comparator;
-import java.util.HashMap;
 import java.util.Map;
-import java.util.Set;
-import java.util.StringJoiner;
+import java.util.TreeMap;
 
-final class PackageNode extends AbstractMap<PackageNode, PackageNode> {
-    private static final String PACKAGE_NAME_SENTINEL = "<>";
+/**
+ * A node of the package tree, one per segment of package names like "java" and "util" of "java.util".
+ * <p>
+ * Children are held in a map while the tree is built, then {@link #freeze() frozen} into a sorted array, so that a
+ * package name is looked up segment by segment without cutting it into {@code String}s.
+ */
+final class PackageNode {
+    static final byte NONE = 0;
+    static final byte INCLUDE = 1;
+    static final byte EXCLUDE = 2;
+    private static final String[] NO_NAMES = new String[0];
+    private static final PackageNode[] NO_NODES = new PackageNode[0];
     private final String name;
-    private final Map<PackageNode, PackageNode> sub = new HashMap<PackageNode, PackageNode>();
-    private final int depth;
+    private Map<String, PackageNode> sub = new TreeMap<>();
+    private String[] names = NO_NAMES;
+    private PackageNode[] nodes = NO_NODES;
+    /**
+     * Whether the package of this node itself is included or excluded.
+     */
+    private byte self = NONE;
+    /**
+     * Whether the package of this node and all of its sub packages are included or excluded.
+     */
+    private byte subpackages = NONE;
 
-    private PackageNode(final String name, int depth) {
+    private PackageNode(final String name) {
         this.name = name;
-        this.depth = depth;
     }
 
-    static PackageNode newInstance(final String name, int depth) {
-        return new PackageNode(name, depth);
+    static PackageNode root() {
+        return new PackageNode("");
     }
 
-    static PackageNode sentinel(int depth) {
-        return new PackageNode(PACKAGE_NAME_SENTINEL, depth);
-    }
-
-    public String getName() {
+    String getName() {
         return name;
     }
 
-    @Override
-    public PackageNode put(PackageNode key, PackageNode value) {
-        return sub.put(key, value);
+    PackageNode child(final String segment) {
+        return sub.computeIfAbsent(segment, PackageNode::new);
     }
 
-    @Override
-    public PackageNode get(Object key) {
-        return sub.get(key);
+    void setSelf(final byte rule) {
+        self = rule;
     }
 
-    public PackageNode add(PackageNode key) {
-        return put(key, key);
+    void setSubpackages(final byte rule) {
+        subpackages = rule;
     }
 
-    @Override
-    public Set<Entry<PackageNode, PackageNode>> entrySet() {
-        return sub.entrySet();
+    byte getSelf() {
+        return self;
     }
 
-    @Override
-    public boolean containsKey(Object key) {
-        return sub.containsKey(key);
+    byte getSubpackages() {
+        return subpackages;
     }
 
-    @Override
-    public boolean equals(final Object o) {
-        if (this == o) {
-            return true;
-        }
-        if (!(o instanceof PackageNode)) {
-            return false;
+    /**
+     * Makes this tree read-only and ready for {@link #find}.
+     */
+    PackageNode freeze() {
+        if (sub != null) {
+            names = sub.keySet().toArray(NO_NAMES);
+            nodes = sub.values().toArray(NO_NODES);
+            sub = null;
+            for (final PackageNode node : nodes) {
+                node.freeze();
+            }
         }
-        final PackageNode that = (PackageNode) o;
-        return name.equals(that.name);
+        return this;
     }
 
-    public String toPatternGroup() {
-        final String dot = (depth != 0) ? "\\." : "";
-        final StringJoiner joiner = new StringJoiner("|", dot + name + "(?:", ")");
-        sub.keySet().stream()
-           .sorted(Comparator.comparing(PackageNode::getName))
-           .forEach(p -> joiner.add(p.toPatternGroup()));
-        return joiner.toString()
-                     .replace("\\." + PACKAGE_NAME_SENTINEL, "")
-                     .replace("(?:)", "");
+    /**
+     * Finds the child named by the region of the given characters.
+     *
+     * @return the child, or {@code null} if not found.
+     */
+    PackageNode find(final CharSequence chars, final int start, final int end) {
+        int lo = 0;
+        int hi = names.length - 1;
+        while (lo <= hi) {
+            final int mid = (lo + hi) >>> 1;
+            final int c = compare(names[mid], chars, start, end);
+            if (c < 0) {
+                lo = mid + 1;
+            } else if (c > 0) {
+                hi = mid - 1;
+            } else {
+                return nodes[mid];
+            }
+        }
+        return null;
     }
 
-    @Override
-    public int hashCode() {
-        return name.hashCode();
+    /**
+     * Compares like {@link String#compareTo}, so that the order agrees with the one of {@code TreeMap}.
+     */
+    private static int compare(final String name, final CharSequence chars, final int start, final int end) {
+        final int length = end - start;
+        final int common = Math.min(name.length(), length);
+        for (int i = 0; i < common; i++) {
+            final int c = name.charAt(i) - chars.charAt(start + i);
+            if (c != 0) {
+                return c;
+            }
+        }
+        return name.length() - length;
     }
 }
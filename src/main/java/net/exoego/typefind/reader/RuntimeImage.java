@@ -0,0 +1,130 @@
+package net.exoego.typefind.reader;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.reflect.Method;
+import java.net.URI;
+import java.nio.file.FileSystem;
+import java.nio.file.FileSystemNotFoundException;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.ProviderNotFoundException;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Reads the module image of the running JDK 9+ through the {@code jrt:/} file system.
+ * <p>
+ * This is compiled for Java 8, so the module API is called reflectively.
+ */
+public final class RuntimeImage {
+    private static final String MODULES = "/modules";
+    private static final Optional<FileSystem> JRT = openJrt();
+
+    private RuntimeImage() { }
+
+    private static Optional<FileSystem> openJrt() {
+        try {
+            return Optional.of(FileSystems.getFileSystem(URI.create("jrt:/")));
+        } catch (FileSystemNotFoundException | ProviderNotFoundException e) {
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * Tests if the running JDK has a module image, that is JDK 9 or later.
+     *
+     * @return {@code true} if the {@code jrt:/} file system is available.
+     */
+    public static boolean isAvailable() {
+        return JRT.isPresent();
+    }
+
+    /**
+     * Returns a {@code PackageMatcher} of the packages exported without qualification by {@code java.*} modules
+     * of the running JDK, that is the Java SE API.
+     *
+     * @return a {@code PackageMatcher} of the Java SE API packages.
+     */
+    public static PackageMatcher javaExports() {
+        return exports(name -> name.startsWith("java."));
+    }
+
+    /**
+     * Returns a {@code PackageMatcher} of the packages exported without qualification by the modules of the running
+     * JDK whose names match the given predicate.
+     *
+     * @param moduleNames selects the modules, like "java.base" or "jdk.jfr".
+     * @return a {@code PackageMatcher} of the exported packages.
+     */
+    public static PackageMatcher exports(final Predicate<String> moduleNames) {
+        requireAvailable();
+        final Set<String> packages = new TreeSet<>();
+        try {
+            final Class<?> layerClass = Class.forName("java.lang.ModuleLayer");
+            final Class<?> moduleClass = Class.forName("java.lang.Module");
+            final Class<?> descriptorClass = Class.forName("java.lang.module.ModuleDescriptor");
+            final Class<?> exportsClass = Class.forName("java.lang.module.ModuleDescriptor$Exports");
+            final Method getName = moduleClass.getMethod("getName");
+            final Method getDescriptor = moduleClass.getMethod("getDescriptor");
+            final Method exports = descriptorClass.getMethod("exports");
+            final Method isQualified = exportsClass.getMethod("isQualified");
+            final Method source = exportsClass.getMethod("source");
+
+            final Object boot = layerClass.getMethod("boot").invoke(null);
+            for (final Object module : (Set<?>) layerClass.getMethod("modules").invoke(boot)) {
+                if (!moduleNames.test((String) getName.invoke(module))) {
+                    continue;
+                }
+                for (final Object export : (Set<?>) exports.invoke(getDescriptor.invoke(module))) {
+                    if (!(Boolean) isQualified.invoke(export)) {
+                        packages.add((String) source.invoke(export));
+                    }
+                }
+            }
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("failed to read exports of modules", e);
+        }
+        return PackageMatcher.builder().include(packages).build();
+    }
+
+    /**
+     * Returns the roots of modules in the image, like {@code /modules/java.base}.
+     * The directory is listed and closed before this method returns.
+     */
+    static Stream<Path> modules() {
+        requireAvailable();
+        try (final Stream<Path> list = Files.list(JRT.get().getPath(MODULES))) {
+            return list.collect(Collectors.toList()).stream();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Returns the paths of class files in the given module, relative to the module like "java/util/Map.class".
+     * The module is walked and its directories are closed before this method returns.
+     */
+    static Stream<String> classFiles(final Path module) {
+        try (final Stream<Path> walk = Files.walk(module)) {
+            return walk.filter(path -> path.toString().endsWith(".class"))
+                       .map(path -> module.relativize(path).toString())
+                       .collect(Collectors.toList())
+                       .stream();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static void requireAvailable() {
+        if (!isAvailable()) {
+            throw new IllegalStateException("jrt:/ file system is not available in Java " +
+                                            System.getProperty("java.specification.version"));
+        }
+    }
+}
@@ -0,0 +1,87 @@
+package net.exoego.typefind.reader.maven;
+
+import java.util.Objects;
+
+/**
+ * Coordinates of a Maven artifact, groupId:artifactId:version.
+ */
+public final class Gav implements Comparable<Gav> {
+    private final String groupId;
+    private final String artifactId;
+    private final String version;
+
+    private Gav(final String groupId, final String artifactId, final String version) {
+        this.groupId = groupId;
+        this.artifactId = artifactId;
+        this.version = version;
+    }
+
+    public static Gav of(final String groupId, final String artifactId, final String version) {
+        Objects.requireNonNull(groupId);
+        Objects.requireNonNull(artifactId);
+        Objects.requireNonNull(version);
+        return new Gav(groupId, artifactId, version);
+    }
+
+    /**
+     * Parses "groupId:artifactId:version".
+     *
+     * @param coordinates the coordinates separated by colon.
+     * @return the parsed {@code Gav}.
+     */
+    public static Gav parse(final String coordinates) {
+        final String[] parts = coordinates.split(":", -1);
+        if (parts.length != 3 || parts[0].isEmpty() || parts[1].isEmpty() || parts[2].isEmpty()) {
+            throw new IllegalArgumentException("expected groupId:artifactId:version, but was " + coordinates);
+        }
+        return new Gav(parts[0], parts[1], parts[2]);
+    }
+
+    public String getGroupId() {
+        return groupId;
+    }
+
+    public String getArtifactId() {
+        return artifactId;
+    }
+
+    public String getVersion() {
+        return version;
+    }
+
+    /**
+     * Returns "groupId:artifactId", which identifies the artifact regardless of its version.
+     *
+     * @return groupId and artifactId separated by colon.
+     */
+    public String getKey() {
+        return groupId + ':' + artifactId;
+    }
+
+    @Override
+    public int compareTo(final Gav o) {
+        return toString().compareTo(o.toString());
+    }
+
+    @Override
+    public boolean equals(final Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        final Gav gav = (Gav) o;
+        return groupId.equals(gav.groupId) && artifactId.equals(gav.artifactId) && version.equals(gav.version);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(groupId, artifactId, version);
+    }
+
+    @Override
+    public String toString() {
+        return groupId + ':' + artifactId + ':' + version;
+    }
+}
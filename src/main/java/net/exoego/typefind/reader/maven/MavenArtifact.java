@@ -0,0 +1,42 @@
+package net.exoego.typefind.reader.maven;
+
+import java.nio.file.Path;
+import java.util.List;
+
+/**
+ * A jar of an artifact found in a {@link MavenRepository}.
+ */
+public final class MavenArtifact {
+    private final MavenRepository repository;
+    private final Gav gav;
+    private final Path jar;
+
+    MavenArtifact(final MavenRepository repository, final Gav gav, final Path jar) {
+        this.repository = repository;
+        this.gav = gav;
+        this.jar = jar;
+    }
+
+    public Gav getGav() {
+        return gav;
+    }
+
+    public Path getJar() {
+        return jar;
+    }
+
+    /**
+     * Returns the jars this artifact depends on, resolved within the repository.
+     *
+     * @return the jars of the dependencies found in the repository, nearest first.
+     * @see MavenRepository#classpath(Gav)
+     */
+    public List<Path> classpath() {
+        return repository.classpath(gav);
+    }
+
+    @Override
+    public String toString() {
+        return gav.toString();
+    }
+}
@@ -0,0 +1,377 @@
+package net.exoego.typefind.reader.maven;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * A local Maven repository, such as {@code ~/.m2/repository} or a mirror of it in the same layout.
+ * <p>
+ * Dependencies are resolved from the POMs in the repository only, never downloaded. The resolution covers what is
+ * needed to link classes: inheritance from parent POMs, properties, {@code dependencyManagement} including imported
+ * BOMs, and transitive compile and runtime dependencies, nearest first. Exclusions are not applied, and versions
+ * that cannot be determined, such as ranges, are resolved to the highest version in the repository.
+ */
+public final class MavenRepository {
+    private static final Pattern PROPERTY = Pattern.compile("\\$\\{([^}]+)}");
+    private static final Set<String> DIRECT_SCOPES = new HashSet<>(Arrays.asList("", "compile", "runtime",
+                                                                                 "provided"));
+    private static final Set<String> TRANSITIVE_SCOPES = new HashSet<>(Arrays.asList("", "compile", "runtime"));
+    private static final int MAX_PARENTS = 32;
+    private static final Pattern VERSION_PART = Pattern.compile("\\d+|[^\\d.\\-_]+");
+    private static final Map<String, Integer> QUALIFIERS = qualifiers("alpha a", "beta b", "milestone m", "rc cr",
+                                                                      "snapshot", "ga final release", "sp");
+    private final Path root;
+    private final Map<Gav, Optional<Model>> models = new ConcurrentHashMap<>();
+
+    private static Map<String, Integer> qualifiers(final String... ranks) {
+        final Map<String, Integer> qualifiers = new HashMap<>();
+        for (int rank = 0; rank < ranks.length; rank++) {
+            for (final String qualifier : ranks[rank].split(" ")) {
+                qualifiers.put(qualifier, rank);
+            }
+        }
+        qualifiers.put("", qualifiers.get("ga"));
+        return Collections.unmodifiableMap(qualifiers);
+    }
+
+    public MavenRepository(final Path root) {
+        Objects.requireNonNull(root);
+        this.root = root;
+    }
+
+    /**
+     * Returns the local repository of the current user, as given by {@code maven.repo.local} system property or
+     * {@code ~/.m2/repository}.
+     *
+     * @return the local repository.
+     */
+    public static MavenRepository local() {
+        final String configured = System.getProperty("maven.repo.local");
+        return new MavenRepository(configured != null
+                                   ? Paths.get(configured)
+                                   : Paths.get(System.getProperty("user.home"), ".m2", "repository"));
+    }
+
+    public Path getRoot() {
+        return root;
+    }
+
+    /**
+     * Returns all artifacts which have both a POM and a jar in the repository.
+     *
+     * @return the artifacts in the repository.
+     */
+    public Stream<MavenArtifact> artifacts() {
+        try (final Stream<Path> files = Files.walk(root)) {
+            return files.filter(path -> path.getFileName().toString().endsWith(".pom"))
+                        .map(this::artifactOf)
+                        .filter(Optional::isPresent)
+                        .map(Optional::get)
+                        .collect(Collectors.toList())
+                        .stream();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private Optional<MavenArtifact> artifactOf(final Path pom) {
+        final Path relative = root.relativize(pom);
+        final int count = relative.getNameCount();
+        if (count < 4) {
+            return Optional.empty();
+        }
+        final String version = relative.getName(count - 2).toString();
+        final String artifactId = relative.getName(count - 3).toString();
+        if (!pom.getFileName().toString().equals(artifactId + '-' + version + ".pom")) {
+            return Optional.empty();
+        }
+        final String groupId = relative.subpath(0, count - 3).toString().replace(relative.getFileSystem()
+                                                                                         .getSeparator(), ".");
+        final Gav gav = Gav.of(groupId, artifactId, version);
+        final Path jar = pathOf(gav, "", "jar");
+        return Files.isRegularFile(jar) ? Optional.of(new MavenArtifact(this, gav, jar)) : Optional.empty();
+    }
+
+    /**
+     * Returns the path of a file of the given artifact in this repository, which may not exist.
+     *
+     * @param gav        the artifact.
+     * @param classifier the classifier like "sources", or empty.
+     * @param extension  the extension like "jar" and "pom".
+     * @return the path of the file.
+     */
+    public Path pathOf(final Gav gav, final String classifier, final String extension) {
+        Path dir = root;
+        for (final String segment : gav.getGroupId().split("\\.")) {
+            dir = dir.resolve(segment);
+        }
+        final String suffix = classifier.isEmpty() ? "" : '-' + classifier;
+        return dir.resolve(gav.getArtifactId())
+                  .resolve(gav.getVersion())
+                  .resolve(gav.getArtifactId() + '-' + gav.getVersion() + suffix + '.' + extension);
+    }
+
+    /**
+     * Returns the jars the given artifact depends on, resolved within this repository. Dependencies missing in the
+     * repository are skipped.
+     *
+     * @param gav the artifact.
+     * @return the jars of the dependencies, nearest first.
+     */
+    public List<Path> classpath(final Gav gav) {
+        final Optional<Model> rootModel = model(gav, 0);
+        if (!rootModel.isPresent()) {
+            return Collections.emptyList();
+        }
+        final List<Path> jars = new ArrayList<>();
+        final Set<String> seen = new HashSet<>();
+        seen.add(gav.getKey());
+        final Deque<Pom.Dependency> queue = new ArrayDeque<>();
+        rootModel.get().dependencies.stream().filter(d -> DIRECT_SCOPES.contains(d.scope)).forEach(queue::add);
+        while (!queue.isEmpty()) {
+            final Pom.Dependency dependency = queue.poll();
+            if (!dependency.type.equals("jar") || !seen.add(dependency.key())) {
+                continue;
+            }
+            final Optional<Gav> resolved = resolveVersion(dependency);
+            if (!resolved.isPresent()) {
+                continue;
+            }
+            final Path jar = pathOf(resolved.get(), dependency.classifier, "jar");
+            if (Files.isRegularFile(jar)) {
+                jars.add(jar);
+            }
+            model(resolved.get(), 0).ifPresent(m -> m.dependencies.stream()
+                                                                  .filter(d -> TRANSITIVE_SCOPES.contains(d.scope))
+                                                                  .filter(d -> !d.optional)
+                                                                  .forEach(queue::add));
+        }
+        return jars;
+    }
+
+    private Optional<Gav> resolveVersion(final Pom.Dependency dependency) {
+        final String version = dependency.version;
+        if (!version.isEmpty() && !version.contains("${") && !version.startsWith("[") && !version.startsWith("(")) {
+            return Optional.of(Gav.of(dependency.groupId, dependency.artifactId, version));
+        }
+        return highestVersion(dependency.groupId, dependency.artifactId)
+                .map(v -> Gav.of(dependency.groupId, dependency.artifactId, v));
+    }
+
+    private Optional<String> highestVersion(final String groupId, final String artifactId) {
+        final Path dir = pathOf(Gav.of(groupId, artifactId, "_"), "", "pom").getParent().getParent();
+        if (!Files.isDirectory(dir)) {
+            return Optional.empty();
+        }
+        try (final Stream<Path> versions = Files.list(dir)) {
+            return versions.filter(Files::isDirectory)
+                           .map(path -> path.getFileName().toString())
+                           .max(MavenRepository::compareVersions);
+        } catch (IOException e) {
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * Compares versions like "1.10" and "1.9.2" part by part, numerically where both parts are numbers, and
+     * qualifiers in the order of Maven: alpha, beta, milestone, rc, snapshot, release (also "ga" and "final") and sp,
+     * then any other qualifier alphabetically. Missing parts are taken as zero or release, so "1.0-SNAPSHOT" is lower
+     * than "1.0", which equals "1.0.0".
+     */
+    static int compareVersions(final String a, final String b) {
+        final List<String> as = versionParts(a);
+        final List<String> bs = versionParts(b);
+        for (int i = 0; i < Math.max(as.size(), bs.size()); i++) {
+            final int c = compareVersionParts(i < as.size() ? as.get(i) : null, i < bs.size() ? bs.get(i) : null);
+            if (c != 0) {
+                return c;
+            }
+        }
+        return 0;
+    }
+
+    private static List<String> versionParts(final String version) {
+        final List<String> parts = new ArrayList<>();
+        final Matcher matcher = VERSION_PART.matcher(version.toLowerCase(Locale.ROOT));
+        while (matcher.find()) {
+            final String part = matcher.group();
+            parts.add(isNumber(part) ? part.replaceFirst("^0+(?=.)", "") : part);
+        }
+        return parts;
+    }
+
+    private static int compareVersionParts(final String a, final String b) {
+        if (a == null) {
+            return -compareVersionParts(b, null);
+        }
+        if (isNumber(a)) {
+            if (b == null) {
+                return a.equals("0") ? 0 : 1;
+            }
+            return isNumber(b)
+                   ? a.length() != b.length() ? Integer.compare(a.length(), b.length()) : a.compareTo(b)
+                   : 1;
+        }
+        if (b == null) {
+            return compareQualifiers(a, "");
+        }
+        return isNumber(b) ? -1 : compareQualifiers(a, b);
+    }
+
+    private static int compareQualifiers(final String a, final String b) {
+        final int c = Integer.compare(qualifierRank(a), qualifierRank(b));
+        return c != 0 || qualifierRank(a) < QUALIFIERS.size() ? c : a.compareTo(b);
+    }
+
+    private static int qualifierRank(final String qualifier) {
+        final Integer rank = QUALIFIERS.get(qualifier);
+        return rank != null ? rank : QUALIFIERS.size();
+    }
+
+    private static boolean isNumber(final String part) {
+        return Character.isDigit(part.charAt(0));
+    }
+
+    /**
+     * Returns the effective model of the given artifact, or empty if its POM is not in the repository.
+     * Models are cached, since parents and BOMs are shared by many artifacts.
+     */
+    private Optional<Model> model(final Gav gav, final int depth) {
+        final Optional<Model> cached = models.get(gav);
+        if (cached != null) {
+            return cached;
+        }
+        // not computeIfAbsent, which does not allow to compute parents recursively
+        final Optional<Model> model = depth > MAX_PARENTS ? Optional.empty() : readModel(gav, depth);
+        models.put(gav, model);
+        return model;
+    }
+
+    private Optional<Model> readModel(final Gav gav, final int depth) {
+        final Pom pom;
+        try {
+            final Path file = pathOf(gav, "", "pom");
+            if (!Files.isRegularFile(file)) {
+                return Optional.empty();
+            }
+            pom = Pom.read(file);
+        } catch (IOException e) {
+            System.err.printf("failed to read POM of %s: %s%n", gav, e);
+            return Optional.empty();
+        }
+        final Optional<Model> parent = pom.getParent().flatMap(p -> model(p, depth + 1));
+
+        final Map<String, String> properties = new HashMap<>();
+        parent.ifPresent(p -> properties.putAll(p.properties));
+        properties.putAll(pom.getProperties());
+        properties.put("project.groupId", gav.getGroupId());
+        properties.put("project.artifactId", gav.getArtifactId());
+        properties.put("project.version", gav.getVersion());
+        properties.put("pom.version", gav.getVersion());
+        properties.put("version", gav.getVersion());
+        pom.getParent().ifPresent(p -> properties.put("project.parent.version", p.getVersion()));
+
+        final Map<String, String> managed = new HashMap<>();
+        parent.ifPresent(p -> managed.putAll(p.managed));
+        for (final Pom.Dependency d : pom.getManagedDependencies()) {
+            final Pom.Dependency dependency = interpolate(d, properties);
+            if (dependency.scope.equals("import") && dependency.type.equals("pom")) {
+                resolveVersion(dependency).flatMap(bom -> model(bom, depth + 1))
+                                          .ifPresent(bom -> bom.managed.forEach(managed::putIfAbsent));
+            } else {
+                managed.put(dependency.key(), dependency.version);
+            }
+        }
+
+        final Map<String, Pom.Dependency> dependencies = new LinkedHashMap<>();
+        parent.ifPresent(p -> p.dependencies.forEach(d -> dependencies.put(d.key(), d)));
+        for (final Pom.Dependency d : pom.getDependencies()) {
+            final Pom.Dependency dependency = interpolate(d, properties);
+            dependencies.put(dependency.key(), dependency);
+        }
+        final List<Pom.Dependency> versioned = dependencies.values()
+                                                           .stream()
+                                                           .map(d -> d.version.isEmpty()
+                                                                     ? withVersion(d, managed.getOrDefault(d.key(), ""))
+                                                                     : d)
+                                                           .collect(Collectors.toList());
+        return Optional.of(new Model(properties, managed, versioned));
+    }
+
+    private static Pom.Dependency interpolate(final Pom.Dependency d, final Map<String, String> properties) {
+        return new Pom.Dependency(interpolate(d.groupId, properties),
+                                  interpolate(d.artifactId, properties),
+                                  interpolate(d.version, properties),
+                                  interpolate(d.type, properties),
+                                  interpolate(d.classifier, properties),
+                                  interpolate(d.scope, properties),
+                                  d.optional);
+    }
+
+    private static Pom.Dependency withVersion(final Pom.Dependency d, final String version) {
+        return new Pom.Dependency(d.groupId, d.artifactId, version, d.type, d.classifier, d.scope, d.optional);
+    }
+
+    static String interpolate(final String value, final Map<String, String> properties) {
+        String current = value;
+        // properties may refer to other properties, but not forever
+        for (int i = 0; i < 10 && current.contains("${"); i++) {
+            final Matcher matcher = PROPERTY.matcher(current);
+            final StringBuffer sb = new StringBuffer();
+            while (matcher.find()) {
+                final String replacement = properties.getOrDefault(matcher.group(1), matcher.group());
+                matcher.appendReplacement(sb, Matcher.quoteReplacement(replacement));
+            }
+            matcher.appendTail(sb);
+            if (sb.toString().equals(current)) {
+                break;
+            }
+            current = sb.toString();
+        }
+        return current;
+    }
+
+    @Override
+    public String toString() {
+        return "MavenRepository{" + root + '}';
+    }
+
+    /**
+     * A POM with its parents and imported BOMs applied.
+     */
+    private static final class Model {
+        private final Map<String, String> properties;
+        private final Map<String, String> managed;
+        private final List<Pom.Dependency> dependencies;
+
+        private Model(final Map<String, String> properties,
+                      final Map<String, String> managed,
+                      final List<Pom.Dependency> dependencies) {
+            this.properties = properties;
+            this.managed = managed;
+            this.dependencies = dependencies;
+        }
+    }
+}
@@ -0,0 +1,150 @@
+package net.exoego.typefind.reader.maven;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import javax.xml.XMLConstants;
+import javax.xml.parsers.DocumentBuilder;
+import javax.xml.parsers.DocumentBuilderFactory;
+import javax.xml.parsers.ParserConfigurationException;
+
+import org.w3c.dom.Document;
+import org.w3c.dom.Element;
+import org.w3c.dom.Node;
+import org.xml.sax.SAXException;
+
+/**
+ * The part of a POM needed to resolve dependencies locally, as written in the file, without inheritance nor
+ * interpolation.
+ */
+final class Pom {
+    private final Optional<Gav> parent;
+    private final Map<String, String> properties;
+    private final List<Dependency> dependencies;
+    private final List<Dependency> managedDependencies;
+
+    private Pom(final Element project) {
+        final Optional<Element> parentElement = child(project, "parent");
+        this.parent = parentElement.map(p -> Gav.of(text(p, "groupId", ""),
+                                                    text(p, "artifactId", ""),
+                                                    text(p, "version", "")));
+        final Map<String, String> props = new HashMap<>();
+        child(project, "properties").ifPresent(p -> {
+            for (final Element property : children(p)) {
+                props.put(property.getTagName(), property.getTextContent().trim());
+            }
+        });
+        this.properties = Collections.unmodifiableMap(props);
+        this.dependencies = dependencies(child(project, "dependencies"));
+        this.managedDependencies = dependencies(child(project, "dependencyManagement")
+                                                        .flatMap(m -> child(m, "dependencies")));
+    }
+
+    static Pom read(final Path file) throws IOException {
+        try (final InputStream in = Files.newInputStream(file)) {
+            final DocumentBuilderFactory factory = DocumentBuilderFactory.newInstance();
+            factory.setFeature(XMLConstants.FEATURE_SECURE_PROCESSING, true);
+            factory.setFeature("http://apache.org/xml/features/disallow-doctype-decl", true);
+            final DocumentBuilder builder = factory.newDocumentBuilder();
+            final Document document = builder.parse(in);
+            return new Pom(document.getDocumentElement());
+        } catch (ParserConfigurationException | SAXException e) {
+            throw new IOException("malformed POM: " + file, e);
+        }
+    }
+
+    private static List<Dependency> dependencies(final Optional<Element> dependencies) {
+        if (!dependencies.isPresent()) {
+            return Collections.emptyList();
+        }
+        final List<Dependency> list = new ArrayList<>();
+        for (final Element dependency : children(dependencies.get())) {
+            if (dependency.getTagName().equals("dependency")) {
+                list.add(new Dependency(text(dependency, "groupId", ""),
+                                        text(dependency, "artifactId", ""),
+                                        text(dependency, "version", ""),
+                                        text(dependency, "type", "jar"),
+                                        text(dependency, "classifier", ""),
+                                        text(dependency, "scope", ""),
+                                        Boolean.parseBoolean(text(dependency, "optional", "false"))));
+            }
+        }
+        return Collections.unmodifiableList(list);
+    }
+
+    private static List<Element> children(final Element parent) {
+        final List<Element> elements = new ArrayList<>();
+        for (Node node = parent.getFirstChild(); node != null; node = node.getNextSibling()) {
+            if (node instanceof Element) {
+                elements.add((Element) node);
+            }
+        }
+        return elements;
+    }
+
+    private static Optional<Element> child(final Element parent, final String name) {
+        for (final Element element : children(parent)) {
+            if (element.getTagName().equals(name)) {
+                return Optional.of(element);
+            }
+        }
+        return Optional.empty();
+    }
+
+    private static String text(final Element parent, final String name, final String defaultValue) {
+        return child(parent, name).map(e -> e.getTextContent().trim()).orElse(defaultValue);
+    }
+
+    Optional<Gav> getParent() {
+        return parent;
+    }
+
+    Map<String, String> getProperties() {
+        return properties;
+    }
+
+    List<Dependency> getDependencies() {
+        return dependencies;
+    }
+
+    List<Dependency> getManagedDependencies() {
+        return managedDependencies;
+    }
+
+    static final class Dependency {
+        final String groupId;
+        final String artifactId;
+        final String version;
+        final String type;
+        final String classifier;
+        final String scope;
+        final boolean optional;
+
+        Dependency(final String groupId,
+                   final String artifactId,
+                   final String version,
+                   final String type,
+                   final String classifier,
+                   final String scope,
+                   final boolean optional) {
+            this.groupId = groupId;
+            this.artifactId = artifactId;
+            this.version = version;
+            this.type = type;
+            this.classifier = classifier;
+            this.scope = scope;
+            this.optional = optional;
+        }
+
+        String key() {
+            return groupId + ':' + artifactId;
+        }
+    }
+}
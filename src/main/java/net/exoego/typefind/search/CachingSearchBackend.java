@@ -0,0 +1,141 @@
+package net.exoego.typefind.search;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import net.exoego.typefind.definition.SamShape;
+
+/**
+ * Caches pages answered by another {@link SearchBackend}, keyed by the {@link QueryNormalizer normalized} query and
+ * its {@link SearchQuery#getSignature() signature key}, which keeps the order of arguments, and by its
+ * {@link SearchQuery#getExpansions() expansions}. The normalized form is used only in the key: the delegate is asked
+ * with the original query, so that it still sees the written form as well as the signature and expansions.
+ * The cache is bounded both in size and in time-to-live, and evicts with W-TinyLFU so that popular signatures stay
+ * cached while one-off keystrokes do not pollute it. All entries are invalidated when the
+ * {@link SearchBackend#generation() generation} of the underlying index changes.
+ */
+public class CachingSearchBackend implements SearchBackend {
+    private final SearchBackend delegate;
+    private final Cache<Key, SearchPage> cache;
+    private final long generationCheckIntervalNanos;
+    private volatile long generation;
+    private volatile long nextGenerationCheck;
+
+    public CachingSearchBackend(
+            final SearchBackend delegate,
+            final long maximumSize,
+            final Duration timeToLive,
+            final Duration generationCheckInterval) {
+        Objects.requireNonNull(delegate);
+        this.delegate = delegate;
+        this.cache = Caffeine.newBuilder()
+                             .maximumSize(maximumSize)
+                             .expireAfterWrite(timeToLive.toNanos(), TimeUnit.NANOSECONDS)
+                             .recordStats()
+                             .build();
+        this.generationCheckIntervalNanos = generationCheckInterval.toNanos();
+        // checked on the first search, so that construction does not need the delegate to be available
+        this.nextGenerationCheck = System.nanoTime();
+    }
+
+    @Override
+    public SearchPage search(final SearchQuery query) {
+        final long current = generation();
+        final Key key = new Key(QueryNormalizer.normalize(query.getQuery()),
+                                query.getSignature().getFingerprint(),
+                                query.getExpansions(),
+                                query.getFrom(),
+                                query.getSize(),
+                                current);
+        return cache.get(key, k -> delegate.search(query));
+    }
+
+    @Override
+    public long generation() {
+        final long now = System.nanoTime();
+        if (now - nextGenerationCheck >= 0) {
+            synchronized (this) {
+                if (now - nextGenerationCheck >= 0) {
+                    final long latest = delegate.generation();
+                    if (latest != generation) {
+                        generation = latest;
+                        cache.invalidateAll();
+                    }
+                    nextGenerationCheck = now + generationCheckIntervalNanos;
+                }
+            }
+        }
+        return generation;
+    }
+
+    @Override
+    public Stream<String> names() {
+        return delegate.names();
+    }
+
+    @Override
+    public Stream<SamShape> functionalInterfaces() {
+        return delegate.functionalInterfaces();
+    }
+
+    public CacheStats stats() {
+        return cache.stats();
+    }
+
+    @Override
+    public void close() {
+        cache.invalidateAll();
+        delegate.close();
+    }
+
+    private static final class Key {
+        private final String normalizedQuery;
+        private final long signature;
+        private final List<String> expansions;
+        private final int from;
+        private final int size;
+        private final long generation;
+
+        private Key(final String normalizedQuery,
+                    final long signature,
+                    final List<String> expansions,
+                    final int from,
+                    final int size,
+                    final long generation) {
+            this.normalizedQuery = normalizedQuery;
+            this.signature = signature;
+            this.expansions = expansions;
+            this.from = from;
+            this.size = size;
+            this.generation = generation;
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(normalizedQuery, signature, expansions, from, size, generation);
+        }
+
+        @Override
+        public boolean equals(final Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (o == null || getClass() != o.getClass()) {
+                return false;
+            }
+            final Key that = (Key) o;
+            return signature == that.signature &&
+                   from == that.from &&
+                   size == that.size &&
+                   generation == that.generation &&
+                   normalizedQuery.equals(that.normalizedQuery) &&
+                   expansions.equals(that.expansions);
+        }
+    }
+}
@@ -0,0 +1,244 @@
+package net.exoego.typefind.search;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+import com.google.gson.Gson;
+import net.exoego.typefind.definition.SamShape;
+import org.elasticsearch.action.get.GetResponse;
+import org.elasticsearch.action.search.SearchResponse;
+import org.elasticsearch.action.search.SearchType;
+import org.elasticsearch.client.Client;
+import org.elasticsearch.client.transport.TransportClient;
+import org.elasticsearch.common.transport.InetSocketTransportAddress;
+import org.elasticsearch.common.unit.TimeValue;
+import org.elasticsearch.index.query.BoolQueryBuilder;
+import org.elasticsearch.index.query.FilterBuilder;
+import org.elasticsearch.index.query.FilterBuilders;
+import org.elasticsearch.index.query.MultiMatchQueryBuilder;
+import org.elasticsearch.index.query.QueryBuilder;
+import org.elasticsearch.index.query.QueryBuilders;
+import org.elasticsearch.indices.IndexMissingException;
+import org.elasticsearch.search.SearchHit;
+
+import static net.exoego.typefind.indexer.ElasticSearchIndexer.GENERATION_ID;
+import static net.exoego.typefind.indexer.ElasticSearchIndexer.GENERATION_INDEX_NAME;
+import static net.exoego.typefind.indexer.ElasticSearchIndexer.GENERATION_TYPE;
+import static net.exoego.typefind.indexer.ElasticSearchIndexer.INDEX_NAME;
+
+/**
+ * Answers queries with the "typefind" index that {@link net.exoego.typefind.indexer.ElasticSearchIndexer} builds.
+ * The transport client is shared by all requests and released on {@link #close()}.
+ */
+public class ElasticSearchBackend implements SearchBackend {
+    private static final TimeValue SCROLL_KEEP_ALIVE = TimeValue.timeValueMinutes(1);
+    private static final int SCROLL_SIZE = 500;
+    private static final float SIGNATURE_BOOST = 10f;
+    private static final float SAM_TYPE_NAME_BOOST = 2f;
+    private static final String[] NAME_FIELDS = {
+            "methodName", "declaringClass.canonicalName", "declaringClass.typeName", "declaringClass.kind",
+            "returnType.canonicalName", "returnType.typeName", "returnType.kind", "arguments.canonicalName",
+            "arguments.typeName", "arguments.kind"
+    };
+    private static final String[] SAM_SHAPE_FIELDS = {
+            "declaringClass.samShape", "returnType.samShape", "arguments.samShape"
+    };
+    private static final String[] SAM_NAME_FIELDS = {"arguments.samShape.name", "returnType.samShape.name"};
+    private static final String[] SAM_TYPE_NAME_FIELDS = {"arguments.samTypeName", "returnType.samTypeName"};
+    private final Client client;
+    private final Gson gson = new Gson();
+
+    public ElasticSearchBackend(final String host, final int port) {
+        Objects.requireNonNull(host);
+        this.client = new TransportClient().addTransportAddress(new InetSocketTransportAddress(host, port));
+    }
+
+    /**
+     * Matches words of the query, and ranks first the methods whose signature key is that of the
+     * {@link SearchQuery#getSignature() query}, looked up by its fingerprint. Each of the
+     * {@link SearchQuery#getExpansions() expansions} is matched on its own, as the functional interface taken or
+     * returned, so that a common word in them, like "Function", does not match every method. The interface with the
+     * type arguments of the expansion, like {@code ToIntFunction<String>}, ranks above the same interface with other
+     * type arguments, like {@code ToIntFunction<T>} of a generic method, which is still matched by its name.
+     */
+    @Override
+    public SearchPage search(final SearchQuery query) {
+        final long fingerprint = query.getSignature().getFingerprint();
+        final QueryBuilder words = QueryBuilders.matchQuery("_all", query.getQuery());
+        final QueryBuilder signature = QueryBuilders.termQuery("signatureKey.fingerprint", fingerprint)
+                                                    .boost(SIGNATURE_BOOST);
+        final BoolQueryBuilder bool = QueryBuilders.boolQuery().should(words).should(signature);
+        for (final String expansion : query.getExpansions()) {
+            final QueryBuilder typeName = QueryBuilders.multiMatchQuery(expansion, SAM_TYPE_NAME_FIELDS)
+                                                       .type(MultiMatchQueryBuilder.Type.PHRASE)
+                                                       .boost(SAM_TYPE_NAME_BOOST);
+            final QueryBuilder name = QueryBuilders.multiMatchQuery(rawName(expansion), SAM_NAME_FIELDS)
+                                                   .type(MultiMatchQueryBuilder.Type.PHRASE);
+            bool.should(QueryBuilders.boolQuery().should(typeName).should(name));
+        }
+        final SearchResponse response = client.prepareSearch(INDEX_NAME)
+                                              .setQuery(bool)
+                                              .setFrom(query.getFrom())
+                                              .setSize(query.getSize())
+                                              .execute()
+                                              .actionGet();
+        final List<MethodHit> hits = new ArrayList<>(query.getSize());
+        for (final SearchHit hit : response.getHits()) {
+            hits.add(gson.fromJson(hit.getSourceAsString(), MethodHit.class).withArtifact(hit.getType()));
+        }
+        return new SearchPage(response.getHits().getTotalHits(), hits);
+    }
+
+    @Override
+    public Stream<String> names() {
+        final Set<String> names = new HashSet<>();
+        scroll(QueryBuilders.matchAllQuery(),
+               NAME_FIELDS,
+               hit -> gson.fromJson(hit.getSourceAsString(), IndexedNames.class).addTo(names));
+        return names.stream();
+    }
+
+    /**
+     * Reads the shapes of the methods that take, return or are declared by a functional interface only.
+     */
+    @Override
+    public Stream<SamShape> functionalInterfaces() {
+        final Set<SamShape> shapes = new HashSet<>();
+        final FilterBuilder[] exists = new FilterBuilder[SAM_SHAPE_FIELDS.length];
+        for (int i = 0; i < exists.length; i++) {
+            exists[i] = FilterBuilders.existsFilter(SAM_SHAPE_FIELDS[i] + ".name");
+        }
+        scroll(QueryBuilders.filteredQuery(QueryBuilders.matchAllQuery(), FilterBuilders.orFilter(exists)),
+               SAM_SHAPE_FIELDS,
+               hit -> gson.fromJson(hit.getSourceAsString(), IndexedShapes.class).addTo(shapes));
+        return shapes.stream();
+    }
+
+    /**
+     * Reads the given fields of the indexed methods matching the given query by a scan, and releases the scroll at
+     * the end, even on failure, not to keep it open on the cluster until it expires.
+     */
+    private void scroll(final QueryBuilder query, final String[] fields, final Consumer<SearchHit> consumer) {
+        SearchResponse response = client.prepareSearch(INDEX_NAME)
+                                        .setSearchType(SearchType.SCAN)
+                                        .setScroll(SCROLL_KEEP_ALIVE)
+                                        .setQuery(query)
+                                        .setFetchSource(fields, null)
+                                        .setSize(SCROLL_SIZE)
+                                        .execute()
+                                        .actionGet();
+        String scrollId = response.getScrollId();
+        try {
+            while (true) {
+                response = client.prepareSearchScroll(scrollId)
+                                 .setScroll(SCROLL_KEEP_ALIVE)
+                                 .execute()
+                                 .actionGet();
+                scrollId = response.getScrollId();
+                if (response.getHits().getHits().length == 0) {
+                    break;
+                }
+                for (final SearchHit hit : response.getHits()) {
+                    consumer.accept(hit);
+                }
+            }
+        } finally {
+            if (scrollId != null) {
+                client.prepareClearScroll().addScrollId(scrollId).execute().actionGet();
+            }
+        }
+    }
+
+    /**
+     * Returns the name without type arguments nor array brackets, like "Function" of "Function<String, Integer>".
+     */
+    private static String rawName(final String name) {
+        final int typeArguments = name.indexOf('<');
+        final String raw = typeArguments < 0 ? name : name.substring(0, typeArguments);
+        return raw.replace("[]", "");
+    }
+
+    @Override
+    public long generation() {
+        try {
+            final GetResponse response = client.prepareGet(GENERATION_INDEX_NAME, GENERATION_TYPE, GENERATION_ID)
+                                               .execute()
+                                               .actionGet();
+            return response.isExists() ? response.getVersion() : 0L;
+        } catch (IndexMissingException e) {
+            // never indexed yet
+            return 0L;
+        }
+    }
+
+    @Override
+    public void close() {
+        client.close();
+    }
+
+    private static final class IndexedNames {
+        private String methodName;
+        private IndexedType declaringClass;
+        private IndexedType returnType;
+        private List<IndexedType> arguments = Collections.emptyList();
+
+        private void addTo(final Set<String> names) {
+            if (methodName != null) {
+                names.add(methodName);
+            }
+            if (declaringClass != null) {
+                declaringClass.addTo(names);
+            }
+            if (returnType != null) {
+                returnType.addTo(names);
+            }
+            for (final IndexedType argument : arguments) {
+                argument.addTo(names);
+            }
+        }
+    }
+
+    private static final class IndexedShapes {
+        private ShapeOfType declaringClass;
+        private ShapeOfType returnType;
+        private List<ShapeOfType> arguments = Collections.emptyList();
+
+        private void addTo(final Set<SamShape> shapes) {
+            if (declaringClass != null && declaringClass.samShape != null) {
+                shapes.add(declaringClass.samShape);
+            }
+            if (returnType != null && returnType.samShape != null) {
+                shapes.add(returnType.samShape);
+            }
+            for (final ShapeOfType argument : arguments) {
+                if (argument.samShape != null) {
+                    shapes.add(argument.samShape);
+                }
+            }
+        }
+    }
+
+    private static final class ShapeOfType {
+        private SamShape samShape;
+    }
+
+    private static final class IndexedType {
+        private String canonicalName;
+        private String typeName;
+        private String kind;
+
+        private void addTo(final Set<String> names) {
+            if (canonicalName == null || typeName == null || "TYPE_VARIABLE".equals(kind) || "VOID".equals(kind)) {
+                return;
+            }
+            names.add(rawName(canonicalName));
+            names.add(rawName(typeName));
+        }
+    }
+}
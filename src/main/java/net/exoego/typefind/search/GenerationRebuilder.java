@@ -0,0 +1,118 @@
+package net.exoego.typefind.search;
+
+import java.time.Duration;
+import java.util.Objects;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+
+/**
+ * Holds a value built from the index of a {@link SearchBackend}, and builds it again in background when the
+ * {@link SearchBackend#generation() generation} of the index changes. Readers never wait for a build: they get the
+ * previous value, or the initial one at first, until the build completes.
+ * <p>
+ * Builds run one at a time on a daemon thread of this rebuilder, not on the common pool, so that a slow backend does
+ * not starve other tasks. After a failed build the next one is not tried until a backoff has passed, which doubles on
+ * each consecutive failure, so that a backend that is down is not asked on every read.
+ *
+ * @param <T> the type of the value.
+ */
+final class GenerationRebuilder<T> implements AutoCloseable {
+    static final Duration MIN_BACKOFF = Duration.ofSeconds(1);
+    static final Duration MAX_BACKOFF = Duration.ofMinutes(1);
+    private final String name;
+    private final LongSupplier generation;
+    private final Supplier<? extends T> builder;
+    private final long minBackoffNanos;
+    private final long maxBackoffNanos;
+    private final ThreadPoolExecutor executor;
+    private final AtomicBoolean rebuilding = new AtomicBoolean();
+    private volatile T value;
+    private volatile long builtGeneration = Long.MIN_VALUE;
+    private volatile long backoffNanos;
+    private volatile long retryAt = System.nanoTime();
+
+    GenerationRebuilder(final String name,
+                        final LongSupplier generation,
+                        final Supplier<? extends T> builder,
+                        final T initial) {
+        this(name, generation, builder, initial, MIN_BACKOFF, MAX_BACKOFF);
+    }
+
+    /**
+     * @param name       what is built, used in the name of the thread and in messages.
+     * @param generation the generation of the index, asked on every read, so it should be cheap.
+     * @param builder    builds the value from the index; may throw to keep the previous value.
+     * @param initial    the value until the first build completes.
+     * @param minBackoff the time before retrying after the first failure.
+     * @param maxBackoff the longest time before retrying after consecutive failures.
+     */
+    GenerationRebuilder(final String name,
+                        final LongSupplier generation,
+                        final Supplier<? extends T> builder,
+                        final T initial,
+                        final Duration minBackoff,
+                        final Duration maxBackoff) {
+        Objects.requireNonNull(name);
+        Objects.requireNonNull(generation);
+        Objects.requireNonNull(builder);
+        Objects.requireNonNull(initial);
+        this.name = name;
+        this.generation = generation;
+        this.builder = builder;
+        this.value = initial;
+        this.minBackoffNanos = minBackoff.toNanos();
+        this.maxBackoffNanos = Math.max(maxBackoff.toNanos(), minBackoffNanos);
+        this.backoffNanos = minBackoffNanos;
+        this.executor = new ThreadPoolExecutor(1, 1, 1, TimeUnit.MINUTES, new LinkedBlockingQueue<>(), task -> {
+            final Thread thread = new Thread(task, "rebuild-" + name);
+            thread.setDaemon(true);
+            return thread;
+        });
+        // the thread is not kept while the generation stays the same
+        this.executor.allowCoreThreadTimeOut(true);
+    }
+
+    /**
+     * Returns the latest value built, and starts building a new one if the generation has changed since.
+     */
+    T get() {
+        final long latest = generation.getAsLong();
+        if (latest != builtGeneration && System.nanoTime() - retryAt >= 0 && rebuilding.compareAndSet(false, true)) {
+            try {
+                executor.execute(() -> rebuild(latest));
+            } catch (RejectedExecutionException e) {
+                // closed
+                rebuilding.set(false);
+            }
+        }
+        return value;
+    }
+
+    private void rebuild(final long latest) {
+        try {
+            value = builder.get();
+            builtGeneration = latest;
+            backoffNanos = minBackoffNanos;
+        } catch (RuntimeException e) {
+            // keep the previous value, and retry on a read after the backoff
+            System.err.printf("failed to build %s: %s%n", name, e);
+            retryAt = System.nanoTime() + backoffNanos;
+            backoffNanos = Math.min(backoffNanos * 2, maxBackoffNanos);
+        } finally {
+            rebuilding.set(false);
+        }
+    }
+
+    /**
+     * Stops building; the latest value is still returned.
+     */
+    @Override
+    public void close() {
+        executor.shutdownNow();
+    }
+}
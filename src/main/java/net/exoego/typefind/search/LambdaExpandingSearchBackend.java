@@ -0,0 +1,60 @@
+package net.exoego.typefind.search;
+
+import java.util.Objects;
+import java.util.Set;
+import java.util.stream.Stream;
+
+import net.exoego.typefind.definition.SamShape;
+
+/**
+ * Expands lambda types in queries to the equivalent functional interfaces, with the {@link SamIndex} of the
+ * functional interfaces in another {@link SearchBackend}, so that {@code (String -> int)} finds methods taking
+ * {@code ToIntFunction<String>} as well as {@code Function<String, Integer>}.
+ * <p>
+ * The index is built by a {@link GenerationRebuilder} when the generation of the backend changes, and the previous
+ * index (or an empty one at first) keeps expanding meanwhile, so a search never waits for the functional interfaces to
+ * be read. The generation is asked on every search, so the backend should answer it cheaply, as
+ * {@link CachingSearchBackend} does.
+ */
+public class LambdaExpandingSearchBackend implements SearchBackend {
+    private final SearchBackend delegate;
+    private final GenerationRebuilder<SamIndex> index;
+
+    public LambdaExpandingSearchBackend(final SearchBackend delegate) {
+        Objects.requireNonNull(delegate);
+        this.delegate = delegate;
+        this.index = new GenerationRebuilder<>("functional interfaces", delegate::generation,
+                                               () -> SamIndex.of(delegate.functionalInterfaces()), SamIndex.empty());
+    }
+
+    @Override
+    public SearchPage search(final SearchQuery query) {
+        final Set<String> expansions = current().expand(query.getQuery());
+        return delegate.search(expansions.isEmpty() ? query : query.withExpansions(expansions));
+    }
+
+    public SamIndex current() {
+        return index.get();
+    }
+
+    @Override
+    public long generation() {
+        return delegate.generation();
+    }
+
+    @Override
+    public Stream<String> names() {
+        return delegate.names();
+    }
+
+    @Override
+    public Stream<SamShape> functionalInterfaces() {
+        return delegate.functionalInterfaces();
+    }
+
+    @Override
+    public void close() {
+        index.close();
+        delegate.close();
+    }
+}
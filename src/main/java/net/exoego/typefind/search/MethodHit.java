@@ -0,0 +1,51 @@
+package net.exoego.typefind.search;
+
+/**
+ * Compact representation of an indexed {@link net.exoego.typefind.definition.MethodDef} returned to clients.
+ * Field names are kept identical to {@code MethodDef} so that an indexed document can be read back as is.
+ */
+public final class MethodHit {
+    private String artifact;
+    private String methodName;
+    private String simpleForm;
+    private String fullForm;
+    private boolean isStatic;
+    private boolean isDeprecated;
+
+    MethodHit withArtifact(final String artifact) {
+        this.artifact = artifact;
+        return this;
+    }
+
+    public String getArtifact() {
+        return artifact;
+    }
+
+    public String getMethodName() {
+        return methodName;
+    }
+
+    public String getSimpleForm() {
+        return simpleForm;
+    }
+
+    public String getFullForm() {
+        return fullForm;
+    }
+
+    public boolean isStatic() {
+        return isStatic;
+    }
+
+    public boolean isDeprecated() {
+        return isDeprecated;
+    }
+
+    @Override
+    public String toString() {
+        return "MethodHit{" +
+               "artifact='" + artifact + '\'' +
+               ", fullForm='" + fullForm + '\'' +
+               '}';
+    }
+}
@@ -0,0 +1,62 @@
+package net.exoego.typefind.search;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Locale;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+/**
+ * Completes prefixes of type names and method names with the {@link NameTrie} of the names in a
+ * {@link SearchBackend}.
+ * <p>
+ * Cursors of recently completed prefixes are kept, so that a prefix typed one more character resumes from the
+ * position of the previous prefix. The trie is built by a {@link GenerationRebuilder} when the generation of the
+ * backend changes, and the previous trie (or an empty one at first) keeps answering meanwhile.
+ */
+public class NameIndex {
+    private final Cache<String, NameTrie.Cursor> recentPrefixes;
+    private final GenerationRebuilder<NameTrie> trie;
+
+    public NameIndex(final SearchBackend backend, final long maximumPrefixes, final Duration prefixTimeToLive) {
+        Objects.requireNonNull(backend);
+        this.recentPrefixes = Caffeine.newBuilder()
+                                      .maximumSize(maximumPrefixes)
+                                      .expireAfterAccess(prefixTimeToLive.toNanos(), TimeUnit.NANOSECONDS)
+                                      .build();
+        this.trie = new GenerationRebuilder<>("names", backend::generation, () -> {
+            final NameTrie built = NameTrie.of(backend.names());
+            // cursors of the previous trie are never resumed, but would occupy the cache until they expire
+            recentPrefixes.invalidateAll();
+            return built;
+        }, NameTrie.empty());
+    }
+
+    public List<String> complete(final String prefix, final int limit) {
+        final NameTrie current = current();
+        final String key = prefix.toLowerCase(Locale.ROOT);
+        NameTrie.Cursor cursor = recentPrefixes.getIfPresent(key);
+        if (cursor == null || cursor.getTrie() != current) {
+            cursor = key.isEmpty()
+                     ? current.root()
+                     : resume(current, key.substring(0, key.length() - 1)).advance(key.charAt(key.length() - 1));
+            recentPrefixes.put(key, cursor);
+        }
+        return cursor.complete(limit);
+    }
+
+    private NameTrie.Cursor resume(final NameTrie current, final String previous) {
+        final NameTrie.Cursor cursor = recentPrefixes.getIfPresent(previous);
+        if (cursor != null && cursor.getTrie() == current) {
+            return cursor;
+        }
+        return current.root().advance(previous);
+    }
+
+    public NameTrie current() {
+        return trie.get();
+    }
+}
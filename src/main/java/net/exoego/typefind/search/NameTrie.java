@@ -0,0 +1,218 @@
+package net.exoego.typefind.search;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Objects;
+import java.util.stream.Stream;
+
+/**
+ * Immutable, case-insensitive prefix tree of names for autocompletion.
+ * <p>
+ * Like {@code PackageNode} builds a tree of package names segment by segment, this builds a tree of names character
+ * by character, but path-compressed: a node is created only where names branch, so the tree has less than twice as
+ * many nodes as names. Names are kept sorted and every node knows the range of names under it, so completing a prefix
+ * costs only the walk down the prefix and no traversal of sub trees.
+ * <p>
+ * The walk is exposed as {@link Cursor}, so that a prefix typed incrementally can resume from the position of the
+ * previous prefix instead of walking from the root again.
+ */
+public final class NameTrie {
+    private static final int ROOT = 0;
+    private static final NameTrie EMPTY = of(Stream.<String>empty());
+    private final String[] names;
+    private final String[] keys;
+    private final int[] lo;
+    private final int[] hi;
+    private final int[] depth;
+    private final int[] childStart;
+    private final int[] childEnd;
+    private final int[] children;
+    private final Cursor root;
+
+    private NameTrie(final String[] names) {
+        this.names = names;
+        this.keys = new String[names.length];
+        for (int i = 0; i < names.length; i++) {
+            keys[i] = toKey(names[i]);
+        }
+        final int capacity = names.length * 2 + 1;
+        this.lo = new int[capacity];
+        this.hi = new int[capacity];
+        this.depth = new int[capacity];
+        this.childStart = new int[capacity];
+        this.childEnd = new int[capacity];
+        this.children = new int[capacity];
+        build();
+        this.root = new Cursor(ROOT, 0);
+    }
+
+    public static NameTrie empty() {
+        return EMPTY;
+    }
+
+    /**
+     * Builds a trie of the given names. Blank names and duplicates are ignored.
+     *
+     * @param names the names to be completed.
+     * @return a new trie of the given names.
+     */
+    public static NameTrie of(final Stream<String> names) {
+        final Comparator<String> byKey = Comparator.comparing(NameTrie::toKey);
+        final String[] sorted = names.filter(Objects::nonNull)
+                                     .map(String::trim)
+                                     .filter(name -> !name.isEmpty())
+                                     .distinct()
+                                     .sorted(byKey.thenComparing(Comparator.naturalOrder()))
+                                     .toArray(String[]::new);
+        return new NameTrie(sorted);
+    }
+
+    private static String toKey(final String name) {
+        return name.toLowerCase(Locale.ROOT);
+    }
+
+    private static int commonPrefixLength(final String a, final String b) {
+        final int max = Math.min(a.length(), b.length());
+        int i = 0;
+        while (i < max && a.charAt(i) == b.charAt(i)) {
+            i++;
+        }
+        return i;
+    }
+
+    private void build() {
+        // breadth-first, so that children of a node are stored contiguously
+        int nodes = 1;
+        lo[ROOT] = 0;
+        hi[ROOT] = keys.length;
+        depth[ROOT] = 0;
+        int childCount = 0;
+        for (int node = 0; node < nodes; node++) {
+            childStart[node] = childCount;
+            final int d = depth[node];
+            int i = lo[node];
+            while (i < hi[node] && keys[i].length() == d) {
+                // names which end at this node
+                i++;
+            }
+            while (i < hi[node]) {
+                final char c = keys[i].charAt(d);
+                int j = i + 1;
+                while (j < hi[node] && keys[j].charAt(d) == c) {
+                    j++;
+                }
+                lo[nodes] = i;
+                hi[nodes] = j;
+                depth[nodes] = commonPrefixLength(keys[i], keys[j - 1]);
+                children[childCount++] = nodes++;
+                i = j;
+            }
+            childEnd[node] = childCount;
+        }
+    }
+
+    private int findChild(final int node, final char c) {
+        int low = childStart[node];
+        int high = childEnd[node] - 1;
+        final int d = depth[node];
+        while (low <= high) {
+            final int mid = (low + high) >>> 1;
+            final char label = keys[lo[children[mid]]].charAt(d);
+            if (label < c) {
+                low = mid + 1;
+            } else if (label > c) {
+                high = mid - 1;
+            } else {
+                return children[mid];
+            }
+        }
+        return -1;
+    }
+
+    public int size() {
+        return names.length;
+    }
+
+    /**
+     * Returns the position of the empty prefix.
+     *
+     * @return the cursor at the root.
+     */
+    public Cursor root() {
+        return root;
+    }
+
+    /**
+     * Shortcut to <code>root().advance(prefix).complete(limit)</code>.
+     *
+     * @param prefix the prefix to be completed.
+     * @param limit  the maximum number of names returned.
+     * @return names starting with the given prefix ignoring case, sorted alphabetically.
+     */
+    public List<String> complete(final CharSequence prefix, final int limit) {
+        return root.advance(prefix).complete(limit);
+    }
+
+    /**
+     * A position in the {@link NameTrie} reached by walking down a prefix.
+     */
+    public final class Cursor {
+        private final int node;
+        private final int length;
+
+        private Cursor(final int node, final int length) {
+            this.node = node;
+            this.length = length;
+        }
+
+        public NameTrie getTrie() {
+            return NameTrie.this;
+        }
+
+        /**
+         * Returns {@code true} if no name starts with the prefix walked so far.
+         *
+         * @return {@code true} if no name would be completed.
+         */
+        public boolean isDead() {
+            return node < 0;
+        }
+
+        public Cursor advance(final char c) {
+            if (isDead()) {
+                return this;
+            }
+            final char lower = Character.toLowerCase(c);
+            if (length < depth[node]) {
+                // in the middle of a compressed path
+                return keys[lo[node]].charAt(length) == lower ? new Cursor(node, length + 1) : dead();
+            }
+            final int child = findChild(node, lower);
+            return child < 0 ? dead() : new Cursor(child, length + 1);
+        }
+
+        public Cursor advance(final CharSequence chars) {
+            Cursor cursor = this;
+            for (int i = 0; i < chars.length() && !cursor.isDead(); i++) {
+                cursor = cursor.advance(chars.charAt(i));
+            }
+            return cursor;
+        }
+
+        public List<String> complete(final int limit) {
+            if (isDead()) {
+                return Collections.emptyList();
+            }
+            final int end = (int) Math.min(hi[node], (long) lo[node] + limit);
+            return Collections.unmodifiableList(new ArrayList<>(Arrays.asList(names).subList(lo[node], end)));
+        }
+
+        private Cursor dead() {
+            return new Cursor(-1, length);
+        }
+    }
+}
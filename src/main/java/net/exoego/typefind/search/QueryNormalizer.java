@@ -0,0 +1,77 @@
+package net.exoego.typefind.search;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+
+import net.exoego.typefind.definition.SignatureTokens;
+
+import static net.exoego.typefind.definition.SignatureTokens.ARROW;
+import static net.exoego.typefind.definition.SignatureTokens.closing;
+import static net.exoego.typefind.definition.SignatureTokens.isTypeVariable;
+import static net.exoego.typefind.definition.SignatureTokens.render;
+import static net.exoego.typefind.definition.SignatureTokens.rename;
+import static net.exoego.typefind.definition.SignatureTokens.split;
+import static net.exoego.typefind.definition.SignatureTokens.tokenize;
+
+/**
+ * Normalizes signature queries so that queries which differ only in their spelling share one form.
+ * <ul>
+ * <li>Whitespace is removed around symbols and collapsed to a single space between words.</li>
+ * <li>Type variables (a capital letter optionally followed by digits, like {@code T} or {@code K2}) are renamed to
+ * {@code T1}, {@code T2}, ... in order of their first occurrence.</li>
+ * <li>Arguments of the outermost argument tuple are ordered.</li>
+ * </ul>
+ * For example, {@code "(E, List<E>) -> E"} and {@code "(List<T>,T)->T"} are both normalized to
+ * {@code "(T1,List<T1>)->T1"}.
+ */
+public final class QueryNormalizer {
+    private static final String MASK = "*";
+
+    private QueryNormalizer() { }
+
+    public static String normalize(final String query) {
+        final List<String> tokens = tokenize(query);
+        final List<String> ordered = orderArguments(tokens);
+        return render(rename(ordered, SignatureTokens::isTypeVariable, new HashMap<>()));
+    }
+
+    private static List<String> orderArguments(final List<String> tokens) {
+        int start = 0;
+        if (!tokens.isEmpty() && tokens.get(0).equals("<")) {
+            // skip declaration of type parameters such as "<T>"
+            start = closing(tokens, 0) + 1;
+            if (start == 0) {
+                return tokens;
+            }
+        }
+        if (start >= tokens.size() || !tokens.get(start).equals("(")) {
+            return tokens;
+        }
+        final int end = closing(tokens, start);
+        if (end < 0 || end + 1 >= tokens.size() || !tokens.get(end + 1).equals(ARROW)) {
+            return tokens;
+        }
+        final List<List<String>> arguments = split(tokens.subList(start + 1, end));
+        arguments.sort(Comparator.comparing(QueryNormalizer::renderMasked).thenComparing(SignatureTokens::render));
+
+        final List<String> ordered = new ArrayList<>(tokens.subList(0, start + 1));
+        for (int i = 0; i < arguments.size(); i++) {
+            if (i > 0) {
+                ordered.add(",");
+            }
+            ordered.addAll(arguments.get(i));
+        }
+        ordered.addAll(tokens.subList(end, tokens.size()));
+        return ordered;
+    }
+
+    private static String renderMasked(final List<String> tokens) {
+        final List<String> masked = new ArrayList<>(tokens.size());
+        for (final String token : tokens) {
+            masked.add(isTypeVariable(token) ? MASK : token);
+        }
+        return render(masked);
+    }
+}
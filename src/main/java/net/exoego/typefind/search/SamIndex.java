@@ -0,0 +1,218 @@
+package net.exoego.typefind.search;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.StringJoiner;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import net.exoego.typefind.definition.SamShape;
+import net.exoego.typefind.definition.SignatureTokens;
+
+import static net.exoego.typefind.definition.SignatureTokens.ARROW;
+import static net.exoego.typefind.definition.SignatureTokens.closing;
+import static net.exoego.typefind.definition.SignatureTokens.simpleName;
+import static net.exoego.typefind.definition.SignatureTokens.split;
+import static net.exoego.typefind.definition.SignatureTokens.topLevel;
+
+/**
+ * Finds the functional interfaces whose single abstract method has the shape of a lambda type in a query, like
+ * {@code ToIntFunction<String>} and {@code Function<String,Integer>} for {@code (String -> int)}, including those
+ * declared by indexed libraries.
+ * <p>
+ * Shapes are indexed by their arity and their types, where type parameters of the interface are wildcards and
+ * primitive types are boxed, so that {@code int} and {@code Integer} are equivalent. A lambda type is looked up by
+ * probing each combination of its types and wildcards, instead of scanning all the shapes; there are at most
+ * {@code 2^(arity+1)} of them. Candidates are then checked for type parameters bound consistently, so that
+ * {@code UnaryOperator<T>} matches {@code (String -> String)} but not {@code (String -> int)}.
+ */
+public final class SamIndex {
+    private static final SamIndex EMPTY = new SamIndex(Collections.emptyMap());
+    private static final String WILDCARD = "*";
+    /**
+     * Types of a lambda beyond which only the exact combination is probed, not to probe too many.
+     */
+    private static final int MAX_PROBED_TYPES = 6;
+    private static final Map<String, String> BOXED = new HashMap<>();
+
+    static {
+        BOXED.put("boolean", "Boolean");
+        BOXED.put("byte", "Byte");
+        BOXED.put("char", "Character");
+        BOXED.put("short", "Short");
+        BOXED.put("int", "Integer");
+        BOXED.put("long", "Long");
+        BOXED.put("float", "Float");
+        BOXED.put("double", "Double");
+    }
+
+    private final Map<String, List<SamShape>> shapes;
+
+    private SamIndex(final Map<String, List<SamShape>> shapes) {
+        this.shapes = shapes;
+    }
+
+    public static SamIndex empty() {
+        return EMPTY;
+    }
+
+    public static SamIndex of(final Stream<SamShape> shapes) {
+        final Map<String, List<SamShape>> index = new HashMap<>();
+        shapes.distinct().forEach(shape -> {
+            final List<String> types = new ArrayList<>(shape.getParameters());
+            types.add(shape.getReturnType());
+            final List<String> slots = types.stream()
+                                            .map(type -> shape.getTypeParameters().contains(type) ? WILDCARD
+                                                                                                  : box(type))
+                                            .collect(Collectors.toList());
+            index.computeIfAbsent(key(slots), k -> new ArrayList<>()).add(shape);
+        });
+        return new SamIndex(index);
+    }
+
+    public int size() {
+        return shapes.values().stream().mapToInt(List::size).sum();
+    }
+
+    /**
+     * Returns the functional interfaces equivalent to the lambda types in parentheses in the given query, like
+     * {@code (String -> int)} in {@code (Stream<String>, (String -> int)) -> IntStream}.
+     *
+     * @return the interfaces with their type arguments, like {@code ToIntFunction<String>}.
+     */
+    public Set<String> expand(final String query) {
+        final Set<String> expanded = new LinkedHashSet<>();
+        expand(SignatureTokens.tokenize(query), expanded);
+        return expanded;
+    }
+
+    private void expand(final List<String> tokens, final Set<String> expanded) {
+        for (int i = 0; i < tokens.size(); i++) {
+            if (!tokens.get(i).equals("(")) {
+                continue;
+            }
+            final int end = closing(tokens, i);
+            if (end < 0) {
+                return;
+            }
+            final List<String> inner = tokens.subList(i + 1, end);
+            final int arrow = topLevel(inner, ARROW);
+            if (arrow >= 0) {
+                final String returnType = type(inner.subList(arrow + 1, inner.size()));
+                expanded.addAll(lookup(arguments(inner.subList(0, arrow)), returnType));
+            }
+            expand(inner, expanded);
+            i = end;
+        }
+    }
+
+    /**
+     * Returns the functional interfaces which take the given types and return the given type.
+     *
+     * @param parameters types of the parameters, or type variables like {@code T}.
+     * @param returnType the type returned, or {@code ()} for {@code void}.
+     * @return the interfaces with their type arguments, like {@code ToIntFunction<String>}.
+     */
+    public Set<String> lookup(final List<String> parameters, final String returnType) {
+        final List<String> types = new ArrayList<>(parameters);
+        types.add(returnType);
+        final List<List<String>> alternatives = new ArrayList<>(types.size());
+        int concrete = 0;
+        for (final String type : types) {
+            if (SignatureTokens.isTypeVariable(type)) {
+                alternatives.add(Collections.singletonList(WILDCARD));
+            } else if (type.equals(SamShape.VOID)) {
+                alternatives.add(Collections.singletonList(type));
+            } else {
+                alternatives.add(++concrete <= MAX_PROBED_TYPES ? Arrays.asList(box(type), WILDCARD)
+                                                               : Collections.singletonList(box(type)));
+            }
+        }
+        final Set<String> found = new LinkedHashSet<>();
+        probe(alternatives, new ArrayList<>(types.size()), types, found);
+        return found;
+    }
+
+    private void probe(final List<List<String>> alternatives,
+                       final List<String> slots,
+                       final List<String> types,
+                       final Set<String> found) {
+        if (slots.size() == alternatives.size()) {
+            for (final SamShape shape : shapes.getOrDefault(key(slots), Collections.emptyList())) {
+                instantiate(shape, types).ifPresent(found::add);
+            }
+            return;
+        }
+        for (final String slot : alternatives.get(slots.size())) {
+            slots.add(slot);
+            probe(alternatives, slots, types, found);
+            slots.remove(slots.size() - 1);
+        }
+    }
+
+    private static Optional<String> instantiate(final SamShape shape, final List<String> types) {
+        final List<String> declared = new ArrayList<>(shape.getParameters());
+        declared.add(shape.getReturnType());
+        final Map<String, String> bound = new HashMap<>();
+        for (int i = 0; i < declared.size(); i++) {
+            if (!shape.getTypeParameters().contains(declared.get(i))) {
+                continue;
+            }
+            final String actual = box(types.get(i));
+            final String previous = bound.putIfAbsent(declared.get(i), actual);
+            if (previous != null && !previous.equals(actual)) {
+                return Optional.empty();
+            }
+        }
+        if (shape.getTypeParameters().isEmpty()) {
+            return Optional.of(shape.getName());
+        }
+        final StringJoiner joiner = new StringJoiner(",", shape.getName() + "<", ">");
+        for (final String parameter : shape.getTypeParameters()) {
+            joiner.add(bound.getOrDefault(parameter, "?"));
+        }
+        return Optional.of(joiner.toString());
+    }
+
+    private static String key(final List<String> slots) {
+        return String.join(",", slots.subList(0, slots.size() - 1)) + ARROW + slots.get(slots.size() - 1);
+    }
+
+    private static String box(final String type) {
+        return BOXED.getOrDefault(type, type);
+    }
+
+    private static List<String> arguments(final List<String> tokens) {
+        if (!tokens.isEmpty() && tokens.get(0).equals("(") && closing(tokens, 0) == tokens.size() - 1) {
+            final List<String> inner = tokens.subList(1, tokens.size() - 1);
+            if (inner.isEmpty()) {
+                return Collections.emptyList();
+            }
+            final List<String> arguments = new ArrayList<>();
+            for (final List<String> argument : split(inner)) {
+                arguments.add(type(argument));
+            }
+            return arguments;
+        }
+        return Collections.singletonList(type(tokens));
+    }
+
+    /**
+     * Writes a type without whitespace and without package, as {@link SamShape} does.
+     */
+    private static String type(final List<String> tokens) {
+        final StringBuilder builder = new StringBuilder();
+        for (final String token : tokens) {
+            builder.append(simpleName(token));
+        }
+        final String type = builder.toString();
+        return type.equals("void") ? SamShape.VOID : type;
+    }
+}
@@ -0,0 +1,45 @@
+package net.exoego.typefind.search;
+
+import java.util.stream.Stream;
+
+import net.exoego.typefind.definition.SamShape;
+
+/**
+ * A search engine which answers signature queries against the indexed methods.
+ */
+public interface SearchBackend extends AutoCloseable {
+    SearchPage search(SearchQuery query);
+
+    /**
+     * Returns the generation of the index, which changes every time re-indexing completes.
+     * Results answered for one generation must not be reused for another.
+     *
+     * @return the current generation of the index, or {@code 0} if the backend does not track generations.
+     */
+    default long generation() {
+        return 0L;
+    }
+
+    /**
+     * Returns the canonical type names, simple type names and method names of the indexed methods, which are
+     * offered as completions of queries.
+     *
+     * @return names in the index, possibly with duplicates.
+     */
+    default Stream<String> names() {
+        return Stream.empty();
+    }
+
+    /**
+     * Returns the shapes of the functional interfaces that the indexed methods take or return, which lambda types in
+     * queries are expanded to.
+     *
+     * @return shapes in the index, possibly with duplicates.
+     */
+    default Stream<SamShape> functionalInterfaces() {
+        return Stream.empty();
+    }
+
+    @Override
+    void close();
+}
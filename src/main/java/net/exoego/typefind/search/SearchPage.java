@@ -0,0 +1,25 @@
+package net.exoego.typefind.search;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * A page of {@link MethodHit}s answered for a {@link SearchQuery}.
+ */
+public final class SearchPage {
+    private final long total;
+    private final List<MethodHit> hits;
+
+    public SearchPage(final long total, final List<MethodHit> hits) {
+        this.total = total;
+        this.hits = Collections.unmodifiableList(hits);
+    }
+
+    public long getTotal() {
+        return total;
+    }
+
+    public List<MethodHit> getHits() {
+        return hits;
+    }
+}
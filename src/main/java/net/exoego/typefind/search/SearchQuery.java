@@ -0,0 +1,120 @@
+package net.exoego.typefind.search;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+
+import net.exoego.typefind.definition.SignatureKey;
+
+/**
+ * A signature query with the page of results to be returned.
+ */
+public final class SearchQuery {
+    public static final int DEFAULT_SIZE = 20;
+    public static final int MAX_SIZE = 100;
+    private final String query;
+    private final int from;
+    private final int size;
+    private final SignatureKey signature;
+    private final List<String> expansions;
+
+    private SearchQuery(final String query,
+                        final int from,
+                        final int size,
+                        final SignatureKey signature,
+                        final List<String> expansions) {
+        this.query = query;
+        this.from = from;
+        this.size = size;
+        this.signature = signature;
+        this.expansions = expansions;
+    }
+
+    public static SearchQuery of(final String query) {
+        return of(query, 0, DEFAULT_SIZE);
+    }
+
+    public static SearchQuery of(final String query, final int from, final int size) {
+        Objects.requireNonNull(query);
+        if (query.trim().isEmpty()) {
+            throw new IllegalArgumentException("query must not be empty");
+        }
+        if (from < 0) {
+            throw new IllegalArgumentException("from must not be negative: " + from);
+        }
+        if (size < 1 || size > MAX_SIZE) {
+            throw new IllegalArgumentException(String.format("size must be between 1 and %s: %s", MAX_SIZE, size));
+        }
+        return new SearchQuery(query, from, size, SignatureKey.parse(query), Collections.emptyList());
+    }
+
+    /**
+     * Returns this query with the given signature key, like that of the query as typed, before it was rewritten.
+     */
+    public SearchQuery withSignature(final SignatureKey signature) {
+        Objects.requireNonNull(signature);
+        return new SearchQuery(query, from, size, signature, expansions);
+    }
+
+    /**
+     * Returns this query with types that results may have in place of those in the query, like functional interfaces
+     * equivalent to a lambda type.
+     */
+    public SearchQuery withExpansions(final Collection<String> expansions) {
+        return new SearchQuery(query, from, size, signature,
+                               Collections.unmodifiableList(new ArrayList<>(expansions)));
+    }
+
+    public String getQuery() {
+        return query;
+    }
+
+    public int getFrom() {
+        return from;
+    }
+
+    public int getSize() {
+        return size;
+    }
+
+    /**
+     * Returns the signature key of the query, parsed from the query unless {@link #withSignature given}.
+     */
+    public SignatureKey getSignature() {
+        return signature;
+    }
+
+    public List<String> getExpansions() {
+        return expansions;
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(query, from, size, signature, expansions);
+    }
+
+    @Override
+    public boolean equals(final Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        final SearchQuery that = (SearchQuery) o;
+        return from == that.from && size == that.size && query.equals(that.query) &&
+               signature.equals(that.signature) && expansions.equals(that.expansions);
+    }
+
+    @Override
+    public String toString() {
+        return "SearchQuery{" +
+               "query='" + query + '\'' +
+               ", from=" + from +
+               ", size=" + size +
+               ", expansions=" + expansions +
+               '}';
+    }
+}
@@ -0,0 +1,38 @@
+package net.exoego.typefind.server;
+
+import java.io.IOException;
+import javax.servlet.Filter;
+import javax.servlet.FilterChain;
+import javax.servlet.FilterConfig;
+import javax.servlet.ServletException;
+import javax.servlet.ServletRequest;
+import javax.servlet.ServletResponse;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+/**
+ * Lets clients cache static contents fingerprinted by {@link StaticAssets} forever, and revalidate others with
+ * their ETag.
+ */
+public class AssetCachingFilter implements Filter {
+    private static final String IMMUTABLE = "public, max-age=31536000, immutable";
+    private static final String REVALIDATE = "no-cache";
+
+    @Override
+    public void init(final FilterConfig filterConfig) {
+    }
+
+    @Override
+    public void doFilter(final ServletRequest request, final ServletResponse response, final FilterChain chain)
+            throws IOException, ServletException {
+        final HttpServletRequest req = (HttpServletRequest) request;
+        final HttpServletResponse resp = (HttpServletResponse) response;
+        final boolean fingerprinted = req.getParameter(StaticAssets.VERSION_PARAMETER) != null;
+        resp.setHeader("Cache-Control", fingerprinted ? IMMUTABLE : REVALIDATE);
+        chain.doFilter(request, response);
+    }
+
+    @Override
+    public void destroy() {
+    }
+}
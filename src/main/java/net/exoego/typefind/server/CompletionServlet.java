@@ -0,0 +1,60 @@
+package net.exoego.typefind.server;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Objects;
+import javax.servlet.http.HttpServlet;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+import com.google.gson.stream.JsonWriter;
+import net.exoego.typefind.search.NameIndex;
+
+/**
+ * Answers {@code GET /api/complete?prefix=...&size=...} with type names and method names starting with the prefix.
+ */
+public class CompletionServlet extends HttpServlet {
+    private static final int DEFAULT_SIZE = 10;
+    private static final int MAX_SIZE = 50;
+    private final NameIndex names;
+
+    public CompletionServlet(final NameIndex names) {
+        Objects.requireNonNull(names);
+        this.names = names;
+    }
+
+    @Override
+    protected void doGet(final HttpServletRequest req, final HttpServletResponse resp) throws IOException {
+        final String prefix = req.getParameter("prefix");
+        final String size = req.getParameter("size");
+        resp.setContentType("application/json");
+        resp.setCharacterEncoding("UTF-8");
+        try (final JsonWriter writer = new JsonWriter(resp.getWriter())) {
+            final int limit;
+            try {
+                limit = size == null || size.isEmpty() ? DEFAULT_SIZE : Integer.parseInt(size);
+            } catch (NumberFormatException e) {
+                resp.setStatus(HttpServletResponse.SC_BAD_REQUEST);
+                writer.beginObject().name("error").value("size must be an integer: " + size).endObject();
+                return;
+            }
+            if (prefix == null || limit < 1 || limit > MAX_SIZE) {
+                resp.setStatus(HttpServletResponse.SC_BAD_REQUEST);
+                writer.beginObject()
+                      .name("error")
+                      .value(String.format("prefix is required and size must be between 1 and %s", MAX_SIZE))
+                      .endObject();
+                return;
+            }
+            final List<String> completions = names.complete(prefix, limit);
+            writer.beginObject();
+            writer.name("prefix").value(prefix);
+            writer.name("completions").beginArray();
+            for (final String completion : completions) {
+                writer.value(completion);
+            }
+            writer.endArray();
+            writer.endObject();
+        }
+    }
+}
@@ -0,0 +1,31 @@
+package net.exoego.typefind.server;
+
+import java.io.IOException;
+import java.util.Objects;
+import javax.servlet.http.HttpServlet;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+import com.google.gson.stream.JsonWriter;
+
+/**
+ * Answers {@code GET /api/metrics} with latency histograms of search requests in milliseconds.
+ */
+public class MetricsServlet extends HttpServlet {
+    private final QueryMetrics metrics;
+
+    public MetricsServlet(final QueryMetrics metrics) {
+        Objects.requireNonNull(metrics);
+        this.metrics = metrics;
+    }
+
+    @Override
+    protected void doGet(final HttpServletRequest req, final HttpServletResponse resp) throws IOException {
+        resp.setContentType("application/json");
+        resp.setCharacterEncoding("UTF-8");
+        resp.setHeader("Cache-Control", "no-store");
+        try (final JsonWriter writer = new JsonWriter(resp.getWriter())) {
+            metrics.writeJson(writer);
+        }
+    }
+}
@@ -0,0 +1,125 @@
+package net.exoego.typefind.server;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.AbstractExecutorService;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Provides {@code ExecutorService}s that run queries apart from the threads of Jetty.
+ */
+public final class QueryExecutors {
+    private QueryExecutors() { }
+
+    /**
+     * Returns an executor with a fixed number of threads and a bounded queue.
+     * Queries submitted while the queue is full are rejected with
+     * {@link java.util.concurrent.RejectedExecutionException}.
+     *
+     * @param threads       the number of threads.
+     * @param queueCapacity the maximum number of queries waiting for a thread.
+     * @return a new bounded executor.
+     */
+    public static ExecutorService bounded(final int threads, final int queueCapacity) {
+        final AtomicInteger count = new AtomicInteger();
+        final ThreadFactory factory = runnable -> {
+            final Thread thread = new Thread(runnable, "query-" + count.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+        return new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                                      new ArrayBlockingQueue<>(queueCapacity), factory,
+                                      new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    /**
+     * Returns an executor which starts a virtual thread per query, if the runtime supports virtual threads.
+     * Queries submitted while the given number of queries are running are rejected with
+     * {@link RejectedExecutionException}, as the bounded executor does, so that a burst does not start an unbounded
+     * number of threads waiting on the backend.
+     *
+     * @param maxConcurrent the maximum number of queries running at once.
+     * @return a new executor of virtual threads, or empty on runtimes without virtual threads.
+     */
+    public static Optional<ExecutorService> virtual(final int maxConcurrent) {
+        if (maxConcurrent < 1) {
+            throw new IllegalArgumentException("maxConcurrent must be positive: " + maxConcurrent);
+        }
+        try {
+            final Method factory = Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+            return Optional.of(new Limited((ExecutorService) factory.invoke(null), maxConcurrent));
+        } catch (NoSuchMethodException | IllegalAccessException e) {
+            return Optional.empty();
+        } catch (InvocationTargetException e) {
+            // preview feature not enabled
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * Admits as many tasks as permits to the delegate, and rejects the others.
+     */
+    static final class Limited extends AbstractExecutorService {
+        private final ExecutorService delegate;
+        private final Semaphore permits;
+
+        Limited(final ExecutorService delegate, final int maxConcurrent) {
+            this.delegate = delegate;
+            this.permits = new Semaphore(maxConcurrent);
+        }
+
+        @Override
+        public void execute(final Runnable command) {
+            if (!permits.tryAcquire()) {
+                throw new RejectedExecutionException("too many queries running");
+            }
+            try {
+                delegate.execute(() -> {
+                    try {
+                        command.run();
+                    } finally {
+                        permits.release();
+                    }
+                });
+            } catch (RejectedExecutionException e) {
+                permits.release();
+                throw e;
+            }
+        }
+
+        @Override
+        public void shutdown() {
+            delegate.shutdown();
+        }
+
+        @Override
+        public List<Runnable> shutdownNow() {
+            return delegate.shutdownNow();
+        }
+
+        @Override
+        public boolean isShutdown() {
+            return delegate.isShutdown();
+        }
+
+        @Override
+        public boolean isTerminated() {
+            return delegate.isTerminated();
+        }
+
+        @Override
+        public boolean awaitTermination(final long timeout, final TimeUnit unit) throws InterruptedException {
+            return delegate.awaitTermination(timeout, unit);
+        }
+    }
+}
@@ -0,0 +1,169 @@
+package net.exoego.typefind.server;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import com.google.gson.stream.JsonWriter;
+import net.exoego.typefind.search.QueryNormalizer;
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+/**
+ * Latency histograms of search requests, per stage and per shape of the query, and a sampled log of slow queries.
+ * <p>
+ * The shape of a query is the number of distinct type variables in it, which is what makes unification expensive.
+ */
+public class QueryMetrics {
+    private static final long HIGHEST_TRACKABLE_MICROS = TimeUnit.MINUTES.toMicros(1);
+    private static final int SIGNIFICANT_DIGITS = 3;
+    private static final int MAX_SHAPE = 3;
+    private static final Pattern NORMALIZED_TYPE_VARIABLE = Pattern.compile("\\bT(\\d+)\\b");
+    private final Map<QueryTimings.Stage, Histogram> stages = new EnumMap<>(QueryTimings.Stage.class);
+    private final Histogram total = newHistogram();
+    private final Map<Integer, Histogram> shapes = new ConcurrentHashMap<>();
+    private final Map<Outcome, LongAdder> outcomes = new EnumMap<>(Outcome.class);
+    private final LongAdder slowQueries = new LongAdder();
+    private final long slowQueryNanos;
+    private final double slowQuerySampleRate;
+    private final PrintStream slowQueryLog;
+
+    /**
+     * How a search request was answered.
+     */
+    public enum Outcome {
+        ANSWERED, BAD_REQUEST, REJECTED, TIMED_OUT, FAILED
+    }
+
+    /**
+     * @param slowQueryMillis     requests taking this or longer are slow.
+     * @param slowQuerySampleRate the ratio of slow requests to be logged, between 0 and 1.
+     * @param slowQueryLog        where slow requests are logged.
+     */
+    public QueryMetrics(final long slowQueryMillis, final double slowQuerySampleRate, final PrintStream slowQueryLog) {
+        if (slowQueryMillis < 0) {
+            throw new IllegalArgumentException("slowQueryMillis must not be negative: " + slowQueryMillis);
+        }
+        if (slowQuerySampleRate < 0 || slowQuerySampleRate > 1) {
+            throw new IllegalArgumentException("slowQuerySampleRate must be between 0 and 1: " + slowQuerySampleRate);
+        }
+        this.slowQueryNanos = TimeUnit.MILLISECONDS.toNanos(slowQueryMillis);
+        this.slowQuerySampleRate = slowQuerySampleRate;
+        this.slowQueryLog = slowQueryLog;
+        for (final QueryTimings.Stage stage : QueryTimings.Stage.values()) {
+            stages.put(stage, newHistogram());
+        }
+        for (final Outcome outcome : Outcome.values()) {
+            outcomes.put(outcome, new LongAdder());
+        }
+    }
+
+    private static Histogram newHistogram() {
+        return new ConcurrentHistogram(HIGHEST_TRACKABLE_MICROS, SIGNIFICANT_DIGITS);
+    }
+
+    private static long toMicros(final long nanos) {
+        return Math.min(TimeUnit.NANOSECONDS.toMicros(nanos), HIGHEST_TRACKABLE_MICROS);
+    }
+
+    static int typeVariables(final String normalized) {
+        // type variables are renamed to T1, T2, ... in order, so the largest number is the count.
+        int max = 0;
+        final Matcher matcher = NORMALIZED_TYPE_VARIABLE.matcher(normalized);
+        while (matcher.find()) {
+            max = Math.max(max, Integer.parseInt(matcher.group(1)));
+        }
+        return max;
+    }
+
+    void count(final Outcome outcome) {
+        outcomes.get(outcome).increment();
+    }
+
+    /**
+     * Records an answered request.
+     */
+    void record(final String query, final QueryTimings timings, final int hits) {
+        count(Outcome.ANSWERED);
+        for (final Map.Entry<QueryTimings.Stage, Histogram> stage : stages.entrySet()) {
+            stage.getValue().recordValue(toMicros(timings.nanos(stage.getKey())));
+        }
+        final long totalNanos = timings.totalNanos();
+        total.recordValue(toMicros(totalNanos));
+        final String normalized = QueryNormalizer.normalize(query);
+        final int shape = Math.min(typeVariables(normalized), MAX_SHAPE);
+        shapes.computeIfAbsent(shape, s -> newHistogram()).recordValue(toMicros(totalNanos));
+        if (totalNanos >= slowQueryNanos) {
+            slowQueries.increment();
+            if (ThreadLocalRandom.current().nextDouble() < slowQuerySampleRate) {
+                slowQueryLog.println(slowQueryLine(normalized, timings, hits));
+            }
+        }
+    }
+
+    private static String slowQueryLine(final String normalized, final QueryTimings timings, final int hits) {
+        final StringBuilder line = new StringBuilder();
+        line.append(String.format(Locale.ROOT, "slow query:%s total:%.1fms", normalized, timings.totalNanos() / 1e6));
+        for (final QueryTimings.Stage stage : QueryTimings.Stage.values()) {
+            line.append(String.format(Locale.ROOT, " %s:%.1fms", name(stage), timings.nanos(stage) / 1e6));
+        }
+        line.append(" typeVariables:").append(typeVariables(normalized)).append(" hits:").append(hits);
+        return line.toString();
+    }
+
+    private static String name(final Enum<?> e) {
+        return e.name().toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Writes the histograms in milliseconds, and counts of outcomes and slow queries.
+     */
+    void writeJson(final JsonWriter writer) throws IOException {
+        writer.beginObject();
+        writer.name("outcomes").beginObject();
+        for (final Map.Entry<Outcome, LongAdder> outcome : outcomes.entrySet()) {
+            writer.name(name(outcome.getKey())).value(outcome.getValue().sum());
+        }
+        writer.endObject();
+        writer.name("slowQueries").value(slowQueries.sum());
+        writer.name("total");
+        writeHistogram(writer, total);
+        writer.name("stages").beginObject();
+        for (final Map.Entry<QueryTimings.Stage, Histogram> stage : stages.entrySet()) {
+            writer.name(name(stage.getKey()));
+            writeHistogram(writer, stage.getValue());
+        }
+        writer.endObject();
+        writer.name("typeVariables").beginObject();
+        for (int shape = 0; shape <= MAX_SHAPE; shape++) {
+            final Histogram histogram = shapes.get(shape);
+            if (histogram != null) {
+                writer.name(shape == MAX_SHAPE ? shape + "+" : String.valueOf(shape));
+                writeHistogram(writer, histogram);
+            }
+        }
+        writer.endObject();
+        writer.endObject();
+    }
+
+    private static void writeHistogram(final JsonWriter writer, final Histogram live) throws IOException {
+        final Histogram histogram = live.copy();
+        writer.beginObject();
+        writer.name("count").value(histogram.getTotalCount());
+        writer.name("mean").value(histogram.getMean() / 1000);
+        writer.name("p50").value(histogram.getValueAtPercentile(50) / 1000.0);
+        writer.name("p90").value(histogram.getValueAtPercentile(90) / 1000.0);
+        writer.name("p99").value(histogram.getValueAtPercentile(99) / 1000.0);
+        writer.name("p999").value(histogram.getValueAtPercentile(99.9) / 1000.0);
+        writer.name("max").value(histogram.getMaxValue() / 1000.0);
+        writer.endObject();
+    }
+}
@@ -0,0 +1,41 @@
+package net.exoego.typefind.server;
+
+/**
+ * Nanoseconds spent in each stage of a single search request. Not thread-safe, but handed over from the servlet thread
+ * to the search thread through the executor, which orders the writes.
+ */
+final class QueryTimings {
+    /**
+     * Stages of a search request. Unification of type variables and ranking are done by the search engine, so they are
+     * a part of {@link #RETRIEVAL}.
+     */
+    enum Stage {
+        PARSE, QUEUE, RETRIEVAL, SERIALIZATION
+    }
+
+    private final long start;
+    private final long[] nanos = new long[Stage.values().length];
+    private long last;
+
+    QueryTimings() {
+        this.start = System.nanoTime();
+        this.last = start;
+    }
+
+    /**
+     * Ends the given stage, which started when the previous stage ended.
+     */
+    void end(final Stage stage) {
+        final long now = System.nanoTime();
+        nanos[stage.ordinal()] += now - last;
+        last = now;
+    }
+
+    long nanos(final Stage stage) {
+        return nanos[stage.ordinal()];
+    }
+
+    long totalNanos() {
+        return last - start;
+    }
+}
@@ -0,0 +1,200 @@
+package net.exoego.typefind.server;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Objects;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import javax.servlet.AsyncContext;
+import javax.servlet.AsyncEvent;
+import javax.servlet.AsyncListener;
+import javax.servlet.http.HttpServlet;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+import com.google.gson.Gson;
+import com.google.gson.stream.JsonWriter;
+import net.exoego.typefind.search.MethodHit;
+import net.exoego.typefind.search.SearchBackend;
+import net.exoego.typefind.search.SearchPage;
+import net.exoego.typefind.search.SearchQuery;
+
+/**
+ * Answers {@code GET /api/search?q=...&from=...&size=...} with a page of matched methods in JSON.
+ * The page is streamed hit by hit, so no intermediate JSON string of the whole page is built.
+ * <p>
+ * Queries run asynchronously on the given {@code Executor}, so that a slow backend does not hold threads of Jetty.
+ * Queries rejected by the executor are answered with 503, as well as those which do not finish in time.
+ * <p>
+ * Time spent in each stage of answered queries is recorded to {@link QueryMetrics}.
+ */
+public class SearchServlet extends HttpServlet {
+    private static final String JSON = "application/json";
+    private final SearchBackend backend;
+    private final Executor executor;
+    private final long timeoutMillis;
+    private final QueryMetrics metrics;
+    private final Gson gson = new Gson();
+
+    public SearchServlet(final SearchBackend backend,
+                         final Executor executor,
+                         final Duration timeout,
+                         final QueryMetrics metrics) {
+        Objects.requireNonNull(backend);
+        Objects.requireNonNull(executor);
+        Objects.requireNonNull(metrics);
+        this.backend = backend;
+        this.executor = executor;
+        this.timeoutMillis = timeout.toMillis();
+        this.metrics = metrics;
+    }
+
+    @Override
+    protected void doGet(final HttpServletRequest req, final HttpServletResponse resp) throws IOException {
+        final QueryTimings timings = new QueryTimings();
+        final SearchQuery query;
+        try {
+            query = parse(req);
+        } catch (IllegalArgumentException e) {
+            metrics.count(QueryMetrics.Outcome.BAD_REQUEST);
+            writeError(resp, HttpServletResponse.SC_BAD_REQUEST, e.getMessage());
+            return;
+        }
+        timings.end(QueryTimings.Stage.PARSE);
+        final AsyncContext async = req.startAsync();
+        async.setTimeout(timeoutMillis);
+        final AtomicBoolean answered = new AtomicBoolean();
+        async.addListener(new TimeoutListener(resp, answered, metrics));
+        try {
+            executor.execute(() -> {
+                timings.end(QueryTimings.Stage.QUEUE);
+                SearchPage page = null;
+                RuntimeException failure = null;
+                try {
+                    page = backend.search(query);
+                } catch (RuntimeException e) {
+                    failure = e;
+                }
+                timings.end(QueryTimings.Stage.RETRIEVAL);
+                if (!answered.compareAndSet(false, true)) {
+                    // already answered as timed out
+                    return;
+                }
+                try {
+                    if (failure == null) {
+                        writePage(resp, query, page);
+                        timings.end(QueryTimings.Stage.SERIALIZATION);
+                        metrics.record(query.getQuery(), timings, page.getHits().size());
+                    } else {
+                        metrics.count(QueryMetrics.Outcome.FAILED);
+                        writeQuietly(resp, HttpServletResponse.SC_INTERNAL_SERVER_ERROR, failure.toString());
+                    }
+                } catch (IOException e) {
+                    // the client has gone
+                } finally {
+                    async.complete();
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            answered.set(true);
+            metrics.count(QueryMetrics.Outcome.REJECTED);
+            writeError(resp, HttpServletResponse.SC_SERVICE_UNAVAILABLE, "too many searches");
+            async.complete();
+        }
+    }
+
+    private void writePage(final HttpServletResponse resp, final SearchQuery query, final SearchPage page)
+            throws IOException {
+        resp.setContentType(JSON);
+        resp.setCharacterEncoding("UTF-8");
+        try (final JsonWriter writer = new JsonWriter(resp.getWriter())) {
+            writer.beginObject();
+            writer.name("query").value(query.getQuery());
+            writer.name("from").value(query.getFrom());
+            writer.name("total").value(page.getTotal());
+            writer.name("hits").beginArray();
+            for (final MethodHit hit : page.getHits()) {
+                gson.toJson(hit, MethodHit.class, writer);
+            }
+            writer.endArray();
+            writer.endObject();
+        }
+    }
+
+    static SearchQuery parse(final HttpServletRequest req) {
+        final String q = req.getParameter("q");
+        if (q == null) {
+            throw new IllegalArgumentException("missing parameter: q");
+        }
+        final int from = intParameter(req, "from", 0);
+        final int size = intParameter(req, "size", SearchQuery.DEFAULT_SIZE);
+        return SearchQuery.of(q, from, size);
+    }
+
+    private static int intParameter(final HttpServletRequest req, final String name, final int defaultValue) {
+        final String value = req.getParameter(name);
+        if (value == null || value.isEmpty()) {
+            return defaultValue;
+        }
+        try {
+            return Integer.parseInt(value);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException(String.format("%s must be an integer: %s", name, value));
+        }
+    }
+
+    private static void writeQuietly(final HttpServletResponse resp, final int status, final String message) {
+        try {
+            writeError(resp, status, message);
+        } catch (IOException | IllegalStateException e) {
+            // the client has gone, or the response is already committed
+        }
+    }
+
+    private static void writeError(final HttpServletResponse resp, final int status, final String message)
+            throws IOException {
+        resp.setStatus(status);
+        resp.setContentType(JSON);
+        resp.setCharacterEncoding("UTF-8");
+        try (final JsonWriter writer = new JsonWriter(resp.getWriter())) {
+            writer.beginObject();
+            writer.name("error").value(message);
+            writer.endObject();
+        }
+    }
+
+    private static final class TimeoutListener implements AsyncListener {
+        private final HttpServletResponse resp;
+        private final AtomicBoolean answered;
+        private final QueryMetrics metrics;
+
+        private TimeoutListener(final HttpServletResponse resp, final AtomicBoolean answered,
+                                final QueryMetrics metrics) {
+            this.resp = resp;
+            this.answered = answered;
+            this.metrics = metrics;
+        }
+
+        @Override
+        public void onTimeout(final AsyncEvent event) {
+            if (answered.compareAndSet(false, true)) {
+                metrics.count(QueryMetrics.Outcome.TIMED_OUT);
+                writeQuietly(resp, HttpServletResponse.SC_SERVICE_UNAVAILABLE, "search timed out");
+                event.getAsyncContext().complete();
+            }
+        }
+
+        @Override
+        public void onComplete(final AsyncEvent event) {
+        }
+
+        @Override
+        public void onError(final AsyncEvent event) {
+        }
+
+        @Override
+        public void onStartAsync(final AsyncEvent event) {
+        }
+    }
+}
@@ -0,0 +1,126 @@
+package net.exoego.typefind.server;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.zip.Deflater;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Prepares static contents at package time, so that the server only has to send files as they are.
+ * <ul>
+ * <li>References to local scripts and stylesheets in HTML files are fingerprinted with the hash of their contents
+ * ({@code /js/q.js} to {@code /js/q.js?v=0123456789}), which allows them to be cached as immutable.</li>
+ * <li>Compressible files are pre-compressed to {@code .gz}, and to {@code .br} if the {@code brotli} command is
+ * available.</li>
+ * </ul>
+ * Usage: {@code StaticAssets <static content root>}
+ */
+public final class StaticAssets {
+    public static final String VERSION_PARAMETER = "v";
+    private static final Pattern LOCAL_ASSET = Pattern.compile(
+            "((?:src|href)=\")(/[^/\"?#:][^\"?#:]*\\.(?:js|css))(?:\\?" + VERSION_PARAMETER + "=[0-9a-f]+)?(\")");
+    private static final Pattern COMPRESSIBLE = Pattern.compile(".+\\.(?:html|js|css|svg|eot|ttf)$");
+    private static final int HASH_LENGTH = 10;
+
+    private StaticAssets() { }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length != 1) {
+            throw new IllegalArgumentException("Usage: StaticAssets <static content root>");
+        }
+        final Path root = Paths.get(args[0]);
+        final List<Path> files;
+        try (Stream<Path> walk = Files.walk(root)) {
+            files = walk.filter(Files::isRegularFile).collect(Collectors.toList());
+        }
+        for (final Path file : files) {
+            if (file.getFileName().toString().endsWith(".html")) {
+                fingerprint(root, file);
+            }
+        }
+        boolean brotli = true;
+        long original = 0;
+        long compressed = 0;
+        for (final Path file : files) {
+            if (COMPRESSIBLE.matcher(file.getFileName().toString()).matches()) {
+                original += Files.size(file);
+                compressed += gzip(file);
+                brotli = brotli && brotli(file);
+            }
+        }
+        System.out.printf("static assets:%s, original:%s bytes, gzip:%s bytes, brotli:%s%n",
+                          root, original, compressed, brotli ? "yes" : "skipped");
+    }
+
+    private static void fingerprint(final Path root, final Path html) throws IOException {
+        final String content = new String(Files.readAllBytes(html), StandardCharsets.UTF_8);
+        final Matcher matcher = LOCAL_ASSET.matcher(content);
+        final StringBuffer rewritten = new StringBuffer(content.length());
+        while (matcher.find()) {
+            final Path asset = root.resolve(matcher.group(2).substring(1));
+            final String replacement = Files.isRegularFile(asset)
+                                       ? matcher.group(1) + matcher.group(2) + "?" + VERSION_PARAMETER + "=" +
+                                         hash(asset) + matcher.group(3)
+                                       : matcher.group(1) + matcher.group(2) + matcher.group(3);
+            matcher.appendReplacement(rewritten, Matcher.quoteReplacement(replacement));
+        }
+        matcher.appendTail(rewritten);
+        Files.write(html, rewritten.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static String hash(final Path file) throws IOException {
+        try {
+            final byte[] digest = MessageDigest.getInstance("SHA-256").digest(Files.readAllBytes(file));
+            final StringBuilder hex = new StringBuilder();
+            for (final byte b : digest) {
+                hex.append(String.format("%02x", b));
+            }
+            return hex.substring(0, HASH_LENGTH);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static long gzip(final Path file) throws IOException {
+        final Path gz = file.resolveSibling(file.getFileName() + ".gz");
+        try (OutputStream out = new GZIPOutputStream(Files.newOutputStream(gz)) {
+            {
+                def.setLevel(Deflater.BEST_COMPRESSION);
+            }
+        }) {
+            Files.copy(file, out);
+        }
+        if (Files.size(gz) >= Files.size(file)) {
+            // not worth to be sent
+            Files.delete(gz);
+            return Files.size(file);
+        }
+        return Files.size(gz);
+    }
+
+    private static boolean brotli(final Path file) {
+        final Path br = file.resolveSibling(file.getFileName() + ".br");
+        try {
+            final Process process = new ProcessBuilder("brotli", "--best", "--force",
+                                                       "--output=" + br, file.toString()).inheritIO().start();
+            return process.waitFor() == 0;
+        } catch (IOException e) {
+            // brotli is not installed
+            return false;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+}
@@ -1,6 +1,7 @@
 package net.exoego.util;
 
 import java.util.Collections;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Optional;
 import java.util.Set;
@@ -13,8 +14,12 @@ public class MoreCollectors {
         return Collectors.collectingAndThen(Collectors.toList(), Collections::unmodifiableList);
     }
 
+    /**
+     * Returns a collector to an unmodifiable set which iterates in encounter order, so that the same elements are
+     * always serialized in the same order.
+     */
     public static <T> Collector<T, ?, Set<T>> toImmutableSet() {
-        return Collectors.collectingAndThen(Collectors.toSet(), Collections::unmodifiableSet);
+        return Collectors.collectingAndThen(Collectors.toCollection(LinkedHashSet::new), Collections::unmodifiableSet);
     }
 
     public static <T> Stream<T> optionalToStream(Optional<? extends T> optional) {
@@ -1,60 +1,85 @@
 angular.module('symbolFilters', []).filter('arrow', function () {
     return function (input) {
         // workaround to ng-sanitize ignore type parameters such as Stream<T>
-        return input.replace(">", "&gt;").replace("<", "&lt;").replace("-&gt;", '<span class="typefind-method-arrow glyphicon glyphicon-arrow-right"></span>');
+        return input.replace(/>/g, "&gt;").replace(/</g, "&lt;").replace(/-&gt;/g, '<span class="typefind-method-arrow glyphicon glyphicon-arrow-right"></span>');
     };
 });
 
 var app = angular
-    .module('tutorial', ['elasticui', 'symbolFilters', 'ngSanitize', 'ngRoute'])
-    .constant('euiHost', 'http://localhost:9200')
+    .module('tutorial', ['symbolFilters', 'ngSanitize', 'ngRoute'])
+    .constant('searchPath', '/api/search')
+    .constant('pageSize', 20)
     .config(function ($routeProvider, $locationProvider) {
         $routeProvider
             .when("/", {
                 templateUrl: "/partial/welcome.html"
             })
             .when("/q/", {
-                templateUrl: "/partial/result.html"
+                templateUrl: "/partial/result.html",
+                controller: "ResultController"
             })
             .when("/q/:query", {
-                templateUrl: "/partial/result.html"
+                templateUrl: "/partial/result.html",
+                controller: "ResultController"
             })
             .otherwise({
                 templateUrl: "/partial/otherwise.html"
             });
         $locationProvider.html5Mode(true);
-    }).controller("SearchController", function ($scope, $location, $rootScope, $log) {
+    }).controller("SearchController", function ($scope, $location, $rootScope) {
         $rootScope.$on("$locationChangeStart", function (event, next, current) {
             var q = ($location.path().match("/([^/]*$)") || ["", ""])[1];
             $scope.querystring = q;
         });
 
-        // TODO: change location if querystring changed
-//        $scope.$watch("querystring", function (value) {
-//            console.log("input:value", value);
-//        });
+        $scope.submit = function () {
+            if ($scope.querystring && $scope.querystring.length > 2) {
+                $location.path("/q/" + $scope.querystring);
+            }
+        };
     });
 
-app.directive('methodArguments', ['$compile', function ($compile) {
-    return {
-        restrict: 'E',
-        link: function (scope, element, attrs) {
-            var tagName = 'arguments-' + (scope.doc._source.isStatic ? "static" : "instance");
-            element.append($compile('<' + tagName + '></' + tagName + '>')(scope))
-        }
-    }
-}]);
-app.directive('argumentsStatic', function () {
-    return {
-        restrict: 'E',
-        templateUrl: '/partial/argument-static-method.html',
-        link: angular.noop
+/**
+ * Asks the search endpoint of this server for a page of methods.
+ * The page is resolved as {query, from, total, hits}, where each hit is
+ * {artifact, methodName, simpleForm, fullForm, isStatic, isDeprecated}.
+ */
+app.factory('search', function ($http, searchPath, pageSize) {
+    return function (query, from) {
+        return $http.get(searchPath, {params: {q: query, from: from, size: pageSize}}).then(function (response) {
+            return response.data;
+        });
     };
 });
-app.directive('argumentsInstance', function () {
-    return {
-        restrict: 'E',
-        templateUrl: '/partial/argument-instance-method.html',
-        link: angular.noop
+
+app.controller("ResultController", function ($scope, $routeParams, search, pageSize) {
+    $scope.query = $routeParams.query || "";
+    $scope.page = null;
+    $scope.error = null;
+
+    $scope.load = function (from) {
+        if ($scope.query.length <= 2) {
+            return;
+        }
+        search($scope.query, from).then(function (page) {
+            $scope.page = page;
+            $scope.error = null;
+        }, function (response) {
+            $scope.page = null;
+            $scope.error = (response.data && response.data.error) || ("search failed: " + response.status);
+        });
     };
-});
\ No newline at end of file
+    $scope.hasPrevious = function () {
+        return $scope.page && $scope.page.from > 0;
+    };
+    $scope.hasNext = function () {
+        return $scope.page && $scope.page.from + $scope.page.hits.length < $scope.page.total;
+    };
+    $scope.previous = function () {
+        $scope.load(Math.max(0, $scope.page.from - pageSize));
+    };
+    $scope.next = function () {
+        $scope.load($scope.page.from + pageSize);
+    };
+    $scope.load(0);
+});
@@ -0,0 +1,100 @@
+package net.exoego.typefind.definition;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.function.ToIntFunction;
+import java.util.function.UnaryOperator;
+import java.util.stream.Stream;
+
+import com.google.gson.Gson;
+import org.junit.Test;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+public class SamShapeTest {
+    @Test
+    public void declared_method() {
+        final SamShape shape = SamShape.of(ToIntFunction.class).get();
+        assertThat(shape.getName(), is("ToIntFunction"));
+        assertThat(shape.getCanonicalName(), is("java.util.function.ToIntFunction"));
+        assertThat(shape.getTypeParameters(), is(Collections.singletonList("T")));
+        assertThat(shape.getParameters(), is(Collections.singletonList("T")));
+        assertThat(shape.getReturnType(), is("int"));
+    }
+
+    @Test
+    public void inherited_method_in_terms_of_own_type_parameters() {
+        final SamShape shape = SamShape.of(UnaryOperator.class).get();
+        assertThat(shape.getParameters(), is(Collections.singletonList("T")));
+        assertThat(shape.getReturnType(), is("T"));
+    }
+
+    @Test
+    public void methods_of_object_are_not_abstract() {
+        final SamShape shape = SamShape.of(Comparator.class).get();
+        assertThat(shape.getParameters(), is(Arrays.asList("T", "T")));
+        assertThat(shape.getReturnType(), is("int"));
+    }
+
+    @Test
+    public void void_and_no_parameters() {
+        final SamShape shape = SamShape.of(Runnable.class).get();
+        assertThat(shape.getParameters(), is(Collections.emptyList()));
+        assertThat(shape.getReturnType(), is(SamShape.VOID));
+    }
+
+    @Test
+    public void nested_interface() {
+        final SamShape shape = SamShape.of(Lengths.class).get();
+        assertThat(shape.getName(), is("SamShapeTest.Lengths"));
+        assertThat(shape.getParameters(), is(Collections.singletonList("String[]")));
+        assertThat(shape.getReturnType(), is("List<Integer>"));
+    }
+
+    @Test
+    public void not_functional_interface() {
+        assertThat(SamShape.of(String.class), is(Optional.empty()));
+        assertThat(SamShape.of(Stream.class), is(Optional.empty()));
+    }
+
+    @Test
+    public void type_def_of_functional_interface() throws NoSuchMethodException {
+        final TypeDef argument = MethodDef.newInstance(Stream.class.getMethod("map", Function.class))
+                                          .getArguments()
+                                          .get(0);
+        assertThat(argument.getSamShape(), is(SamShape.of(Function.class)));
+        assertThat(TypeDef.newInstance(String.class).getSamShape(), is(Optional.empty()));
+    }
+
+    @Test
+    public void type_name_with_type_arguments() throws NoSuchMethodException {
+        final TypeDef concrete = TypeDef.newInstance(
+                SamShapeTest.class.getDeclaredMethod("total", ToIntFunction.class).getGenericParameterTypes()[0]);
+        assertThat(concrete.getSamTypeName(), is(Optional.of("ToIntFunction<String>")));
+        final TypeDef generic = MethodDef.newInstance(Stream.class.getMethod("map", Function.class))
+                                         .getArguments()
+                                         .get(0);
+        assertThat(generic.getSamTypeName(), is(Optional.of("Function<T,R>")));
+        assertThat(TypeDef.newInstance(String.class).getSamTypeName(), is(Optional.empty()));
+    }
+
+    private static int total(final ToIntFunction<? super String> length) {
+        return length.applyAsInt("");
+    }
+
+    @Test
+    public void read_back_from_json() {
+        final Gson gson = new Gson();
+        final SamShape shape = SamShape.of(UnaryOperator.class).get();
+        assertThat(gson.fromJson(gson.toJson(shape), SamShape.class), is(shape));
+    }
+
+    public interface Lengths {
+        List<Integer> lengths(String... strings);
+    }
+}
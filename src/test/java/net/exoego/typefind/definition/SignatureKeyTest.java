@@ -0,0 +1,115 @@
+package net.exoego.typefind.definition;
+
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.Test;
+import org.junit.experimental.runners.Enclosed;
+import org.junit.runner.RunWith;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.not;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+@RunWith(Enclosed.class)
+public class SignatureKeyTest {
+    public static class OfMethod {
+        @Test
+        public void type_variables_renamed_by_first_occurrence() throws NoSuchMethodException {
+            final SignatureKey first = key(Fixture.class.getMethod("first", List.class));
+            final SignatureKey head = key(Fixture.class.getMethod("head", List.class));
+            assertThat(first.getCanonical(), is("List<T1>->T1"));
+            assertThat(head, is(first));
+            assertThat(head.getFingerprint(), is(first.getFingerprint()));
+        }
+
+        @Test
+        public void distinct_variables_stay_distinct() throws NoSuchMethodException {
+            final SignatureKey key = key(Fixture.class.getMethod("value", Map.class));
+            assertThat(key.getCanonical(), is("Map<T1,T2>->T2"));
+            assertThat(key, is(not(SignatureKey.parse("Map<K, V> -> K"))));
+        }
+
+        @Test
+        public void bounds_kept() throws NoSuchMethodException {
+            final SignatureKey key = key(Collections.class.getMethod("max", Collection.class));
+            assertThat(key.getCanonical(), is("<T1 extends Object&Comparable<?super T1>>Collection<?extends T1>->T1"));
+        }
+
+        @Test
+        public void receiver_of_instance_method() throws NoSuchMethodException {
+            assertThat(key(ArrayList.class.getMethod("add", Object.class)).getCanonical(),
+                       is("(ArrayList<T1>,T1)->boolean"));
+            assertThat(key(Enum.class.getMethod("compareTo", Enum.class)).getCanonical(),
+                       is("<T1 extends Enum<T1>>(Enum<T1>,T1)->int"));
+        }
+
+        @Test
+        public void wildcard_bounded_by_object() throws NoSuchMethodException {
+            assertThat(key(Fixture.class.getMethod("size", List.class)).getCanonical(), is("List<?>->int"));
+        }
+    }
+
+    public static class Parse {
+        @Test
+        public void alpha_equivalent_queries() throws NoSuchMethodException {
+            final SignatureKey expected = key(Fixture.class.getMethod("first", List.class));
+            assertThat(SignatureKey.parse("<T> List<T> -> T"), is(expected));
+            assertThat(SignatureKey.parse("List<E>->E"), is(expected));
+            assertThat(SignatureKey.parse("(java.util.List<E>) -> E"), is(expected));
+        }
+
+        @Test
+        public void bounds_and_wildcards() throws NoSuchMethodException {
+            assertThat(SignatureKey.parse("<E extends Object & Comparable<? super E>> Collection<? extends E> -> E"),
+                       is(key(Collections.class.getMethod("max", Collection.class))));
+            assertThat(SignatureKey.parse("<T extends Object> List<? extends Object> -> int"),
+                       is(key(Fixture.class.getMethod("size", List.class))));
+        }
+
+        @Test
+        public void order_of_arguments_kept() {
+            assertThat(SignatureKey.parse("(int, String) -> char"),
+                       is(not(SignatureKey.parse("(String, int) -> char"))));
+        }
+
+        @Test
+        public void malformed_query() {
+            assertThat(SignatureKey.parse("<T List<").getCanonical(), is("<T1 List<"));
+        }
+    }
+
+    public static class Fingerprint {
+        @Test
+        public void fnv1a() {
+            assertThat(SignatureKey.fingerprint(""), is(0xcbf29ce484222325L));
+            assertThat(SignatureKey.fingerprint("a"), is(0x089be207b544f1e4L));
+        }
+    }
+
+    private static SignatureKey key(final Method method) {
+        return MethodDef.newInstance(method).getSignatureKey();
+    }
+
+    public interface Fixture {
+        static <T> T first(List<T> list) {
+            return list.get(0);
+        }
+
+        static <E> E head(List<E> list) {
+            return list.get(0);
+        }
+
+        static <K, V> V value(Map<K, V> map) {
+            return null;
+        }
+
+        static int size(List<? extends Object> list) {
+            return list.size();
+        }
+    }
+}
@@ -0,0 +1,55 @@
+package net.exoego.typefind.definition;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.Test;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+public class SignatureTokensTest {
+    @Test
+    public void whitespace_dropped_and_arrow_kept() {
+        assertThat(SignatureTokens.tokenize(" (java.util.List<T>, int) ->T "),
+                   is(Arrays.asList("(", "java.util.List", "<", "T", ">", ",", "int", ")", "->", "T")));
+    }
+
+    @Test
+    public void brackets_closed_and_split_at_top_level() {
+        final List<String> tokens = SignatureTokens.tokenize("(Map<K,V>, K) -> V");
+        assertThat(SignatureTokens.closing(tokens, 0), is(9));
+        assertThat(SignatureTokens.closing(tokens, 2), is(6));
+        assertThat(SignatureTokens.closing(SignatureTokens.tokenize("(List<T>"), 0), is(-1));
+        assertThat(SignatureTokens.topLevel(tokens, "->"), is(10));
+        assertThat(SignatureTokens.split(tokens.subList(1, 9)),
+                   is(Arrays.asList(Arrays.asList("Map", "<", "K", ",", "V", ">"), Collections.singletonList("K"))));
+        assertThat(SignatureTokens.split(Collections.emptyList()).size(), is(1));
+    }
+
+    @Test
+    public void space_kept_between_words_only() {
+        assertThat(SignatureTokens.render(SignatureTokens.tokenize("List < ? super  T > -> int")),
+                   is("List<?super T>->int"));
+    }
+
+    @Test
+    public void package_dropped_from_qualified_name() {
+        assertThat(SignatureTokens.simpleName("java.util.Map.Entry"), is("Map.Entry"));
+        assertThat(SignatureTokens.simpleName("Map.Entry"), is("Map.Entry"));
+        assertThat(SignatureTokens.simpleName("->"), is("->"));
+    }
+
+    @Test
+    public void type_variables_renamed_consistently_across_calls() {
+        final Map<String, String> renamed = new HashMap<>();
+        assertThat(SignatureTokens.rename(SignatureTokens.tokenize("Map<K,V>->K"), SignatureTokens::isTypeVariable,
+                                          renamed),
+                   is(SignatureTokens.tokenize("Map<T1,T2>->T1")));
+        assertThat(SignatureTokens.rename(Arrays.asList("V", "E"), SignatureTokens::isTypeVariable, renamed),
+                   is(Arrays.asList("T2", "T3")));
+    }
+}
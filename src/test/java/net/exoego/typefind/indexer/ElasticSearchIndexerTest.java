@@ -0,0 +1,161 @@
+package net.exoego.typefind.indexer;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import net.exoego.typefind.definition.MethodDef;
+import org.junit.Test;
+
+import static org.hamcrest.CoreMatchers.containsString;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+public class ElasticSearchIndexerTest {
+    private static final List<MethodDef> METHODS = MethodDef.allMethods(Collections.class).collect(Collectors.toList());
+
+    private static Stream<MethodDef> methods(final int count) {
+        return Stream.generate(() -> METHODS.stream()).flatMap(s -> s).limit(count);
+    }
+
+    @Test
+    public void sink_applies_deletes_and_bulks_in_order() {
+        final RecordingEndpoint endpoint = new RecordingEndpoint();
+        final AtomicLong progress = new AtomicLong();
+        final Indexer indexer = new ElasticSearchIndexer("test", () -> endpoint);
+        try (final IndexSink sink = indexer.open((artifact, sent, indexed) -> progress.set(indexed))) {
+            sink.delete(Collections.singletonList("java.util.Collections"));
+            methods(2500).forEach(sink::accept);
+            sink.flush();
+            assertThat(sink.getIndexed(), is(2500L));
+        }
+        assertThat(endpoint.operations.toString(),
+                   is("[delete:[java.util.Collections], bulk:1000, bulk:1000, bulk:500, publish, close]"));
+        assertThat(progress.get(), is(2500L));
+    }
+
+    @Test
+    public void summary_counts_own_artifact_only() {
+        final Map<String, String> summaries = new ConcurrentHashMap<>();
+        final ProgressListener listener = new ProgressListener() {
+            @Override
+            public void onBulk(final String artifact, final long sent, final long indexed) {
+            }
+
+            @Override
+            public void onCompleted(final String artifact, final String summary) {
+                summaries.put(artifact, summary);
+            }
+        };
+        try (final IndexSink first = new ElasticSearchIndexer("first", RecordingEndpoint::new).open(listener);
+             final IndexSink second = new ElasticSearchIndexer("second", RecordingEndpoint::new).open(listener)) {
+            methods(2500).forEach(first::accept);
+            methods(300).forEach(second::accept);
+        }
+        assertThat(summaries.get("first"),
+                   containsString(String.format("documents indexed : %,d (0 failed)", 2500)));
+        assertThat(summaries.get("second"),
+                   containsString(String.format("documents indexed : %,d (0 failed)", 300)));
+    }
+
+    @Test
+    public void index_closes_sources_even_if_it_fails() {
+        final RecordingEndpoint endpoint = new RecordingEndpoint() {
+            @Override
+            public long bulk(final String type, final List<String> documents) {
+                throw new IllegalStateException("unavailable");
+            }
+        };
+        final Indexer indexer = new ElasticSearchIndexer("test", () -> endpoint);
+        final AtomicBoolean first = new AtomicBoolean();
+        final AtomicBoolean second = new AtomicBoolean();
+        indexer.addSource(methods(5000).onClose(() -> first.set(true)));
+        indexer.addSource(methods(10).onClose(() -> second.set(true)));
+        try {
+            indexer.index();
+            throw new AssertionError("indexing must fail");
+        } catch (IllegalStateException e) {
+            assertThat(e.getMessage(), is("unavailable"));
+        }
+        assertThat(first.get(), is(true));
+        assertThat(second.get(), is(true));
+        assertThat(endpoint.operations.contains("publish"), is(false));
+        assertThat(endpoint.operations.contains("close"), is(true));
+    }
+
+    @Test
+    public void producer_waits_while_bulks_are_pending() throws Exception {
+        final CountDownLatch sending = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+        final RecordingEndpoint endpoint = new RecordingEndpoint() {
+            @Override
+            public long bulk(final String type, final List<String> documents) {
+                sending.countDown();
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return super.bulk(type, documents);
+            }
+        };
+        final Indexer indexer = new ElasticSearchIndexer("test", () -> endpoint);
+        final AtomicLong accepted = new AtomicLong();
+        final Thread producer = new Thread(() -> {
+            try (final IndexSink sink = indexer.open(ProgressListener.NONE)) {
+                methods(10000).forEach(m -> {
+                    sink.accept(m);
+                    accepted.incrementAndGet();
+                });
+            }
+        });
+        producer.start();
+        assertThat(sending.await(30, TimeUnit.SECONDS), is(true));
+        // one bulk being sent and one waiting, then the producer blocks on the third one
+        final long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(30);
+        while (producer.getState() != Thread.State.WAITING && System.nanoTime() < deadline) {
+            Thread.yield();
+        }
+        assertThat(producer.getState(), is(Thread.State.WAITING));
+        assertThat(accepted.get(), is(2999L));
+        assertThat(producer.isAlive(), is(true));
+        release.countDown();
+        producer.join(TimeUnit.SECONDS.toMillis(30));
+        assertThat(accepted.get(), is(10000L));
+        assertThat(endpoint.operations.size(), is(12));
+    }
+
+    private static class RecordingEndpoint implements BulkEndpoint {
+        private final List<String> operations = Collections.synchronizedList(new ArrayList<>());
+
+        @Override
+        public long bulk(final String type, final List<String> documents) {
+            operations.add("bulk:" + documents.size());
+            return documents.size();
+        }
+
+        @Override
+        public void delete(final String type, final Collection<String> classNames) {
+            operations.add("delete:" + classNames);
+        }
+
+        @Override
+        public void publishGeneration(final String type) {
+            operations.add("publish");
+        }
+
+        @Override
+        public void close() {
+            operations.add("close");
+        }
+    }
+}
@@ -0,0 +1,159 @@
+package net.exoego.typefind.indexer;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import net.exoego.typefind.definition.MethodDef;
+import org.junit.Test;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+public class FanOutIndexerTest {
+    private static final List<MethodDef> METHODS = MethodDef.allMethods(Collections.class).collect(Collectors.toList());
+
+    @Test
+    public void writes_the_same_methods_to_every_indexer() {
+        final ListIndexer first = new ListIndexer();
+        final ListIndexer second = new ListIndexer();
+        final Indexer indexer = new FanOutIndexer(named(first, second), 10);
+        indexer.delete(Collections.singletonList("java.util.Collections"));
+        indexer.addSource(METHODS.stream());
+        assertThat(indexer.index(), is((long) METHODS.size()));
+        for (final ListIndexer each : new ListIndexer[]{first, second}) {
+            assertThat(each.operations.get(0), is("delete:[java.util.Collections]"));
+            assertThat(each.operations.size(), is(METHODS.size() + 3));
+            assertThat(each.operations.get(METHODS.size() + 1), is("flush"));
+            assertThat(each.operations.get(METHODS.size() + 2), is("close"));
+        }
+    }
+
+    @Test
+    public void slow_indexer_does_not_hold_back_others_within_its_buffer() throws Exception {
+        final CountDownLatch release = new CountDownLatch(1);
+        final ListIndexer slow = new ListIndexer() {
+            @Override
+            void record(final String operation) {
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                super.record(operation);
+            }
+        };
+        final ListIndexer fast = new ListIndexer();
+        final Indexer indexer = new FanOutIndexer(named(slow, fast), 100);
+        try (final IndexSink sink = indexer.open(ProgressListener.NONE)) {
+            METHODS.stream().limit(50).forEach(sink::accept);
+            for (int i = 0; i < 100 && fast.operations.size() < 50; i++) {
+                TimeUnit.MILLISECONDS.sleep(50);
+            }
+            assertThat(fast.operations.size(), is(50));
+            assertThat(slow.operations.size(), is(0));
+            release.countDown();
+            sink.flush();
+            assertThat(sink.getIndexed(), is(50L));
+        }
+        assertThat(slow.operations.size(), is(52));
+    }
+
+    @Test
+    public void failed_indexer_is_detached() {
+        final ListIndexer failing = new ListIndexer() {
+            @Override
+            void record(final String operation) {
+                throw new IllegalStateException("unavailable");
+            }
+        };
+        final ListIndexer working = new ListIndexer();
+        final Indexer indexer = new FanOutIndexer(named(failing, working), 10);
+        indexer.addSource(METHODS.stream());
+        assertThat(indexer.index(), is((long) METHODS.size()));
+        assertThat(working.operations.size(), is(METHODS.size() + 2));
+    }
+
+    @Test(timeout = 30000)
+    public void indexer_throwing_error_is_detached() {
+        final ListIndexer broken = new ListIndexer() {
+            @Override
+            void record(final String operation) {
+                throw new StackOverflowError("broken");
+            }
+        };
+        final ListIndexer working = new ListIndexer();
+        final Indexer indexer = new FanOutIndexer(named(broken, working), 1);
+        indexer.addSource(METHODS.stream());
+        assertThat(indexer.index(), is((long) METHODS.size()));
+        assertThat(working.operations.size(), is(METHODS.size() + 2));
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void fails_if_all_indexers_fail() {
+        final ListIndexer failing = new ListIndexer() {
+            @Override
+            void record(final String operation) {
+                throw new IllegalStateException("unavailable");
+            }
+        };
+        final Indexer indexer = new FanOutIndexer(named(failing), 10);
+        indexer.addSource(METHODS.stream());
+        indexer.index();
+    }
+
+    private static Map<String, Indexer> named(final Indexer... indexers) {
+        final Map<String, Indexer> named = new LinkedHashMap<>();
+        for (int i = 0; i < indexers.length; i++) {
+            named.put("indexer" + i, indexers[i]);
+        }
+        return named;
+    }
+
+    private static class ListIndexer extends AbstractIndexer {
+        final List<String> operations = Collections.synchronizedList(new ArrayList<>());
+
+        void record(final String operation) {
+            operations.add(operation);
+        }
+
+        @Override
+        public IndexSink open(final ProgressListener listener) {
+            return new IndexSink() {
+                private long indexed;
+
+                @Override
+                public void accept(final MethodDef method) {
+                    record(method.getMethodName());
+                    indexed++;
+                }
+
+                @Override
+                public void delete(final Collection<String> classNames) {
+                    record("delete:" + classNames);
+                }
+
+                @Override
+                public void flush() {
+                    record("flush");
+                }
+
+                @Override
+                public long getIndexed() {
+                    return indexed;
+                }
+
+                @Override
+                public void close() {
+                    record("close");
+                }
+            };
+        }
+    }
+}
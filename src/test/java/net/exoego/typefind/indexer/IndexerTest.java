@@ -3,7 +3,6 @@ package net.exoego.typefind.indexer;
 import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
-import java.nio.file.Paths;
 import java.util.function.Predicate;
 import java.util.regex.Pattern;
 import java.util.stream.Stream;
@@ -11,8 +10,11 @@ import java.util.stream.Stream;
 import net.exoego.typefind.definition.MethodDef;
 import net.exoego.typefind.definition.MethodModifier;
 import net.exoego.typefind.definition.TypeDef;
+import net.exoego.typefind.reader.ClassEntryFilter;
 import net.exoego.typefind.reader.ClassStream;
 import net.exoego.typefind.reader.JdkFilters;
+import net.exoego.typefind.reader.maven.Gav;
+import net.exoego.typefind.reader.maven.MavenRepository;
 import org.junit.Ignore;
 import org.junit.Test;
 
@@ -29,7 +31,11 @@ public class IndexerTest {
     public void addJDK8() throws IOException {
         Indexer indexer = new ElasticSearchIndexer("JDK8u25_");
         final Path jreLibPath = ClassStream.getJreLibPath();
-        final Stream<Class<?>> jdkClasses = publicClasses(jreLibPath).filter(JdkFilters::isPublicDocumentedJdkClass);
+        final ClassEntryFilter jdkPackages = ClassEntryFilter.packages(JdkFilters.jdk());
+        final Stream<Class<?>> jdkClasses = Files.walk(jreLibPath)
+                                                 .filter(isJarFile)
+                                                 .flatMap(jar -> ClassStream.from(jar, jdkPackages))
+                                                 .filter(JdkFilters::isPublicDocumentedJdkClass);
         final Stream<MethodDef> methods = jdkClasses.flatMap(MethodDef::allMethods).filter(isPublicMethod);
         indexer.addSource(methods);
         final long index = indexer.index();
@@ -43,7 +49,9 @@ public class IndexerTest {
     @Test
     public void addJUnit() throws IOException {
         Indexer indexer = new ElasticSearchIndexer("JUnit4.12-beta-2");
-        final Path jreLibPath = Paths.get("C:\\Users\\yt\\.m2\\repository\\junit\\junit\\4.12-beta-2");
+        final Path jreLibPath = MavenRepository.local()
+                                               .pathOf(Gav.parse("junit:junit:4.12-beta-2"), "", "jar")
+                                               .getParent();
         final Pattern legacy = Pattern.compile("^junit.framework");
         final Predicate<MethodDef> isJunit4 = method -> !legacy.matcher(method.getDeclaringClass()
                                                                               .getPackageDef()
@@ -59,7 +67,9 @@ public class IndexerTest {
     @Test
     public void addElasticsearch() throws IOException {
         Indexer indexer = new ElasticSearchIndexer("Elasticsearch1.4.0.Beta1");
-        final Path path = Paths.get("C:\\Users\\yt\\.m2\\repository\\org\\elasticsearch\\elasticsearch\\1.4.0.Beta1");
+        final Path path = MavenRepository.local()
+                                         .pathOf(Gav.parse("org.elasticsearch:elasticsearch:1.4.0.Beta1"), "", "jar")
+                                         .getParent();
         final Stream<MethodDef> methods = publicClasses(path).filter(k -> k.getName().contains("$"))
                                                              .flatMap(MethodDef::allMethods)
                                                              .filter(isPublicMethod);
@@ -0,0 +1,61 @@
+package net.exoego.typefind.indexer;
+
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import com.google.gson.Gson;
+import net.exoego.typefind.definition.MethodDef;
+import net.exoego.typefind.definition.TypeDef;
+import net.exoego.typefind.reader.ClassStream;
+import org.junit.Test;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+public class MethodExtractorTest {
+    @Test
+    public void extracts_in_the_same_order_as_sequential_extraction_of_sorted_classes() throws Exception {
+        final Path gson = Paths.get(Gson.class.getProtectionDomain().getCodeSource().getLocation().toURI());
+        final List<Class<?>> classes;
+        try (final ClassStream stream = ClassStream.from(gson)) {
+            classes = stream.filter(TypeDef::isPublic).collect(Collectors.toList());
+        }
+        final List<String> sequential = classes.stream()
+                                               .sorted((a, b) -> a.getName().compareTo(b.getName()))
+                                               .flatMap(MethodDef::allMethods)
+                                               .map(MethodDef::getFullForm)
+                                               .collect(Collectors.toList());
+
+        final List<Class<?>> shuffled = new ArrayList<>(classes);
+        Collections.shuffle(shuffled);
+        final ForkJoinPool pool = new ForkJoinPool(4);
+        try (final Stream<MethodDef> methods = new MethodExtractor(pool).extract(shuffled.stream(), m -> true)) {
+            final List<String> parallel = methods.map(MethodDef::getFullForm).collect(Collectors.toList());
+            assertThat(parallel.size() > 100, is(true));
+            assertThat(parallel, is(sequential));
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    public void filters_methods() {
+        final ForkJoinPool pool = new ForkJoinPool(2);
+        try (final Stream<MethodDef> methods = new MethodExtractor(pool).extract(
+                Stream.of(String.class, Integer.class),
+                method -> method.getMethodName().equals("valueOf"))) {
+            final List<String> names = methods.map(m -> m.getDeclaringClass().getTypeName())
+                                              .distinct()
+                                              .collect(Collectors.toList());
+            assertThat(names.toString(), is("[Integer, String]"));
+        } finally {
+            pool.shutdown();
+        }
+    }
+}
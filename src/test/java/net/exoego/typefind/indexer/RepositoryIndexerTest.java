@@ -0,0 +1,106 @@
+package net.exoego.typefind.indexer;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import com.google.gson.Gson;
+import net.exoego.typefind.definition.MethodDef;
+import net.exoego.typefind.reader.ClassEntryFilter;
+import net.exoego.typefind.reader.maven.Gav;
+import net.exoego.typefind.reader.maven.MavenRepository;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+public class RepositoryIndexerTest {
+    @Rule
+    public final TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void indexes_each_artifact_under_its_coordinates() throws Exception {
+        final MavenRepository repository = new MavenRepository(folder.getRoot().toPath());
+        final Path gson = Paths.get(Gson.class.getProtectionDomain().getCodeSource().getLocation().toURI());
+        for (final String version : new String[]{"2.3", "2.3-copy"}) {
+            final Gav gav = Gav.of("com.google.code.gson", "gson", version);
+            final Path jar = repository.pathOf(gav, "", "jar");
+            Files.createDirectories(jar.getParent());
+            Files.copy(gson, jar);
+            Files.write(repository.pathOf(gav, "", "pom"), "<project/>".getBytes("UTF-8"));
+        }
+        final Set<String> labels = ConcurrentHashMap.newKeySet();
+        final RepositoryIndexer indexer = new RepositoryIndexer(repository,
+                                                                gav -> true,
+                                                                ClassEntryFilter.ALL,
+                                                                label -> {
+                                                                    labels.add(label);
+                                                                    return new CountingIndexer();
+                                                                },
+                                                                2);
+        final Map<Gav, Long> indexed = indexer.index();
+        assertThat(labels.stream().sorted().collect(Collectors.toList()).toString(),
+                   is("[com.google.code.gson:gson:2.3, com.google.code.gson:gson:2.3-copy]"));
+        assertThat(indexed.size(), is(2));
+        assertThat(indexed.get(Gav.parse("com.google.code.gson:gson:2.3")) > 100, is(true));
+        assertThat(indexed.get(Gav.parse("com.google.code.gson:gson:2.3")),
+                   is(indexed.get(Gav.parse("com.google.code.gson:gson:2.3-copy"))));
+    }
+
+    private static final class CountingIndexer implements Indexer {
+        private final List<Stream<MethodDef>> sources = new ArrayList<>();
+
+        @Override
+        public long index() {
+            return sources.stream().mapToLong(Stream::count).sum();
+        }
+
+        @Override
+        public void addSource(final Stream<MethodDef> from) {
+            sources.add(from);
+        }
+
+        @Override
+        public void delete(final Collection<String> classNames) {
+        }
+
+        @Override
+        public IndexSink open(final ProgressListener listener) {
+            return new IndexSink() {
+                private long count;
+
+                @Override
+                public void accept(final MethodDef method) {
+                    count++;
+                }
+
+                @Override
+                public void delete(final Collection<String> classNames) {
+                }
+
+                @Override
+                public void flush() {
+                }
+
+                @Override
+                public long getIndexed() {
+                    return count;
+                }
+
+                @Override
+                public void close() {
+                }
+            };
+        }
+    }
+}
@@ -0,0 +1,240 @@
+package net.exoego.typefind.indexer;
+
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.jar.JarEntry;
+import java.util.jar.JarFile;
+
+import com.google.gson.Gson;
+import net.exoego.typefind.definition.MethodDef;
+import net.exoego.typefind.reader.ClassEntryFilter;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+public class WatchIndexerTest {
+    private static final String JSON_TOKEN = "com/google/gson/stream/JsonToken.class";
+    @Rule
+    public final TemporaryFolder folder = new TemporaryFolder();
+    private final BlockingQueue<Batch> batches = new LinkedBlockingQueue<>();
+    /**
+     * The declaring class of each indexed method by label, as an index would keep them.
+     */
+    private final Map<String, List<String>> documents = new ConcurrentHashMap<>();
+
+    @Test
+    public void reindexes_changed_class_files() throws Exception {
+        final Path gson = gsonJar();
+        final Path classes = folder.newFolder("classes").toPath();
+        try (final JarFile source = new JarFile(gson.toFile())) {
+            for (final JarEntry entry : Collections.list(source.entries())) {
+                if (entry.getName().startsWith("com/google/gson/stream/") && !entry.isDirectory()) {
+                    final Path file = classes.resolve(entry.getName());
+                    Files.createDirectories(file.getParent());
+                    try (final InputStream in = source.getInputStream(entry)) {
+                        Files.copy(in, file);
+                    }
+                }
+            }
+        }
+        final byte[] token = Files.readAllBytes(classes.resolve(JSON_TOKEN));
+        try (final WatchIndexer indexer = start(Collections.<Path>emptyList(),
+                                                Collections.singletonList(classes),
+                                                Collections.singletonList(gson))) {
+            final Batch initial = next();
+            assertThat(initial.label, is(classes.toString()));
+            assertThat(initial.added.contains("com.google.gson.stream.JsonReader"), is(true));
+            assertThat(initial.added.contains("com.google.gson.stream.JsonToken"), is(true));
+
+            Files.delete(classes.resolve(JSON_TOKEN));
+            final Batch deleted = next();
+            assertThat(deleted.deleted.toString(), is("[com.google.gson.stream.JsonToken]"));
+            assertThat(deleted.added.isEmpty(), is(true));
+
+            Files.write(classes.resolve(JSON_TOKEN), token);
+            final Batch created = next();
+            assertThat(created.deleted.toString(), is("[com.google.gson.stream.JsonToken]"));
+            assertThat(created.added.toString(), is("[com.google.gson.stream.JsonToken]"));
+        }
+    }
+
+    @Test
+    public void reindexes_changed_jars() throws Exception {
+        final Path jars = folder.newFolder("jars").toPath();
+        final Path jar = jars.resolve("gson-2.3.jar");
+        Files.copy(gsonJar(), jar);
+        try (final WatchIndexer indexer = start(Collections.singletonList(jars),
+                                                Collections.<Path>emptyList(),
+                                                Collections.<Path>emptyList())) {
+            final Batch initial = next();
+            assertThat(initial.label, is("gson-2.3"));
+            // the classes in the jar, which may have been indexed before
+            assertThat(initial.deleted.contains("com.google.gson.Gson"), is(true));
+            assertThat(initial.added.contains("com.google.gson.Gson"), is(true));
+
+            Files.delete(jar);
+            final Batch deleted = next();
+            assertThat(deleted.label, is("gson-2.3"));
+            assertThat(deleted.deleted.contains("com.google.gson.Gson"), is(true));
+            assertThat(deleted.added.isEmpty(), is(true));
+        }
+    }
+
+    @Test
+    public void restart_does_not_duplicate_methods() throws Exception {
+        final Path jars = folder.newFolder("jars").toPath();
+        Files.copy(gsonJar(), jars.resolve("gson-2.3.jar"));
+        final Path classes = folder.newFolder("classes").toPath();
+        try (final JarFile source = new JarFile(gsonJar().toFile())) {
+            final Path file = classes.resolve(JSON_TOKEN);
+            Files.createDirectories(file.getParent());
+            try (final InputStream in = source.getInputStream(source.getEntry(JSON_TOKEN))) {
+                Files.copy(in, file);
+            }
+        }
+        final Map<String, List<String>> first = new TreeMap<>();
+        try (final WatchIndexer indexer = start(Collections.singletonList(jars),
+                                                Collections.singletonList(classes),
+                                                Collections.<Path>emptyList())) {
+            next();
+            next();
+            documents.forEach((label, methods) -> first.put(label, new ArrayList<>(methods)));
+        }
+        assertThat(first.get("gson-2.3").contains("com.google.gson.Gson"), is(true));
+        assertThat(first.get(classes.toString()).contains("com.google.gson.stream.JsonToken"), is(true));
+
+        try (final WatchIndexer indexer = start(Collections.singletonList(jars),
+                                                Collections.singletonList(classes),
+                                                Collections.<Path>emptyList())) {
+            next();
+            next();
+            assertThat(new TreeMap<>(documents), is(first));
+        }
+    }
+
+    private static Path gsonJar() throws Exception {
+        return Paths.get(Gson.class.getProtectionDomain().getCodeSource().getLocation().toURI());
+    }
+
+    private WatchIndexer start(final List<Path> jarDirectories,
+                               final List<Path> classDirectories,
+                               final List<Path> classpath) {
+        final WatchIndexer indexer = new WatchIndexer(jarDirectories, classDirectories, classpath,
+                                                      ClassEntryFilter.ALL, RecordingIndexer::new, 200);
+        final Thread thread = new Thread(() -> {
+            try {
+                indexer.run();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        thread.setDaemon(true);
+        thread.start();
+        return indexer;
+    }
+
+    private Batch next() throws InterruptedException {
+        final Batch batch = batches.poll(30, TimeUnit.SECONDS);
+        assertThat("no batch in time", batch == null, is(false));
+        return batch;
+    }
+
+    /**
+     * Returns the canonical name of the declaring class without type parameters, like "java.util.Map.Entry".
+     */
+    private static String declaringClass(final MethodDef method) {
+        return method.getDeclaringClass().getCanonicalName().replaceFirst("<.*", "").replace("abstract @", "");
+    }
+
+    private static final class Batch {
+        private final String label;
+        private final Set<String> deleted;
+        private final Set<String> added;
+
+        private Batch(final String label, final Set<String> deleted, final Set<String> added) {
+            this.label = label;
+            this.deleted = deleted;
+            this.added = added;
+        }
+    }
+
+    private final class RecordingIndexer extends AbstractIndexer {
+        private final String label;
+
+        private RecordingIndexer(final String label) {
+            this.label = label;
+        }
+
+        @Override
+        public IndexSink open(final ProgressListener listener) {
+            return new RecordingSink(label, listener);
+        }
+    }
+
+    /**
+     * Applies deletes and methods to {@link #documents} as they come, and records them as a batch when closed.
+     */
+    private final class RecordingSink implements IndexSink {
+        private final String label;
+        private final ProgressListener listener;
+        private final List<String> indexed;
+        private final Set<String> deleted = new TreeSet<>();
+        private final Set<String> added = new TreeSet<>();
+        private long count;
+
+        private RecordingSink(final String label, final ProgressListener listener) {
+            this.label = label;
+            this.listener = listener;
+            this.indexed = documents.computeIfAbsent(label, l -> new ArrayList<>());
+        }
+
+        @Override
+        public void accept(final MethodDef method) {
+            final String name = declaringClass(method);
+            added.add(name);
+            indexed.add(name);
+            count++;
+        }
+
+        @Override
+        public void delete(final Collection<String> classNames) {
+            deleted.addAll(classNames);
+            // like a phrase query, which ignores '$' and '.'
+            indexed.removeIf(name -> classNames.stream()
+                                               .anyMatch(d -> d.replace('$', '.').equals(name.replace('$', '.'))));
+        }
+
+        @Override
+        public void flush() {
+            listener.onBulk(label, count, count);
+        }
+
+        @Override
+        public long getIndexed() {
+            return count;
+        }
+
+        @Override
+        public void close() {
+            flush();
+            batches.add(new Batch(label, deleted, added));
+        }
+    }
+}
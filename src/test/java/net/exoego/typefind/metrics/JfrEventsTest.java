@@ -0,0 +1,54 @@
+package net.exoego.typefind.metrics;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import net.exoego.typefind.definition.MethodDef;
+import org.junit.Test;
+
+import static org.hamcrest.CoreMatchers.hasItem;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+public class JfrEventsTest {
+    @Test
+    public void method_extraction_emits_events_when_enabled() throws Exception {
+        final List<RecordedEvent> events = record(() -> MethodDef.allMethods(Function.class).count());
+
+        final RecordedEvent extraction = events.stream()
+                                               .filter(e -> e.getEventType().getName()
+                                                             .equals("net.exoego.typefind.MethodExtraction"))
+                                               .findFirst()
+                                               .get();
+        assertThat(extraction.getString("className"), is("java.util.function.Function"));
+        assertThat(extraction.getString("outcome"), is(MethodExtractionEvent.EXTRACTED));
+
+        assertThat(events.stream().map(e -> e.getString("outcome")).collect(Collectors.toList()),
+                   hasItem(MethodReflectionEvent.DEFINED));
+        assertThat(events.stream().anyMatch(e -> e.getEventType().getName()
+                                                  .equals("net.exoego.typefind.SamResolution")), is(true));
+    }
+
+    private static List<RecordedEvent> record(final Runnable task) throws Exception {
+        final Path file = Files.createTempFile("typefind", ".jfr");
+        try (final Recording recording = new Recording()) {
+            recording.enable(MethodExtractionEvent.class).withThreshold(Duration.ZERO);
+            recording.enable(MethodReflectionEvent.class).withThreshold(Duration.ZERO);
+            recording.enable(SamResolutionEvent.class).withThreshold(Duration.ZERO);
+            recording.start();
+            task.run();
+            recording.stop();
+            recording.dump(file);
+            return RecordingFile.readAllEvents(file);
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+}
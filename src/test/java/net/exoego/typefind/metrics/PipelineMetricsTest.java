@@ -0,0 +1,57 @@
+package net.exoego.typefind.metrics;
+
+import java.lang.management.ManagementFactory;
+import javax.management.ObjectName;
+
+import net.exoego.typefind.definition.MethodDef;
+import org.junit.Test;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+public class PipelineMetricsTest {
+    @Test
+    public void snapshot_difference_tells_what_happened_between() {
+        final PipelineMetrics metrics = new PipelineMetrics();
+        metrics.bulk("a", 10, 10, 1_000_000);
+        final PipelineMetrics.Snapshot start = metrics.snapshot();
+        metrics.classRead(100);
+        metrics.classSkipped();
+        metrics.serialized(42, 100);
+        metrics.bulk("a", 10, 7, 1_000_000);
+
+        final PipelineMetrics.Snapshot run = metrics.snapshot().since(start);
+        assertThat(run.getClassesRead(), is(1L));
+        assertThat(run.getClassesSkipped(), is(1L));
+        assertThat(run.getBytesSerialized(), is(42L));
+        assertThat(run.getBulkRequests(), is(1L));
+        assertThat(run.getDocumentsIndexed(), is(7L));
+        assertThat(run.getDocumentsFailed(), is(3L));
+    }
+
+    @Test
+    public void failures_are_counted_per_artifact() {
+        final PipelineMetrics metrics = new PipelineMetrics();
+        metrics.bulk("a", 10, 9, 0);
+        metrics.bulk("b", 10, 10, 0);
+        metrics.bulk("a", 10, 8, 0);
+        assertThat(metrics.getFailuresPerArtifact().get("a"), is(3L));
+        assertThat(metrics.getFailuresPerArtifact().containsKey("b"), is(false));
+        assertThat(metrics.getDocumentsFailed(), is(3L));
+    }
+
+    @Test
+    public void method_extraction_is_recorded() {
+        final PipelineMetrics.Snapshot start = PipelineMetrics.get().snapshot();
+        final long extracted = MethodDef.allMethods(String.class).count();
+        final PipelineMetrics.Snapshot run = PipelineMetrics.get().snapshot().since(start);
+        assertThat(run.getMethodsExtracted(), is(extracted));
+    }
+
+    @Test
+    public void registered_to_platform_mbean_server() throws Exception {
+        PipelineMetrics.get();
+        final ObjectName name = new ObjectName(PipelineMetrics.OBJECT_NAME);
+        assertThat(ManagementFactory.getPlatformMBeanServer().isRegistered(name), is(true));
+    }
+}
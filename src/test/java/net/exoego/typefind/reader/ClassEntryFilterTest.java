@@ -0,0 +1,51 @@
+package net.exoego.typefind.reader;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+import org.junit.Test;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+public class ClassEntryFilterTest {
+    private static final ClassEntryFilter JDK = ClassEntryFilter.packages(JdkFilters.jdk());
+
+    @Test
+    public void all_class_files() {
+        assertThat(ClassEntryFilter.ALL.accept("sun/misc/Unsafe.class"), is(true));
+        assertThat(ClassEntryFilter.ALL.accept("Default.class"), is(true));
+        assertThat(ClassEntryFilter.ALL.accept("META-INF/MANIFEST.MF"), is(false));
+        assertThat(ClassEntryFilter.ALL.accept("java/util/"), is(false));
+    }
+
+    @Test
+    public void by_package() {
+        assertThat(JDK.accept("java/util/Map$Entry.class"), is(true));
+        assertThat(JDK.accept("java/util/concurrent/atomic/LongAdder.class"), is(true));
+        assertThat(JDK.accept("sun/misc/Unsafe.class"), is(false));
+        assertThat(JDK.accept("com/sun/net/httpserver/HttpServer.class"), is(false));
+        assertThat(JDK.accept("Default.class"), is(false));
+    }
+
+    @Test
+    public void by_package_and_name() {
+        final ClassEntryFilter notAnonymous = JDK.andNames(name -> !name.matches(".*\\$\\d+.*"))
+                                                 .andNames(name -> !name.equals("package-info"));
+        assertThat(notAnonymous.accept("java/util/Map$Entry.class"), is(true));
+        assertThat(notAnonymous.accept("java/util/HashMap$1.class"), is(false));
+        assertThat(notAnonymous.accept("java/util/package-info.class"), is(false));
+        assertThat(notAnonymous.accept("sun/misc/Unsafe.class"), is(false));
+    }
+
+    @Test
+    public void by_entries() {
+        final ClassEntryFilter changed = JDK.andEntries(Arrays.asList("java/util/Map.class",
+                                                                      "sun/misc/Unsafe.class"));
+        assertThat(changed.accept("java/util/Map.class"), is(true));
+        assertThat(changed.accept("java/util/List.class"), is(false));
+        assertThat(changed.accept("sun/misc/Unsafe.class"), is(false));
+        assertThat(changed.andEntries(Collections.singleton("java/util/List.class"))
+                          .accept("java/util/List.class"), is(false));
+    }
+}
@@ -1,15 +1,34 @@
 package net.exoego.typefind.reader;
 
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
 import java.lang.reflect.Modifier;
+import java.net.URLClassLoader;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Set;
 import java.util.function.Predicate;
+import java.util.jar.Attributes;
+import java.util.jar.JarEntry;
+import java.util.jar.JarFile;
+import java.util.jar.JarOutputStream;
+import java.util.jar.Manifest;
+import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
+import com.google.gson.Gson;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
 import org.hamcrest.BaseMatcher;
 import org.hamcrest.Description;
 import org.hamcrest.Matcher;
+import org.junit.Assume;
 import org.junit.Test;
 import org.junit.experimental.theories.DataPoints;
 import org.junit.experimental.theories.Theories;
@@ -45,6 +64,7 @@ public class ClassStreamTest {
 
     @Test
     public void countJreClasses() throws IOException {
+        Assume.assumeFalse(RuntimeImage.isAvailable());
         final Predicate<Path> isJarFile = path -> path.toFile().getName().endsWith(".jar");
         final Stream<Class<?>> jdkClasses = Files.walk(JRE_LIB)
                                                  .filter(isJarFile)
@@ -53,6 +73,192 @@ public class ClassStreamTest {
         assertThat(jdkClasses.count(), is(greaterThan(4000L)));
     }
 
+    @Test
+    public void countRuntimeImageClasses() {
+        Assume.assumeTrue(RuntimeImage.isAvailable());
+        try (final ClassStream classes = ClassStream.fromRuntimeImage()) {
+            // fewer than JDK 8, since JDK 11 removed CORBA, JAXB and JAX-WS
+            final long count = classes.filter(JdkFilters::isPublicDocumentedJdkClass).count();
+            assertThat(count, is(greaterThan(3000L)));
+        }
+    }
+
+    @Test
+    public void runtimeImage_exports_only_public_api() {
+        Assume.assumeTrue(RuntimeImage.isAvailable());
+        final PackageMatcher exports = RuntimeImage.javaExports();
+        assertThat(exports.test("java.util"), is(true));
+        assertThat(exports.test("javax.swing"), is(true));
+        assertThat(exports.test("sun.misc"), is(false));
+        assertThat(exports.test("jdk.internal.misc"), is(false));
+    }
+
+    @Test
+    public void isolated_class_loader() throws Exception {
+        final Path gson = Paths.get(Gson.class.getProtectionDomain().getCodeSource().getLocation().toURI());
+        final ClassEntryFilter gsonStream = ClassEntryFilter.packages(PackageMatcher.builder()
+                                                                                     .include("com.google.gson.stream")
+                                                                                     .build());
+        try (final ClassStream classes = ClassStream.isolated(Collections.singletonList(gson),
+                                                              Collections.<Path>emptyList(),
+                                                              gsonStream)) {
+            final List<Class<?>> loaded = classes.collect(Collectors.toList());
+            assertThat(loaded.isEmpty(), is(false));
+            for (final Class<?> k : loaded) {
+                assertThat(k.getPackage().getName(), is("com.google.gson.stream"));
+                assertThat(k.getClassLoader() == JsonReader.class.getClassLoader(), is(false));
+                assertThat(k.getClassLoader() instanceof URLClassLoader, is(true));
+            }
+        }
+    }
+
+    @Test
+    public void fat_jar_with_nested_jars() throws Exception {
+        final Path gson = Paths.get(Gson.class.getProtectionDomain().getCodeSource().getLocation().toURI());
+        final Path fatJar = Files.createTempFile("fat", ".jar");
+        try {
+            try (final JarOutputStream out = new JarOutputStream(Files.newOutputStream(fatJar));
+                 final JarFile source = new JarFile(gson.toFile())) {
+                out.putNextEntry(new JarEntry("BOOT-INF/classes/com/google/gson/stream/JsonScope.class"));
+                try (final InputStream in = source.getInputStream(source.getEntry("com/google/gson/stream/JsonScope.class"))) {
+                    copy(in, out);
+                }
+                out.putNextEntry(new JarEntry("BOOT-INF/lib/" + gson.getFileName()));
+                Files.copy(gson, out);
+            }
+            final ClassEntryFilter gsonStream = ClassEntryFilter.packages(PackageMatcher.builder()
+                                                                                         .include("com.google.gson.stream")
+                                                                                         .build());
+            try (final ClassStream classes = ClassStream.fromFatJar(fatJar, gsonStream)) {
+                final List<Class<?>> loaded = classes.collect(Collectors.toList());
+                final Set<String> names = loaded.stream().map(Class::getName).collect(Collectors.toSet());
+                assertThat(names.contains("com.google.gson.stream.JsonScope"), is(true));
+                assertThat(names.contains("com.google.gson.stream.JsonReader"), is(true));
+                // JsonScope is both in the class root and in the nested jar
+                assertThat(names.size(), is(loaded.size()));
+                for (final Class<?> k : loaded) {
+                    assertThat(k.getPackage().getName(), is("com.google.gson.stream"));
+                    assertThat(k.getClassLoader() instanceof NestedJarClassLoader, is(true));
+                }
+            }
+        } finally {
+            Files.delete(fatJar);
+        }
+    }
+
+    @Test
+    public void class_directory() throws Exception {
+        final Path gson = Paths.get(Gson.class.getProtectionDomain().getCodeSource().getLocation().toURI());
+        final Path classes = Files.createTempDirectory("classes");
+        try {
+            try (final JarFile source = new JarFile(gson.toFile())) {
+                for (final JarEntry entry : Collections.list(source.entries())) {
+                    if (entry.getName().startsWith("com/google/gson/stream/") && !entry.isDirectory()) {
+                        final Path file = classes.resolve(entry.getName());
+                        Files.createDirectories(file.getParent());
+                        try (final InputStream in = source.getInputStream(entry)) {
+                            Files.copy(in, file);
+                        }
+                    }
+                }
+            }
+            // com.google.gson.internal is needed to link JsonReader
+            try (final ClassStream loaded = ClassStream.fromDirectory(classes,
+                                                                      Collections.singletonList(gson),
+                                                                      ClassEntryFilter.ALL)) {
+                final List<Class<?>> list = loaded.collect(Collectors.toList());
+                final Set<String> names = list.stream().map(Class::getName).collect(Collectors.toSet());
+                assertThat(names.contains("com.google.gson.stream.JsonReader"), is(true));
+                assertThat(names.size(), is(list.size()));
+                for (final Class<?> k : list) {
+                    assertThat(k.getPackage().getName(), is("com.google.gson.stream"));
+                    assertThat(k.getClassLoader() instanceof URLClassLoader, is(true));
+                }
+            }
+        } finally {
+            Files.walk(classes).sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+        }
+    }
+
+    @Test
+    public void multi_release_jar() throws Exception {
+        final Path gson = Paths.get(Gson.class.getProtectionDomain().getCodeSource().getLocation().toURI());
+        final Path jar = Files.createTempFile("multi-release", ".jar");
+        try {
+            final Manifest manifest = new Manifest();
+            manifest.getMainAttributes().put(Attributes.Name.MANIFEST_VERSION, "1.0");
+            manifest.getMainAttributes().put(new Attributes.Name("Multi-Release"), "true");
+            try (final JarOutputStream out = new JarOutputStream(Files.newOutputStream(jar), manifest);
+                 final JarFile source = new JarFile(gson.toFile())) {
+                final String scope = "com/google/gson/stream/JsonScope.class";
+                final String token = "com/google/gson/stream/JsonToken.class";
+                final String reader = "com/google/gson/stream/JsonReader.class";
+                copyEntry(source, scope, out, scope);
+                copyEntry(source, scope, out, "META-INF/versions/9/" + scope);
+                copyEntry(source, token, out, "META-INF/versions/9/" + token);
+                copyEntry(source, reader, out, "META-INF/versions/9999/" + reader);
+            }
+            try (final JarFile multiRelease = new JarFile(jar.toFile())) {
+                assertThat(MultiRelease.isMultiRelease(multiRelease), is(true));
+                assertThat(MultiRelease.entryNames(multiRelease, 8).contains("com/google/gson/stream/JsonToken.class"),
+                           is(false));
+                assertThat(MultiRelease.entryNames(multiRelease, 9).stream()
+                                       .filter(name -> name.endsWith(".class"))
+                                       .collect(Collectors.toList()),
+                           is(Arrays.asList("com/google/gson/stream/JsonScope.class",
+                                            "com/google/gson/stream/JsonToken.class")));
+            }
+            // not through the system class loader, which would find the classes in gson on the classpath anyway
+            try (final ClassStream classes = ClassStream.isolated(Collections.singletonList(jar),
+                                                                  Collections.<Path>emptyList(),
+                                                                  ClassEntryFilter.ALL)) {
+                final List<Class<?>> loaded = classes.collect(Collectors.toList());
+                final List<String> names = loaded.stream().map(Class::getName).collect(Collectors.toList());
+                assertThat(names.contains("com.google.gson.stream.JsonScope"), is(true));
+                assertThat(names.contains("com.google.gson.stream.JsonReader"), is(false));
+                assertThat(names.size(), is(MultiRelease.runtime() >= 9 ? 2 : 1));
+                for (final Class<?> k : loaded) {
+                    assertThat(k.getClassLoader() instanceof URLClassLoader, is(true));
+                    assertThat(k == Class.forName(k.getName(), false, JsonReader.class.getClassLoader()), is(false));
+                }
+                if (MultiRelease.runtime() >= 9) {
+                    // JsonToken is only under META-INF/versions/9/, so it is the versioned entry that is loaded
+                    final Class<?> token = loaded.get(names.indexOf("com.google.gson.stream.JsonToken"));
+                    assertThat(token.isEnum(), is(true));
+                    assertThat(token.getEnumConstants().length, is(JsonToken.values().length));
+                    assertThat(token.getClassLoader().getResource("com/google/gson/stream/JsonToken.class")
+                                    .toString()
+                                    .contains("!/META-INF/versions/9/"),
+                               is(true));
+                }
+            }
+        } finally {
+            Files.delete(jar);
+        }
+    }
+
+    @Test
+    public void parse_release() {
+        assertThat(MultiRelease.parseRelease("1.8"), is(8));
+        assertThat(MultiRelease.parseRelease("9"), is(9));
+        assertThat(MultiRelease.parseRelease("17"), is(17));
+    }
+
+    private static void copyEntry(final JarFile source, final String name, final JarOutputStream out, final String as)
+            throws IOException {
+        out.putNextEntry(new JarEntry(as));
+        try (final InputStream in = source.getInputStream(source.getEntry(name))) {
+            copy(in, out);
+        }
+    }
+
+    private static void copy(final InputStream in, final OutputStream out) throws IOException {
+        final byte[] buffer = new byte[8192];
+        for (int n = in.read(buffer); n >= 0; n = in.read(buffer)) {
+            out.write(buffer, 0, n);
+        }
+    }
+
     @Theory
     public void exclude_public_inner_class_if_enclosing_class_is_non_public(String className) throws IOException, ClassNotFoundException {
         final Class<?> aClass = Class.forName(className, false, ClassLoader.getSystemClassLoader());
@@ -0,0 +1,114 @@
+package net.exoego.typefind.reader;
+
+import org.junit.Test;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+public class PackageMatcherTest {
+    private static final PackageMatcher JDK = JdkFilters.jdk();
+
+    @Test
+    public void jdk_package() {
+        assertThat(JDK.test("java.awt"), is(true));
+        assertThat(JDK.test("java.awt.color"), is(true));
+        assertThat(JDK.test("javax.xml.crypto.dsig.keyinfo"), is(true));
+    }
+
+    @Test
+    public void middle_package_without_class() {
+        assertThat(JDK.test("java"), is(false));
+        assertThat(JDK.test("org"), is(false));
+        assertThat(JDK.test("javax.imageio.plugins"), is(false));
+    }
+
+    @Test
+    public void no_such_package() {
+        assertThat(JDK.test("java.awttttt"), is(false));
+        assertThat(JDK.test("java.awt.no_such"), is(false));
+        assertThat(JDK.test("javautil"), is(false));
+        assertThat(JDK.test("sun.misc"), is(false));
+        assertThat(JDK.test(""), is(false));
+        assertThat(JDK.test("java."), is(false));
+    }
+
+    @Test
+    public void agrees_with_pattern() {
+        for (final String p : new String[]{"java.util", "java.util.concurrent.atomic", "java.utill", "org.omg",
+                                           "org.omg.CORBA_2_3.portable", "com.sun.net", "javax.swing.text.html"}) {
+            assertThat(p, JDK.test(p), is(JdkFilters.jdkAll().matcher(p).matches()));
+        }
+    }
+
+    @Test
+    public void package_name_in_path() {
+        final String path = "java/util/concurrent/ConcurrentHashMap.class";
+        assertThat(JDK.matches(path, path.lastIndexOf('/'), '/'), is(true));
+        final String internal = "sun/misc/Unsafe.class";
+        assertThat(JDK.matches(internal, internal.lastIndexOf('/'), '/'), is(false));
+    }
+
+    @Test
+    public void most_specific_rule_wins() {
+        final PackageMatcher matcher = PackageMatcher.builder()
+                                                     .include("com.example.*")
+                                                     .exclude("com.example.internal.*")
+                                                     .include("com.example.internal.api")
+                                                     .build();
+        assertThat(matcher.test("com.example"), is(true));
+        assertThat(matcher.test("com.example.util"), is(true));
+        assertThat(matcher.test("com.example.internal"), is(false));
+        assertThat(matcher.test("com.example.internal.impl"), is(false));
+        assertThat(matcher.test("com.example.internal.api"), is(true));
+        assertThat(matcher.test("com.other"), is(false));
+    }
+
+    @Test
+    public void everything_is_included_without_include_rules() {
+        final PackageMatcher matcher = PackageMatcher.builder().exclude("sun.*", "com.sun.*").build();
+        assertThat(matcher.test("com.example"), is(true));
+        assertThat(matcher.test("com.sun.net"), is(false));
+        assertThat(matcher.test("sun"), is(false));
+    }
+
+    @Test
+    public void jdk_with_user_rules() {
+        final PackageMatcher matcher = JDK.toBuilder().include("com.example.*").exclude("java.awt.color").build();
+        assertThat(matcher.test("java.awt"), is(true));
+        assertThat(matcher.test("java.awt.color"), is(false));
+        assertThat(matcher.test("com.example.util"), is(true));
+    }
+
+    @Test
+    public void compact_profiles_are_nested() {
+        final PackageMatcher compact1 = JdkFilters.profile(JdkProfile.COMPACT1);
+        final PackageMatcher compact2 = JdkFilters.profile(JdkProfile.COMPACT2);
+        assertThat(compact1.test("java.util.function"), is(true));
+        assertThat(compact1.test("java.sql"), is(false));
+        assertThat(compact2.test("java.util.function"), is(true));
+        assertThat(compact2.test("java.sql"), is(true));
+        assertThat(compact2.test("javax.management"), is(false));
+        assertThat(JdkFilters.profile(JdkProfile.COMPACT3).test("java.awt"), is(false));
+        assertThat(JdkFilters.profile(JdkProfile.FULL).test("java.awt"), is(true));
+    }
+
+    @Test
+    public void union_of_profiles_is_the_largest() {
+        assertThat(JdkFilters.profile(JdkProfile.COMPACT2, JdkProfile.COMPACT1),
+                   is(JdkFilters.profile(JdkProfile.COMPACT2)));
+        assertThat(JdkFilters.profile(JdkProfile.COMPACT1, JdkProfile.FULL, JdkProfile.COMPACT3),
+                   is(JdkFilters.jdk()));
+    }
+
+    @Test
+    public void public_classes_in_profile() {
+        assertThat(JdkFilters.publicClassesIn(JdkFilters.profile(JdkProfile.COMPACT1)).test(String.class), is(true));
+        assertThat(JdkFilters.publicClassesIn(JdkFilters.profile(JdkProfile.COMPACT1)).test(java.sql.Date.class),
+                   is(false));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void malformed_rule() {
+        PackageMatcher.builder().include("com..example").build();
+    }
+}
@@ -0,0 +1,133 @@
+package net.exoego.typefind.reader.maven;
+
+import java.io.IOException;
+import java.net.URISyntaxException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import com.google.gson.Gson;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+public class MavenRepositoryTest {
+    @Rule
+    public final TemporaryFolder folder = new TemporaryFolder();
+    private MavenRepository repository;
+
+    static Path gsonJar() throws URISyntaxException {
+        return Paths.get(Gson.class.getProtectionDomain().getCodeSource().getLocation().toURI());
+    }
+
+    static void install(final MavenRepository repository, final Gav gav, final String body, final boolean withJar)
+            throws IOException, URISyntaxException {
+        final Path pom = repository.pathOf(gav, "", "pom");
+        Files.createDirectories(pom.getParent());
+        final String xml = String.format("<project><groupId>%s</groupId><artifactId>%s</artifactId>" +
+                                         "<version>%s</version>%s</project>",
+                                         gav.getGroupId(), gav.getArtifactId(), gav.getVersion(), body);
+        Files.write(pom, xml.getBytes(StandardCharsets.UTF_8));
+        if (withJar) {
+            Files.copy(gsonJar(), repository.pathOf(gav, "", "jar"));
+        }
+    }
+
+    private static String dependency(final String g, final String a, final String v, final String extra) {
+        return String.format("<dependency><groupId>%s</groupId><artifactId>%s</artifactId>%s%s</dependency>",
+                             g, a, v == null ? "" : "<version>" + v + "</version>", extra);
+    }
+
+    @Before
+    public void setUp() throws Exception {
+        repository = new MavenRepository(folder.getRoot().toPath());
+        install(repository, Gav.parse("com.google.code.gson:gson:2.3"), "", true);
+        install(repository, Gav.parse("org.example:parent:1"),
+                "<packaging>pom</packaging><properties><gson.version>2.3</gson.version></properties>" +
+                "<dependencyManagement><dependencies>" +
+                dependency("com.google.code.gson", "gson", "${gson.version}", "") +
+                "</dependencies></dependencyManagement>", false);
+        install(repository, Gav.parse("org.example:app:1.0"),
+                "<parent><groupId>org.example</groupId><artifactId>parent</artifactId><version>1</version></parent>" +
+                "<dependencies>" +
+                dependency("com.google.code.gson", "gson", null, "") +
+                dependency("junit", "junit", "4.12", "<scope>test</scope>") +
+                dependency("org.example", "lib", "${project.version}", "") +
+                dependency("org.example", "missing", "1", "") +
+                "</dependencies>", true);
+        install(repository, Gav.parse("org.example:lib:1.0"),
+                "<dependencies>" +
+                dependency("org.example", "optional", "1", "<optional>true</optional>") +
+                dependency("org.example", "transitive", "[1,2)", "") +
+                "</dependencies>", true);
+        install(repository, Gav.parse("org.example:optional:1"), "", true);
+        install(repository, Gav.parse("org.example:transitive:1"), "", true);
+        install(repository, Gav.parse("org.example:transitive:1.1"), "", true);
+    }
+
+    @Test
+    public void artifacts_with_jar() {
+        final List<String> found = repository.artifacts()
+                                             .map(MavenArtifact::toString)
+                                             .sorted()
+                                             .collect(Collectors.toList());
+        assertThat(found, is(Arrays.asList("com.google.code.gson:gson:2.3", "org.example:app:1.0",
+                                           "org.example:lib:1.0", "org.example:optional:1",
+                                           "org.example:transitive:1", "org.example:transitive:1.1")));
+    }
+
+    @Test
+    public void classpath_is_resolved_transitively_and_nearest_first() {
+        final List<Path> classpath = repository.classpath(Gav.parse("org.example:app:1.0"));
+        assertThat(classpath, is(Arrays.asList(
+                repository.pathOf(Gav.parse("com.google.code.gson:gson:2.3"), "", "jar"),
+                repository.pathOf(Gav.parse("org.example:lib:1.0"), "", "jar"),
+                repository.pathOf(Gav.parse("org.example:transitive:1.1"), "", "jar"))));
+    }
+
+    @Test
+    public void versions_are_compared_numerically() {
+        assertThat(MavenRepository.compareVersions("1.10", "1.9.2") > 0, is(true));
+        assertThat(MavenRepository.compareVersions("1.1", "1.1.0"), is(0));
+        assertThat(MavenRepository.compareVersions("2.3", "2.3"), is(0));
+        assertThat(MavenRepository.compareVersions("1.01", "1.1"), is(0));
+    }
+
+    @Test
+    public void pre_releases_are_lower_than_release() {
+        final List<String> versions = Arrays.asList("1.0-sp1", "1.0", "1.0-SNAPSHOT", "1.0-rc1", "1.0-beta",
+                                                    "1.0-alpha-2", "1.0-alpha-1", "1.0.1-SNAPSHOT", "0.9");
+        final List<String> sorted = versions.stream()
+                                            .sorted(MavenRepository::compareVersions)
+                                            .collect(Collectors.toList());
+        assertThat(sorted, is(Arrays.asList("0.9", "1.0-alpha-1", "1.0-alpha-2", "1.0-beta", "1.0-rc1",
+                                            "1.0-SNAPSHOT", "1.0", "1.0-sp1", "1.0.1-SNAPSHOT")));
+        assertThat(MavenRepository.compareVersions("1.0-final", "1.0"), is(0));
+        assertThat(MavenRepository.compareVersions("1.0-foo", "1.0-sp") > 0, is(true));
+    }
+
+    @Test
+    public void highest_version_is_not_pre_release() throws Exception {
+        install(repository, Gav.parse("org.example:ranged:1.0"), "", true);
+        install(repository, Gav.parse("org.example:ranged:1.0-SNAPSHOT"), "", true);
+        install(repository, Gav.parse("org.example:ranged:1.0-beta"), "", true);
+        install(repository, Gav.parse("org.example:user:1"),
+                "<dependencies>" + dependency("org.example", "ranged", "[1,)", "") + "</dependencies>", true);
+        assertThat(repository.classpath(Gav.parse("org.example:user:1")),
+                   is(Collections.singletonList(repository.pathOf(Gav.parse("org.example:ranged:1.0"), "", "jar"))));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void malformed_coordinates() {
+        Gav.parse("org.example:app");
+    }
+}
@@ -0,0 +1,95 @@
+package net.exoego.typefind.search;
+
+import java.time.Duration;
+import java.util.Collections;
+
+import net.exoego.typefind.definition.SignatureKey;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+public class CachingSearchBackendTest {
+    private CountingBackend delegate;
+    private CachingSearchBackend cache;
+
+    @Before
+    public void setUp() {
+        delegate = new CountingBackend();
+        cache = new CachingSearchBackend(delegate, 100, Duration.ofMinutes(1), Duration.ZERO);
+    }
+
+    @Test
+    public void repeated_query_skips_delegate() {
+        final SearchPage first = cache.search(SearchQuery.of("String -> int"));
+        final SearchPage second = cache.search(SearchQuery.of("String->int"));
+        assertThat(second, is(sameInstance(first)));
+        assertThat(delegate.searched, is(1));
+    }
+
+    @Test
+    public void alpha_equivalent_query_skips_delegate() {
+        cache.search(SearchQuery.of("<T> List<T> -> T"));
+        cache.search(SearchQuery.of("<E> List<E> -> E"));
+        assertThat(delegate.searched, is(1));
+    }
+
+    @Test
+    public void delegate_is_asked_with_original_query() {
+        final SearchQuery original = SearchQuery.of("<T> List<T> -> T")
+                                                .withExpansions(Collections.singletonList("Function<T>"));
+        cache.search(original);
+        cache.search(SearchQuery.of("<E> List<E> -> E").withExpansions(Collections.singletonList("Function<T>")));
+        assertThat(delegate.searched, is(1));
+        assertThat(delegate.lastQuery, is(sameInstance(original)));
+    }
+
+    @Test
+    public void signature_keeps_order_of_arguments() {
+        cache.search(SearchQuery.of("(int, String) -> char"));
+        assertThat(delegate.lastQuery.getQuery(), is("(int, String) -> char"));
+        assertThat(delegate.lastQuery.getSignature(), is(SignatureKey.parse("(int, String) -> char")));
+        cache.search(SearchQuery.of("(String, int) -> char"));
+        assertThat(delegate.searched, is(2));
+    }
+
+    @Test
+    public void different_page_is_not_shared() {
+        cache.search(SearchQuery.of("String -> int", 0, 20));
+        cache.search(SearchQuery.of("String -> int", 20, 20));
+        assertThat(delegate.searched, is(2));
+    }
+
+    @Test
+    public void new_generation_invalidates() {
+        cache.search(SearchQuery.of("String -> int"));
+        delegate.generation++;
+        cache.search(SearchQuery.of("String -> int"));
+        assertThat(delegate.searched, is(2));
+        assertThat(cache.generation(), is(1L));
+    }
+
+    private static class CountingBackend implements SearchBackend {
+        private int searched;
+        private long generation;
+        private SearchQuery lastQuery;
+
+        @Override
+        public SearchPage search(final SearchQuery query) {
+            searched++;
+            lastQuery = query;
+            return new SearchPage(0, Collections.<MethodHit>emptyList());
+        }
+
+        @Override
+        public long generation() {
+            return generation;
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+}
@@ -0,0 +1,80 @@
+package net.exoego.typefind.search;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+import org.junit.Test;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+public class GenerationRebuilderTest {
+    private final AtomicLong generation = new AtomicLong(1);
+    private final AtomicInteger built = new AtomicInteger();
+    private volatile boolean failing;
+    private volatile String thread;
+
+    private String build() {
+        thread = Thread.currentThread().getName();
+        final int count = built.incrementAndGet();
+        if (failing) {
+            throw new IllegalStateException("unavailable");
+        }
+        return "built" + count;
+    }
+
+    @Test
+    public void rebuilt_on_dedicated_thread_when_generation_changes() throws Exception {
+        try (final GenerationRebuilder<String> rebuilder = new GenerationRebuilder<>(
+                "test", generation::get, this::build, "initial")) {
+            assertThat(rebuilder.get(), is("initial"));
+            assertThat(await(rebuilder::get, "built1"), is("built1"));
+            assertThat(thread, is("rebuild-test"));
+            assertThat(rebuilder.get(), is("built1"));
+            assertThat(built.get(), is(1));
+
+            generation.set(2);
+            assertThat(await(rebuilder::get, "built2"), is("built2"));
+            assertThat(built.get(), is(2));
+        }
+    }
+
+    @Test
+    public void backs_off_after_failure() throws Exception {
+        failing = true;
+        try (final GenerationRebuilder<String> rebuilder = new GenerationRebuilder<>(
+                "test", generation::get, this::build, "initial", Duration.ofHours(1), Duration.ofHours(1))) {
+            rebuilder.get();
+            await(built::get, 1);
+            for (int i = 0; i < 10; i++) {
+                assertThat(rebuilder.get(), is("initial"));
+                TimeUnit.MILLISECONDS.sleep(10);
+            }
+            assertThat(built.get(), is(1));
+        }
+    }
+
+    @Test
+    public void retried_once_backoff_has_passed() throws Exception {
+        failing = true;
+        try (final GenerationRebuilder<String> rebuilder = new GenerationRebuilder<>(
+                "test", generation::get, this::build, "initial", Duration.ofMillis(50), Duration.ofMillis(50))) {
+            rebuilder.get();
+            await(built::get, 1);
+            failing = false;
+            assertThat(await(rebuilder::get, "built2"), is("built2"));
+        }
+    }
+
+    private static <T> T await(final Supplier<T> actual, final T expected) throws InterruptedException {
+        T value = actual.get();
+        for (int i = 0; i < 500 && !value.equals(expected); i++) {
+            TimeUnit.MILLISECONDS.sleep(10);
+            value = actual.get();
+        }
+        return value;
+    }
+}
@@ -0,0 +1,73 @@
+package net.exoego.typefind.search;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.ToIntFunction;
+import java.util.stream.Stream;
+
+import net.exoego.typefind.definition.SamShape;
+import org.junit.Test;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+public class LambdaExpandingSearchBackendTest {
+    @Test
+    public void expands_lambda_once_functional_interfaces_are_read() throws Exception {
+        final RecordingBackend delegate = new RecordingBackend();
+        final LambdaExpandingSearchBackend backend = new LambdaExpandingSearchBackend(delegate);
+        for (int i = 0; i < 100 && backend.current().size() == 0; i++) {
+            TimeUnit.MILLISECONDS.sleep(10);
+        }
+        backend.search(SearchQuery.of("(Stream<String>, (String -> int)) -> IntStream"));
+        backend.search(SearchQuery.of("String -> int"));
+        assertThat(delegate.queries.get(0).getExpansions(),
+                   is(Collections.singletonList("ToIntFunction<String>")));
+        assertThat(delegate.queries.get(1), is(SearchQuery.of("String -> int")));
+    }
+
+    @Test(timeout = 30000)
+    public void search_does_not_wait_for_functional_interfaces() {
+        final CountDownLatch release = new CountDownLatch(1);
+        final RecordingBackend delegate = new RecordingBackend() {
+            @Override
+            public Stream<SamShape> functionalInterfaces() {
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return super.functionalInterfaces();
+            }
+        };
+        final LambdaExpandingSearchBackend backend = new LambdaExpandingSearchBackend(delegate);
+        try {
+            backend.search(SearchQuery.of("(Stream<String>, (String -> int)) -> IntStream"));
+            assertThat(delegate.queries.get(0).getExpansions().isEmpty(), is(true));
+        } finally {
+            release.countDown();
+        }
+    }
+
+    private static class RecordingBackend implements SearchBackend {
+        private final List<SearchQuery> queries = new ArrayList<>();
+
+        @Override
+        public SearchPage search(final SearchQuery query) {
+            queries.add(query);
+            return new SearchPage(0, Collections.emptyList());
+        }
+
+        @Override
+        public Stream<SamShape> functionalInterfaces() {
+            return Stream.of(SamShape.of(ToIntFunction.class).get());
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+}
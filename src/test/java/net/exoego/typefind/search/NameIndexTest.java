@@ -0,0 +1,110 @@
+package net.exoego.typefind.search;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+public class NameIndexTest {
+    private StubBackend backend;
+    private NameIndex index;
+
+    @Before
+    public void setUp() {
+        backend = new StubBackend();
+        index = new NameIndex(backend, 100, Duration.ofMinutes(1));
+    }
+
+    @Test
+    public void completes_names_of_backend() throws Exception {
+        backend.names = Arrays.asList("String", "StringBuilder", "size");
+        assertThat(await(() -> index.complete("str", 10), Arrays.asList("String", "StringBuilder")),
+                   is(Arrays.asList("String", "StringBuilder")));
+        assertThat(backend.read.get(), is(1));
+    }
+
+    @Test
+    public void prefix_typed_one_more_character() throws Exception {
+        backend.names = Arrays.asList("String", "StringBuilder", "Stream", "size");
+        await(() -> index.complete("s", 10), Arrays.asList("size", "Stream", "String", "StringBuilder"));
+        assertThat(index.complete("st", 10), is(Arrays.asList("Stream", "String", "StringBuilder")));
+        assertThat(index.complete("stri", 10), is(Arrays.asList("String", "StringBuilder")));
+        assertThat(index.complete("strx", 10), is(Collections.<String>emptyList()));
+    }
+
+    @Test
+    public void rebuilt_on_new_generation() throws Exception {
+        backend.names = Collections.singletonList("String");
+        await(() -> index.complete("s", 10), Collections.singletonList("String"));
+        backend.names = Collections.singletonList("Stream");
+        assertThat(index.complete("s", 10), is(Collections.singletonList("String")));
+        assertThat(backend.read.get(), is(1));
+
+        backend.generation = 2;
+        assertThat(await(() -> index.complete("s", 10), Collections.singletonList("Stream")),
+                   is(Collections.singletonList("Stream")));
+        assertThat(backend.read.get(), is(2));
+    }
+
+    @Test
+    public void previous_names_kept_if_rebuild_fails() throws Exception {
+        backend.names = Collections.singletonList("String");
+        await(() -> index.complete("s", 10), Collections.singletonList("String"));
+        backend.failing = true;
+        backend.generation = 2;
+        index.current();
+        for (int i = 0; i < 100 && backend.read.get() < 2; i++) {
+            TimeUnit.MILLISECONDS.sleep(10);
+        }
+        assertThat(index.complete("s", 10), is(Collections.singletonList("String")));
+    }
+
+    private static <T> T await(final Supplier<T> actual, final T expected) throws InterruptedException {
+        T value = actual.get();
+        for (int i = 0; i < 500 && !value.equals(expected); i++) {
+            TimeUnit.MILLISECONDS.sleep(10);
+            value = actual.get();
+        }
+        return value;
+    }
+
+    private static class StubBackend implements SearchBackend {
+        private final AtomicInteger read = new AtomicInteger();
+        private volatile List<String> names = Collections.emptyList();
+        private volatile long generation = 1;
+        private volatile boolean failing;
+
+        @Override
+        public SearchPage search(final SearchQuery query) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public long generation() {
+            return generation;
+        }
+
+        @Override
+        public Stream<String> names() {
+            read.incrementAndGet();
+            if (failing) {
+                throw new IllegalStateException("unavailable");
+            }
+            return names.stream();
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+}
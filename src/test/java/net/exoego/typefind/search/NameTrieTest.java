@@ -0,0 +1,57 @@
+package net.exoego.typefind.search;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.stream.Stream;
+
+import org.junit.Test;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+public class NameTrieTest {
+    private static final NameTrie TRIE = NameTrie.of(Stream.of("String", "StringBuilder", "stream", "Stream",
+                                                               "java.util.stream.Stream", "java.util.List",
+                                                               "size", "sort", "String", ""));
+
+    @Test
+    public void complete_ignoring_case() {
+        assertThat(TRIE.complete("str", 10), is(Arrays.asList("Stream", "stream", "String", "StringBuilder")));
+        assertThat(TRIE.complete("STRING", 10), is(Arrays.asList("String", "StringBuilder")));
+    }
+
+    @Test
+    public void complete_within_compressed_path() {
+        assertThat(TRIE.complete("java.util.s", 10), is(Arrays.asList("java.util.stream.Stream")));
+        assertThat(TRIE.complete("java.util.x", 10), is(Collections.<String>emptyList()));
+    }
+
+    @Test
+    public void limit() {
+        assertThat(TRIE.complete("s", 2), is(Arrays.asList("size", "sort")));
+    }
+
+    @Test
+    public void empty_prefix_completes_everything() {
+        assertThat(TRIE.complete("", 100).size(), is(TRIE.size()));
+        assertThat(TRIE.size(), is(8));
+    }
+
+    @Test
+    public void incremental_advance_equals_whole_prefix() {
+        final NameTrie.Cursor stri = TRIE.root().advance("stri");
+        assertThat(stri.advance('n').advance('g').complete(10), is(TRIE.complete("string", 10)));
+    }
+
+    @Test
+    public void dead_cursor_stays_dead() {
+        final NameTrie.Cursor cursor = TRIE.root().advance("xyz");
+        assertThat(cursor.isDead(), is(true));
+        assertThat(cursor.advance('a').complete(10), is(Collections.<String>emptyList()));
+    }
+
+    @Test
+    public void empty_trie() {
+        assertThat(NameTrie.empty().complete("a", 10), is(Collections.<String>emptyList()));
+    }
+}
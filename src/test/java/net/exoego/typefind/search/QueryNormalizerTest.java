@@ -0,0 +1,67 @@
+package net.exoego.typefind.search;
+
+import org.junit.Test;
+import org.junit.experimental.runners.Enclosed;
+import org.junit.runner.RunWith;
+
+import static net.exoego.typefind.search.QueryNormalizer.normalize;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+@RunWith(Enclosed.class)
+public class QueryNormalizerTest {
+    public static class Whitespace {
+        @Test
+        public void removed_around_symbols() {
+            assertThat(normalize(" ( String , int )  ->  char "), is("(String,int)->char"));
+        }
+
+        @Test
+        public void collapsed_between_words() {
+            assertThat(normalize("List<?   extends Number>"), is("List<?extends Number>"));
+            assertThat(normalize("string    length"), is("string length"));
+        }
+    }
+
+    public static class TypeVariables {
+        @Test
+        public void renamed_by_first_occurrence() {
+            assertThat(normalize("<E> List<E> -> E"), is("<T1>List<T1>->T1"));
+            assertThat(normalize("<T> List<T> -> T"), is("<T1>List<T1>->T1"));
+        }
+
+        @Test
+        public void distinct_variables_stay_distinct() {
+            assertThat(normalize("Map<K, V> -> K"), is("Map<T1,T2>->T1"));
+            assertThat(normalize("Map<V, K> -> K"), is("Map<T1,T2>->T2"));
+        }
+
+        @Test
+        public void class_names_are_not_type_variables() {
+            assertThat(normalize("Optional<T> -> String"), is("Optional<T1>->String"));
+        }
+    }
+
+    public static class Arguments {
+        @Test
+        public void ordered() {
+            assertThat(normalize("(int, String) -> char"), is(normalize("(String, int) -> char")));
+        }
+
+        @Test
+        public void ordered_regardless_of_type_variable_names() {
+            assertThat(normalize("(E, List<E>) -> E"), is("(T1,List<T1>)->T1"));
+            assertThat(normalize("(List<T>, T) -> T"), is("(T1,List<T1>)->T1"));
+        }
+
+        @Test
+        public void nested_tuples_are_kept() {
+            assertThat(normalize("(Stream<T>, (T, U) -> R) -> R"), is("((T1,T2)->T3,Stream<T1>)->T3"));
+        }
+
+        @Test
+        public void not_a_signature_is_kept() {
+            assertThat(normalize("(int, String)"), is("(int,String)"));
+        }
+    }
+}
@@ -0,0 +1,76 @@
+package net.exoego.typefind.search;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.function.Function;
+import java.util.function.IntFunction;
+import java.util.function.IntUnaryOperator;
+import java.util.function.ToIntFunction;
+import java.util.function.UnaryOperator;
+import java.util.stream.Stream;
+
+import net.exoego.typefind.definition.SamShape;
+import org.junit.Test;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+public class SamIndexTest {
+    private static final SamIndex INDEX = SamIndex.of(Stream.of(Function.class, ToIntFunction.class,
+                                                                UnaryOperator.class, IntFunction.class,
+                                                                IntUnaryOperator.class, Runnable.class,
+                                                                Callable.class, StringLength.class)
+                                                            .map(klass -> SamShape.of(klass).get()));
+
+    @Test
+    public void lambda_in_arguments() {
+        assertThat(INDEX.expand("(Stream<String>, (String -> int)) -> IntStream"),
+                   is(set("ToIntFunction<String>", "Function<String,Integer>", "SamIndexTest.StringLength")));
+    }
+
+    @Test
+    public void boxing_and_unboxing_are_equivalent() {
+        assertThat(INDEX.expand("(String -> Integer) -> int"), is(INDEX.expand("(String -> int) -> int")));
+        assertThat(INDEX.expand("(int -> int) -> int"),
+                   is(set("IntUnaryOperator", "IntFunction<Integer>", "ToIntFunction<Integer>",
+                          "Function<Integer,Integer>", "UnaryOperator<Integer>")));
+    }
+
+    @Test
+    public void type_parameters_bound_consistently() {
+        assertThat(INDEX.expand("(String -> String) -> int"),
+                   is(set("Function<String,String>", "UnaryOperator<String>")));
+        assertThat(INDEX.expand("(T -> R) -> int"), is(set("Function<T,R>")));
+    }
+
+    @Test
+    public void no_parameters() {
+        assertThat(INDEX.expand("(() -> ()) -> Thread"), is(set("Runnable")));
+        assertThat(INDEX.expand("(() -> void) -> Thread"), is(set("Runnable")));
+        assertThat(INDEX.expand("(() -> String) -> Future<String>"), is(set("Callable<String>")));
+    }
+
+    @Test
+    public void qualified_names() {
+        assertThat(INDEX.expand("(java.lang.String -> int) -> int"),
+                   is(INDEX.expand("(String -> int) -> int")));
+    }
+
+    @Test
+    public void no_lambda() {
+        assertThat(INDEX.expand("String -> int"), is(Collections.emptySet()));
+        assertThat(INDEX.expand("(String, int) -> char"), is(Collections.emptySet()));
+        assertThat(SamIndex.empty().expand("(String -> int) -> int"), is(Collections.emptySet()));
+    }
+
+    private static Set<String> set(final String... names) {
+        return new HashSet<>(Arrays.asList(names));
+    }
+
+    public interface StringLength {
+        int length(String string);
+    }
+}
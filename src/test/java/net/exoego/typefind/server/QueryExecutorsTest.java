@@ -0,0 +1,82 @@
+package net.exoego.typefind.server;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Test;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+public class QueryExecutorsTest {
+    @Test
+    public void bounded_rejects_when_queue_is_full() throws InterruptedException {
+        final ExecutorService executor = QueryExecutors.bounded(1, 1);
+        final CountDownLatch release = new CountDownLatch(1);
+        try {
+            executor.execute(() -> await(release));
+            executor.execute(() -> await(release));
+            assertThat(rejected(executor), is(true));
+        } finally {
+            release.countDown();
+            executor.shutdown();
+            executor.awaitTermination(10, TimeUnit.SECONDS);
+        }
+    }
+
+    @Test
+    public void limited_rejects_beyond_limit_until_a_task_finishes() throws InterruptedException {
+        final ExecutorService executor = new QueryExecutors.Limited(Executors.newCachedThreadPool(), 2);
+        final CountDownLatch release = new CountDownLatch(1);
+        final CountDownLatch finished = new CountDownLatch(2);
+        try {
+            executor.execute(() -> {
+                await(release);
+                finished.countDown();
+            });
+            executor.execute(() -> {
+                await(release);
+                finished.countDown();
+            });
+            assertThat(rejected(executor), is(true));
+
+            release.countDown();
+            assertThat(finished.await(10, TimeUnit.SECONDS), is(true));
+            // permits are released after the tasks, which may still be finishing
+            final long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+            boolean admitted = false;
+            while (!admitted && System.nanoTime() < deadline) {
+                admitted = !rejected(executor);
+            }
+            assertThat(admitted, is(true));
+        } finally {
+            executor.shutdown();
+            executor.awaitTermination(10, TimeUnit.SECONDS);
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void virtual_needs_positive_limit() {
+        QueryExecutors.virtual(0);
+    }
+
+    private static boolean rejected(final ExecutorService executor) {
+        try {
+            executor.execute(() -> { });
+            return false;
+        } catch (RejectedExecutionException e) {
+            return true;
+        }
+    }
+
+    private static void await(final CountDownLatch latch) {
+        try {
+            latch.await(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
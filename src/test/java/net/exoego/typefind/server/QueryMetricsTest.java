@@ -0,0 +1,67 @@
+package net.exoego.typefind.server;
+
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.io.StringWriter;
+
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import com.google.gson.stream.JsonWriter;
+import org.junit.Test;
+
+import static org.hamcrest.CoreMatchers.containsString;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+public class QueryMetricsTest {
+    private final ByteArrayOutputStream log = new ByteArrayOutputStream();
+
+    @Test
+    public void counts_type_variables_of_normalized_query() {
+        assertThat(QueryMetrics.typeVariables("String->int"), is(0));
+        assertThat(QueryMetrics.typeVariables("(T1,List<T2>)->T1"), is(2));
+    }
+
+    @Test
+    public void slow_query_is_logged_with_normalized_query_and_stages() {
+        final QueryMetrics metrics = new QueryMetrics(0, 1.0, new PrintStream(log, true));
+        metrics.record("(E, List<E>) -> E", finished(), 3);
+        final String line = log.toString();
+        assertThat(line, containsString("slow query:(T1,List<T1>)->T1"));
+        assertThat(line, containsString(" retrieval:"));
+        assertThat(line, containsString(" typeVariables:1 hits:3"));
+    }
+
+    @Test
+    public void slow_query_is_not_logged_if_not_sampled() {
+        final QueryMetrics metrics = new QueryMetrics(0, 0.0, new PrintStream(log, true));
+        metrics.record("String -> int", finished(), 3);
+        assertThat(log.size(), is(0));
+    }
+
+    @Test
+    public void histograms_are_written_per_stage_and_shape() throws Exception {
+        final QueryMetrics metrics = new QueryMetrics(1000, 1.0, new PrintStream(log, true));
+        metrics.record("String -> int", finished(), 1);
+        metrics.record("<K, V> Map<K, V> -> V", finished(), 1);
+        metrics.count(QueryMetrics.Outcome.TIMED_OUT);
+
+        final StringWriter json = new StringWriter();
+        metrics.writeJson(new JsonWriter(json));
+        final JsonObject root = new JsonParser().parse(json.toString()).getAsJsonObject();
+        assertThat(root.getAsJsonObject("outcomes").get("answered").getAsLong(), is(2L));
+        assertThat(root.getAsJsonObject("outcomes").get("timed_out").getAsLong(), is(1L));
+        assertThat(root.getAsJsonObject("total").get("count").getAsLong(), is(2L));
+        assertThat(root.getAsJsonObject("stages").getAsJsonObject("retrieval").get("count").getAsLong(), is(2L));
+        assertThat(root.getAsJsonObject("typeVariables").getAsJsonObject("2").get("count").getAsLong(), is(1L));
+        assertThat(log.size(), is(0));
+    }
+
+    private static QueryTimings finished() {
+        final QueryTimings timings = new QueryTimings();
+        for (final QueryTimings.Stage stage : QueryTimings.Stage.values()) {
+            timings.end(stage);
+        }
+        return timings;
+    }
+}
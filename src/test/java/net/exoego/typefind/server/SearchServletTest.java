@@ -0,0 +1,155 @@
+package net.exoego.typefind.server;
+
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.time.Duration;
+import java.util.Collections;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonArray;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import net.exoego.typefind.search.MethodHit;
+import net.exoego.typefind.search.SearchBackend;
+import net.exoego.typefind.search.SearchPage;
+import net.exoego.typefind.search.SearchQuery;
+import org.eclipse.jetty.server.LocalConnector;
+import org.eclipse.jetty.server.Server;
+import org.eclipse.jetty.servlet.ServletContextHandler;
+import org.eclipse.jetty.servlet.ServletHolder;
+import org.junit.After;
+import org.junit.Test;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.startsWith;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+public class SearchServletTest {
+    private final ExecutorService executor = Executors.newSingleThreadExecutor();
+    private Server server;
+    private LocalConnector connector;
+
+    @After
+    public void tearDown() throws Exception {
+        if (server != null) {
+            server.stop();
+        }
+        executor.shutdownNow();
+    }
+
+    @Test
+    public void answers_page_in_json() throws Exception {
+        start(new StubBackend());
+        final String response = get("/api/search?q=String+-%3E+int&from=0&size=5");
+        assertThat(response, startsWith("HTTP/1.1 200"));
+        final JsonObject json = new JsonParser().parse(body(response)).getAsJsonObject();
+        assertThat(json.get("query").getAsString(), is("String -> int"));
+        assertThat(json.get("from").getAsInt(), is(0));
+        assertThat(json.get("total").getAsLong(), is(1L));
+        final JsonArray hits = json.getAsJsonArray("hits");
+        assertThat(hits.size(), is(1));
+        final JsonObject hit = hits.get(0).getAsJsonObject();
+        assertThat(hit.get("methodName").getAsString(), is("length"));
+        assertThat(hit.get("simpleForm").getAsString(), is("String -> int"));
+        assertThat(hit.get("fullForm").getAsString(), is("java.lang.String#length: java.lang.String -> int"));
+        assertThat(hit.get("isStatic").getAsBoolean(), is(false));
+    }
+
+    @Test
+    public void unavailable_if_executor_is_saturated() throws Exception {
+        final Executor saturated = task -> {
+            throw new RejectedExecutionException("saturated");
+        };
+        start(new StubBackend(), saturated, Duration.ofSeconds(10));
+        final String response = get("/api/search?q=int");
+        assertThat(response, startsWith("HTTP/1.1 503"));
+        assertThat(error(response), is("too many searches"));
+    }
+
+    @Test
+    public void unavailable_if_backend_is_too_slow() throws Exception {
+        final CountDownLatch release = new CountDownLatch(1);
+        final StubBackend slow = new StubBackend() {
+            @Override
+            public SearchPage search(final SearchQuery query) {
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return super.search(query);
+            }
+        };
+        start(slow, executor, Duration.ofMillis(100));
+        try {
+            final String response = get("/api/search?q=int");
+            assertThat(response, startsWith("HTTP/1.1 503"));
+            assertThat(error(response), is("search timed out"));
+        } finally {
+            release.countDown();
+        }
+    }
+
+    @Test
+    public void bad_request_without_query() throws Exception {
+        start(new StubBackend());
+        final String response = get("/api/search");
+        assertThat(response, startsWith("HTTP/1.1 400"));
+        assertThat(error(response), is("missing parameter: q"));
+    }
+
+    private void start(final SearchBackend backend) throws Exception {
+        start(backend, executor, Duration.ofSeconds(10));
+    }
+
+    private void start(final SearchBackend backend, final Executor executor, final Duration timeout)
+            throws Exception {
+        server = new Server();
+        connector = new LocalConnector(server);
+        server.addConnector(connector);
+        final ServletContextHandler api = new ServletContextHandler(ServletContextHandler.NO_SESSIONS);
+        api.setContextPath("/api");
+        final QueryMetrics metrics = new QueryMetrics(Long.MAX_VALUE, 0.0,
+                                                      new PrintStream(new ByteArrayOutputStream()));
+        final ServletHolder search = new ServletHolder(new SearchServlet(backend, executor, timeout, metrics));
+        search.setAsyncSupported(true);
+        api.addServlet(search, "/search");
+        server.setHandler(api);
+        server.start();
+    }
+
+    private String get(final String path) throws Exception {
+        return connector.getResponse("GET " + path + " HTTP/1.0\r\n\r\n");
+    }
+
+    private static String body(final String response) {
+        return response.substring(response.indexOf("\r\n\r\n") + 4);
+    }
+
+    private static String error(final String response) {
+        return new JsonParser().parse(body(response)).getAsJsonObject().get("error").getAsString();
+    }
+
+    private static class StubBackend implements SearchBackend {
+        private static final String HIT = "{\"methodName\":\"length\"," +
+                                          "\"simpleForm\":\"String -> int\"," +
+                                          "\"fullForm\":\"java.lang.String#length: java.lang.String -> int\"," +
+                                          "\"isStatic\":false," +
+                                          "\"isDeprecated\":false}";
+
+        @Override
+        public SearchPage search(final SearchQuery query) {
+            final MethodHit hit = new Gson().fromJson(HIT, MethodHit.class);
+            return new SearchPage(1, Collections.singletonList(hit));
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+}
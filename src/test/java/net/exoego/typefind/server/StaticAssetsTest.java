@@ -0,0 +1,123 @@
+package net.exoego.typefind.server;
+
+import java.io.ByteArrayOutputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.EnumSet;
+import java.util.zip.GZIPInputStream;
+import javax.servlet.DispatcherType;
+
+import org.eclipse.jetty.server.LocalConnector;
+import org.eclipse.jetty.server.Server;
+import org.eclipse.jetty.servlet.DefaultServlet;
+import org.eclipse.jetty.servlet.ServletContextHandler;
+import org.eclipse.jetty.servlet.ServletHolder;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import static org.hamcrest.CoreMatchers.containsString;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.startsWith;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+public class StaticAssetsTest {
+    private static final String SCRIPT = repeat("function hello() { return 'hello, world'; }\n", 100);
+    @Rule
+    public final TemporaryFolder folder = new TemporaryFolder();
+    private Path root;
+    private Server server;
+    private LocalConnector connector;
+
+    @Before
+    public void setUp() throws Exception {
+        root = folder.newFolder("root").toPath();
+        Files.createDirectories(root.resolve("js"));
+        Files.write(root.resolve("js/app.js"), SCRIPT.getBytes(StandardCharsets.UTF_8));
+        Files.write(root.resolve("index.html"),
+                    ("<html><head><script src=\"/js/app.js\"></script>" +
+                     "<link rel=\"stylesheet\" href=\"/css/missing.css\">" +
+                     "<script src=\"http://example.com/remote.js\"></script></head></html>")
+                            .getBytes(StandardCharsets.UTF_8));
+        StaticAssets.main(new String[]{root.toString()});
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        if (server != null) {
+            server.stop();
+        }
+    }
+
+    @Test
+    public void local_assets_are_fingerprinted() throws Exception {
+        final String html = new String(Files.readAllBytes(root.resolve("index.html")), StandardCharsets.UTF_8);
+        assertThat(html.matches(".*src=\"/js/app\\.js\\?v=[0-9a-f]{10}\".*"), is(true));
+        // missing and remote assets are left as they are
+        assertThat(html, containsString("href=\"/css/missing.css\""));
+        assertThat(html, containsString("src=\"http://example.com/remote.js\""));
+
+        // fingerprinted again at the next build, with the same hash
+        StaticAssets.main(new String[]{root.toString()});
+        assertThat(new String(Files.readAllBytes(root.resolve("index.html")), StandardCharsets.UTF_8), is(html));
+    }
+
+    @Test
+    public void compressible_files_are_gzipped() throws Exception {
+        final Path gz = root.resolve("js/app.js.gz");
+        assertThat(Files.size(gz) < Files.size(root.resolve("js/app.js")), is(true));
+        try (final InputStream in = new GZIPInputStream(Files.newInputStream(gz))) {
+            final ByteArrayOutputStream out = new ByteArrayOutputStream();
+            final byte[] buffer = new byte[8192];
+            for (int n = in.read(buffer); n >= 0; n = in.read(buffer)) {
+                out.write(buffer, 0, n);
+            }
+            assertThat(new String(out.toByteArray(), StandardCharsets.UTF_8), is(SCRIPT));
+        }
+    }
+
+    @Test
+    public void fingerprinted_assets_are_immutable_and_others_revalidated() throws Exception {
+        start();
+        final String fingerprinted = get("/js/app.js?v=0123456789", "Accept-Encoding: gzip\r\n");
+        assertThat(fingerprinted, startsWith("HTTP/1.1 200"));
+        assertThat(fingerprinted, containsString("Cache-Control: public, max-age=31536000, immutable"));
+        assertThat(fingerprinted, containsString("Content-Encoding: gzip"));
+
+        final String html = get("/index.html", "");
+        assertThat(html, startsWith("HTTP/1.1 200"));
+        assertThat(html, containsString("Cache-Control: no-cache"));
+    }
+
+    private void start() throws Exception {
+        server = new Server();
+        connector = new LocalConnector(server);
+        server.addConnector(connector);
+        final ServletContextHandler context = new ServletContextHandler(ServletContextHandler.NO_SESSIONS);
+        context.setContextPath("/");
+        context.setResourceBase(root.toUri().toString());
+        context.addFilter(AssetCachingFilter.class, "/*", EnumSet.of(DispatcherType.REQUEST));
+        final ServletHolder holder = new ServletHolder("static", DefaultServlet.class);
+        holder.setInitParameter("precompressed", "gzip=.gz");
+        holder.setInitParameter("etags", "true");
+        context.addServlet(holder, "/");
+        server.setHandler(context);
+        server.start();
+    }
+
+    private String get(final String path, final String headers) throws Exception {
+        return connector.getResponse("GET " + path + " HTTP/1.0\r\n" + headers + "\r\n");
+    }
+
+    private static String repeat(final String s, final int times) {
+        final StringBuilder builder = new StringBuilder(s.length() * times);
+        for (int i = 0; i < times; i++) {
+            builder.append(s);
+        }
+        return builder.toString();
+    }
+}